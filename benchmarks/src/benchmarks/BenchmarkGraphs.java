@@ -0,0 +1,52 @@
+package benchmarks;
+
+import domain.models.Graph;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+// Seeded connected random graphs shared by the benchmarks
+final class BenchmarkGraphs {
+    private BenchmarkGraphs() {}
+
+    static int edgesPerVertex(String density) {
+        switch (density) {
+            case "sparse": return 4;
+            case "medium": return 16;
+            case "dense": return 64;
+            default: throw new IllegalArgumentException("Unknown density: " + density);
+        }
+    }
+
+    static Graph connected(int vertexCount, String density, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph(false);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex("v" + v);
+        }
+
+        // Random spanning tree first, then extra edges up to the requested density
+        Set<Long> pairs = new HashSet<>();
+        for (int v = 1; v < vertexCount; v++) {
+            int u = random.nextInt(v);
+            pairs.add(pairKey(u, v));
+            graph.addEdge("v" + u, "v" + v, 1 + random.nextInt(1000));
+        }
+
+        long maxEdges = (long) vertexCount * (vertexCount - 1) / 2;
+        long target = Math.min(maxEdges, (long) vertexCount * edgesPerVertex(density) / 2);
+        while (pairs.size() < target) {
+            int u = random.nextInt(vertexCount);
+            int v = random.nextInt(vertexCount);
+            if (u != v && pairs.add(pairKey(u, v))) {
+                graph.addEdge("v" + u, "v" + v, 1 + random.nextInt(1000));
+            }
+        }
+        return graph;
+    }
+
+    private static long pairKey(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+}
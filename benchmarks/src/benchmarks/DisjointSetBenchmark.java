@@ -0,0 +1,77 @@
+package benchmarks;
+
+import domain.models.Vertex;
+import domain.services.ConcurrentDisjointSet;
+import domain.services.DisjointSet;
+import domain.services.IntDisjointSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Builds a fresh structure and applies the same random union sequence on every invocation
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisjointSetBenchmark {
+    @Param({"10000", "100000"})
+    public int elements;
+
+    private int[] left;
+    private int[] right;
+    private Vertex[] vertices;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        left = new int[elements];
+        right = new int[elements];
+        vertices = new Vertex[elements];
+        for (int i = 0; i < elements; i++) {
+            left[i] = random.nextInt(elements);
+            right[i] = random.nextInt(elements);
+            vertices[i] = new Vertex("v" + i);
+        }
+    }
+
+    @Benchmark
+    public int hashMapDisjointSet() {
+        DisjointSet set = new DisjointSet();
+        for (Vertex vertex : vertices) {
+            set.makeSet(vertex);
+        }
+        int merged = 0;
+        for (int i = 0; i < elements; i++) {
+            Vertex a = vertices[left[i]];
+            Vertex b = vertices[right[i]];
+            if (!set.find(a).equals(set.find(b))) {
+                set.union(a, b);
+                merged++;
+            }
+        }
+        return merged;
+    }
+
+    @Benchmark
+    public int intDisjointSet() {
+        IntDisjointSet set = new IntDisjointSet(elements);
+        int merged = 0;
+        for (int i = 0; i < elements; i++) {
+            if (set.union(left[i], right[i])) merged++;
+        }
+        return merged;
+    }
+
+    @Benchmark
+    public int concurrentDisjointSet() {
+        ConcurrentDisjointSet set = new ConcurrentDisjointSet(elements);
+        int merged = 0;
+        for (int i = 0; i < elements; i++) {
+            if (set.union(left[i], right[i])) merged++;
+        }
+        return merged;
+    }
+}
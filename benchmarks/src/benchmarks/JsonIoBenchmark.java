@@ -0,0 +1,98 @@
+package benchmarks;
+
+import application.services.AnalysisResult;
+import application.services.GraphAnalysis;
+import domain.models.CompactGraph;
+import domain.models.Edge;
+import domain.models.Graph;
+import domain.services.KruskalAlgorithm;
+import infrastructure.fileio.JsonDataHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonIoBenchmark {
+    @Param({"10", "100"})
+    public int graphs;
+
+    @Param({"500"})
+    public int vertices;
+
+    @Param({"sparse", "dense"})
+    public String density;
+
+    private final JsonDataHandler handler = new JsonDataHandler();
+    private Path inputFile;
+    private Path outputFile;
+    private AnalysisResult analysisResult;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        inputFile = Files.createTempFile("mst-bench-input", ".json");
+        outputFile = Files.createTempFile("mst-bench-output", ".json");
+
+        List<Graph> graphList = new ArrayList<>();
+        for (int i = 0; i < graphs; i++) {
+            graphList.add(BenchmarkGraphs.connected(vertices, density, i));
+        }
+        writeInput(graphList);
+
+        List<GraphAnalysis> analyses = new ArrayList<>();
+        for (int i = 0; i < graphList.size(); i++) {
+            Graph graph = graphList.get(i);
+            analyses.add(new GraphAnalysis(i + 1, CompactGraph.from(graph),
+                    new KruskalAlgorithm().findMST(graph), new KruskalAlgorithm().findMST(graph)));
+        }
+        analysisResult = new AnalysisResult(analyses);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(inputFile);
+        Files.deleteIfExists(outputFile);
+    }
+
+    @Benchmark
+    public List<Graph> load() throws IOException {
+        return handler.loadGraphsFromFile(inputFile.toString());
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        handler.saveAnalysisResults(analysisResult, outputFile.toString());
+    }
+
+    private void writeInput(List<Graph> graphList) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(inputFile)) {
+            out.write("{\"graphs\": [\n");
+            for (int i = 0; i < graphList.size(); i++) {
+                Graph graph = graphList.get(i);
+                out.write("{\"id\": " + (i + 1) + ", \"nodes\": [");
+                for (int v = 0; v < graph.getVertexCount(); v++) {
+                    out.write((v > 0 ? ", " : "") + "\"v" + v + "\"");
+                }
+                out.write("], \"edges\": [");
+                List<Edge> edges = graph.getEdges();
+                for (int e = 0; e < edges.size(); e += 2) {
+                    Edge edge = edges.get(e);
+                    out.write((e > 0 ? ",\n" : "\n") + "{\"from\": \"" + edge.getFrom().getId()
+                            + "\", \"to\": \"" + edge.getTo().getId() + "\", \"weight\": " + edge.getWeight() + "}");
+                }
+                out.write("]}" + (i < graphList.size() - 1 ? ",\n" : "\n"));
+            }
+            out.write("]}\n");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import domain.models.CompactGraph;
+import domain.models.Graph;
+import domain.models.MSTResult;
+import domain.services.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MSTAlgorithmBenchmark {
+    @Param({"500", "2000"})
+    public int vertices;
+
+    @Param({"sparse", "dense"})
+    public String density;
+
+    private Graph graph;
+    private CompactGraph compactGraph;
+
+    private final PrimAlgorithm prim = new PrimAlgorithm();
+    private final KruskalAlgorithm kruskal = new KruskalAlgorithm();
+    private final KruskalAlgorithm radixKruskal = new KruskalAlgorithm(KruskalAlgorithm.SortMode.RADIX);
+    private final EagerPrimAlgorithm eagerPrim = new EagerPrimAlgorithm(HeapType.BINARY);
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkGraphs.connected(vertices, density, 42);
+        compactGraph = CompactGraph.from(graph);
+    }
+
+    @Benchmark
+    public MSTResult prim() {
+        return prim.findMST(graph);
+    }
+
+    @Benchmark
+    public MSTResult primCompact() {
+        return prim.findMST(compactGraph);
+    }
+
+    @Benchmark
+    public MSTResult eagerPrimCompact() {
+        return eagerPrim.findMST(compactGraph);
+    }
+
+    @Benchmark
+    public MSTResult kruskal() {
+        return kruskal.findMST(graph);
+    }
+
+    @Benchmark
+    public MSTResult kruskalRadix() {
+        return radixKruskal.findMST(graph);
+    }
+
+    @Benchmark
+    public MSTResult kruskalCompact() {
+        return kruskal.findMST(compactGraph);
+    }
+}
@@ -0,0 +1,43 @@
+package application.services;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class AnalysisExecutors {
+    private AnalysisExecutors() {}
+
+    public static ExecutorService platformThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive, got " + threads);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "mst-analysis-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    // One virtual thread per task on JDK 21+; older runtimes fall back to a platform pool sized to the CPU count
+    public static ExecutorService virtualThreads() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return platformThreads(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    public static boolean virtualThreadsSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package application.services;
+
+import domain.models.CompactGraph;
+import infrastructure.fileio.JsonDataHandler;
+import infrastructure.fileio.ResultWriter;
+import infrastructure.logging.AnalysisLogger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Batch analysis over many input files as three overlapping stages: one parser, a pool of compute workers and
+// one writer, joined by bounded queues. At most maxInFlight graphs exist between parse and write (queued,
+// computing or waiting to be written in order), so memory stays bounded however many files there are.
+// Each input file gets its own NDJSON result file with records in input order.
+// A stage that dies on an unexpected Throwable stops the others, and run() rethrows it.
+public class BatchAnalysisPipeline {
+    private final GraphAnalysisService analysisService;
+    private final JsonDataHandler jsonDataHandler;
+    private final AnalysisLogger logger;
+    private final int workers;
+    private final int maxInFlight;
+    private final boolean gzip;
+
+    public BatchAnalysisPipeline(GraphAnalysisService analysisService, int workers, int maxInFlight, boolean gzip) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Worker count must be positive, got " + workers);
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("In-flight graph limit must be positive, got " + maxInFlight);
+        }
+        this.analysisService = analysisService;
+        this.jsonDataHandler = new JsonDataHandler();
+        this.logger = AnalysisLogger.getInstance();
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+        this.gzip = gzip;
+    }
+
+    public Report run(List<Path> inputs, Path outputDirectory) throws IOException, InterruptedException {
+        Files.createDirectories(outputDirectory);
+        List<FileJob> jobs = planJobs(inputs, outputDirectory);
+        logger.info(String.format("Batch: %d file(s), %d compute worker(s), at most %d graph(s) in flight",
+                jobs.size(), workers, maxInFlight));
+
+        Run run = new Run();
+        long startTime = System.nanoTime();
+
+        List<Thread> threads = run.threads;
+        threads.add(stage(run, "batch-parse", () -> parse(jobs, run)));
+        for (int i = 1; i <= workers; i++) {
+            threads.add(stage(run, "batch-compute-" + i, () -> compute(run)));
+        }
+        threads.add(stage(run, "batch-write", () -> write(run)));
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            threads.forEach(Thread::interrupt);
+            throw e;
+        }
+
+        Throwable failure = run.failure.get();
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Batch stage failed", failure);
+        }
+
+        Report report = new Report(jobs.size(), run.failedFiles.get(), System.nanoTime() - startTime,
+                List.of(run.parseStage, run.computeStage, run.writeStage));
+        report.log(logger);
+        return report;
+    }
+
+    private Thread stage(Run run, String name, Runnable body) {
+        Thread thread = new Thread(() -> {
+            try {
+                body.run();
+            } catch (Throwable t) {
+                run.fail(t);
+            }
+        }, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // Output names follow the input file names; a repeated name (same file name in two directories) gets a suffix
+    private List<FileJob> planJobs(List<Path> inputs, Path outputDirectory) {
+        String extension = ".ndjson" + (gzip ? ".gz" : "");
+        Set<String> used = new HashSet<>();
+        List<FileJob> jobs = new ArrayList<>(inputs.size());
+        for (Path input : inputs) {
+            String stem = input.getFileName().toString().replaceFirst("\\.(json|mstg)$", "") + ".results";
+            String name = stem;
+            for (int n = 2; !used.add(name); n++) {
+                name = stem + "-" + n;
+            }
+            jobs.add(new FileJob(input, outputDirectory.resolve(name + extension)));
+        }
+        return jobs;
+    }
+
+    // Stage 1: parses files in order; blocks when maxInFlight graphs are already between parse and write
+    private void parse(List<FileJob> jobs, Run run) {
+        StageStats stats = run.parseStage;
+        try {
+            for (FileJob job : jobs) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                int[] position = {0};
+                long[] resumed = {System.nanoTime()};
+                try {
+                    jsonDataHandler.forEachCompactGraph(job.input.toString(), graph -> {
+                        long parsed = System.nanoTime();
+                        stats.busy(parsed - resumed[0]);
+                        try {
+                            run.inFlight.acquire();
+                            run.computeQueue.put(new Item(job, ++position[0], graph));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException("Batch parse interrupted", e);
+                        }
+                        stats.item();
+                        resumed[0] = System.nanoTime();
+                        stats.waited(resumed[0] - parsed);
+                    });
+                    stats.busy(System.nanoTime() - resumed[0]);
+                    stats.bytes(Files.size(job.input));
+                } catch (IOException | RuntimeException e) {
+                    if (!Thread.currentThread().isInterrupted()) {
+                        logger.error("Failed to parse " + job.input + ": " + e.getMessage());
+                        job.failed = true;
+                    }
+                } finally {
+                    // Tells the writer how many graphs to expect, so it can close the file once they are written
+                    job.graphCount = position[0];
+                    run.signal(run.writeQueue, Item.endOfFile(job));
+                }
+            }
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                run.signal(run.computeQueue, Item.END);
+            }
+        }
+    }
+
+    // Stage 2: analyses graphs in any order; the last worker to finish ends the write stage
+    private void compute(Run run) {
+        StageStats stats = run.computeStage;
+        try {
+            while (true) {
+                long waitStart = System.nanoTime();
+                Item item = run.computeQueue.take();
+                long start = System.nanoTime();
+                stats.waited(start - waitStart);
+                if (item == Item.END) {
+                    break;
+                }
+                try {
+                    item.analysis = analysisService.analyze(item.position, item.graph);
+                } catch (RuntimeException e) {
+                    logger.error("Failed to analyze graph " + item.position + " of " + item.job.input + ": " + e.getMessage());
+                    item.job.failed = true;
+                } finally {
+                    // Forwarded even past an Error, so the writer still releases the graph's in-flight permit
+                    stats.busy(System.nanoTime() - start);
+                    stats.item();
+                    run.signal(run.writeQueue, item);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (run.activeWorkers.decrementAndGet() == 0) {
+                run.signal(run.writeQueue, Item.END);
+            }
+        }
+    }
+
+    // Stage 3: writes each file's records in input order, holding early finishers until their turn
+    private void write(Run run) {
+        StageStats stats = run.writeStage;
+        Map<FileJob, OpenFile> open = new HashMap<>();
+        try {
+            while (true) {
+                long waitStart = System.nanoTime();
+                Item item = run.writeQueue.take();
+                long start = System.nanoTime();
+                stats.waited(start - waitStart);
+                if (item == Item.END) {
+                    break;
+                }
+
+                OpenFile file = open.computeIfAbsent(item.job, OpenFile::new);
+                if (item.graph != null) {
+                    file.pending.put(item.position, item);
+                }
+                while (file.pending.containsKey(file.nextPosition)) {
+                    Item next = file.pending.remove(file.nextPosition++);
+                    if (next.analysis != null) {
+                        file.write(next);
+                    }
+                    stats.item();
+                    run.inFlight.release();
+                }
+                if (item.job.graphCount >= 0 && file.nextPosition > item.job.graphCount) {
+                    file.close(stats);
+                    open.remove(item.job);
+                    if (item.job.failed) {
+                        run.failedFiles.incrementAndGet();
+                    }
+                }
+                stats.busy(System.nanoTime() - start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (OpenFile file : open.values()) {
+                file.close(stats);
+            }
+        }
+    }
+
+    private final class OpenFile {
+        final FileJob job;
+        final Map<Integer, Item> pending = new HashMap<>();
+        int nextPosition = 1;
+        ResultWriter writer;
+
+        OpenFile(FileJob job) {
+            this.job = job;
+        }
+
+        void write(Item item) {
+            try {
+                if (writer == null && !job.writeFailed) {
+                    writer = ResultWriter.open(job.output, ResultWriter.OutputFormat.NDJSON, gzip);
+                }
+                if (writer != null) {
+                    writer.write(item.analysis);
+                }
+            } catch (IOException | UncheckedIOException e) {
+                // An interrupt closes the channel while a failed run is being torn down; that is not a write error
+                if (!Thread.currentThread().isInterrupted()) {
+                    logger.error("Failed to write " + job.output + ": " + e.getMessage());
+                }
+                job.failed = true;
+                job.writeFailed = true;
+                closeQuietly();
+            }
+        }
+
+        void close(StageStats stats) {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.close();
+                stats.bytes(Files.size(job.output));
+                logger.info("Wrote " + writer.getWrittenCount() + " result(s) to " + job.output);
+            } catch (IOException e) {
+                logger.error("Failed to close " + job.output + ": " + e.getMessage());
+                job.failed = true;
+            }
+            writer = null;
+        }
+
+        private void closeQuietly() {
+            try {
+                writer.close();
+            } catch (IOException | RuntimeException ignored) {
+                // Already reporting the first failure
+            }
+            writer = null;
+        }
+    }
+
+    private final class Run {
+        final Semaphore inFlight = new Semaphore(maxInFlight);
+        final BlockingQueue<Item> computeQueue = new ArrayBlockingQueue<>(maxInFlight + workers);
+        // Room for end-of-file markers next to the in-flight graphs
+        final BlockingQueue<Item> writeQueue = new ArrayBlockingQueue<>(maxInFlight + 64);
+        final AtomicInteger activeWorkers = new AtomicInteger(workers);
+        final AtomicInteger failedFiles = new AtomicInteger();
+        final StageStats parseStage = new StageStats("parse", 1);
+        final StageStats computeStage = new StageStats("compute", workers);
+        final StageStats writeStage = new StageStats("write", 1);
+        final List<Thread> threads = new ArrayList<>();
+        // First Throwable that escaped a stage
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        void fail(Throwable t) {
+            if (failure.compareAndSet(null, t)) {
+                for (Thread thread : threads) {
+                    if (thread != Thread.currentThread()) {
+                        thread.interrupt();
+                    }
+                }
+            }
+        }
+
+        // Hand-off used on the way out of a stage: an interrupt means the run is being torn down, so the item
+        // is dropped rather than letting InterruptedException replace the exception already propagating
+        void signal(BlockingQueue<Item> queue, Item item) {
+            try {
+                queue.put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class FileJob {
+        final Path input;
+        final Path output;
+        // -1 until the parser has seen the whole file
+        volatile int graphCount = -1;
+        volatile boolean failed;
+        boolean writeFailed;
+
+        FileJob(Path input, Path output) {
+            this.input = input;
+            this.output = output;
+        }
+    }
+
+    private static final class Item {
+        static final Item END = new Item(null, 0, null);
+
+        final FileJob job;
+        final int position;
+        final CompactGraph graph;
+        // Null until computed, and after a failed analysis
+        GraphAnalysis analysis;
+
+        Item(FileJob job, int position, CompactGraph graph) {
+            this.job = job;
+            this.position = position;
+            this.graph = graph;
+        }
+
+        static Item endOfFile(FileJob job) {
+            return new Item(job, 0, null);
+        }
+    }
+
+    public static final class StageStats {
+        private final String name;
+        private final int threads;
+        private final AtomicLong items = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong busyNs = new AtomicLong();
+        private final AtomicLong waitNs = new AtomicLong();
+
+        StageStats(String name, int threads) {
+            this.name = name;
+            this.threads = threads;
+        }
+
+        void item() { items.incrementAndGet(); }
+        void bytes(long count) { bytes.addAndGet(count); }
+        void busy(long nanos) { busyNs.addAndGet(nanos); }
+        void waited(long nanos) { waitNs.addAndGet(nanos); }
+
+        public String getName() { return name; }
+        public int getThreads() { return threads; }
+        public long getItems() { return items.get(); }
+        public long getBytes() { return bytes.get(); }
+        public long getBusyNs() { return busyNs.get(); }
+        public long getWaitNs() { return waitNs.get(); }
+
+        // What the stage could sustain if it never waited on its neighbours
+        public double getCapacityPerSecond() {
+            long busy = busyNs.get();
+            return busy == 0 ? 0 : items.get() * threads * 1e9 / busy;
+        }
+
+        public double getUtilization(long wallNs) {
+            return wallNs == 0 ? 0 : busyNs.get() / ((double) wallNs * threads);
+        }
+    }
+
+    public static final class Report {
+        private final int fileCount;
+        private final int failedFiles;
+        private final long wallNs;
+        private final List<StageStats> stages;
+
+        Report(int fileCount, int failedFiles, long wallNs, List<StageStats> stages) {
+            this.fileCount = fileCount;
+            this.failedFiles = failedFiles;
+            this.wallNs = wallNs;
+            this.stages = stages;
+        }
+
+        public int getFileCount() { return fileCount; }
+        public int getFailedFiles() { return failedFiles; }
+        public long getWallNs() { return wallNs; }
+        public List<StageStats> getStages() { return stages; }
+
+        // The busiest stage limits the pipeline: parse and write are I/O bound, compute is CPU bound
+        public StageStats getBottleneck() {
+            return Collections.max(stages, Comparator.comparingDouble(stage -> stage.getUtilization(wallNs)));
+        }
+
+        void log(AnalysisLogger logger) {
+            double seconds = wallNs / 1e9;
+            long graphs = stages.get(0).getItems();
+            logger.info(String.format(Locale.ROOT, "Batch finished: %d file(s), %d graph(s) in %.2f s (%.1f graphs/s), %d failed file(s)",
+                    fileCount, graphs, seconds, seconds == 0 ? 0 : graphs / seconds, failedFiles));
+            for (StageStats stage : stages) {
+                logger.info(String.format(Locale.ROOT,
+                        "  %-7s x%d: %d graph(s), busy %.1f ms, waiting %.1f ms, utilization %.0f%%, capacity %.1f graphs/s%s",
+                        stage.getName(), stage.getThreads(), stage.getItems(), stage.getBusyNs() / 1e6,
+                        stage.getWaitNs() / 1e6, 100 * stage.getUtilization(wallNs), stage.getCapacityPerSecond(),
+                        stage.getBytes() == 0 ? "" : String.format(Locale.ROOT, ", %.1f MB/s",
+                                stage.getBusyNs() == 0 ? 0 : stage.getBytes() / (stage.getBusyNs() / 1e9) / (1 << 20))));
+            }
+            StageStats bottleneck = getBottleneck();
+            logger.info("  Bottleneck: " + bottleneck.getName()
+                    + (bottleneck.getName().equals("compute") ? " (CPU bound)" : " (I/O bound)"));
+        }
+    }
+}
@@ -1,24 +1,61 @@
 package application.services;
 
-import domain.models.Graph;
+import domain.models.CompactGraph;
 import domain.models.MSTResult;
 
 public class GraphAnalysis {
     private final int graphId;
-    private final Graph graph;
+    private final CompactGraph graph;
+    // Both set when the two algorithms are compared; both null in auto mode
     private final MSTResult primResult;
     private final MSTResult kruskalResult;
+    // Auto mode: the algorithm picked by the cost model, and an optional sampled cross-check;
+    // directed graphs also report their single arborescence result here
+    private final String selectedAlgorithm;
+    private final MSTResult selectedResult;
+    private final String verificationAlgorithm;
+    private final MSTResult verificationResult;
 
-    public GraphAnalysis(int graphId, Graph graph, MSTResult primResult, MSTResult kruskalResult) {
+    public GraphAnalysis(int graphId, CompactGraph graph, MSTResult primResult, MSTResult kruskalResult) {
         this.graphId = graphId;
         this.graph = graph;
         this.primResult = primResult;
         this.kruskalResult = kruskalResult;
+        this.selectedAlgorithm = null;
+        this.selectedResult = null;
+        this.verificationAlgorithm = null;
+        this.verificationResult = null;
+    }
+
+    public GraphAnalysis(int graphId, CompactGraph graph, String selectedAlgorithm, MSTResult selectedResult,
+                         String verificationAlgorithm, MSTResult verificationResult) {
+        this.graphId = graphId;
+        this.graph = graph;
+        this.primResult = null;
+        this.kruskalResult = null;
+        this.selectedAlgorithm = selectedAlgorithm;
+        this.selectedResult = selectedResult;
+        this.verificationAlgorithm = verificationAlgorithm;
+        this.verificationResult = verificationResult;
     }
 
     // Getters
     public int getGraphId() { return graphId; }
-    public Graph getGraph() { return graph; }
+    public CompactGraph getGraph() { return graph; }
     public MSTResult getPrimResult() { return primResult; }
     public MSTResult getKruskalResult() { return kruskalResult; }
-}
\ No newline at end of file
+    public String getSelectedAlgorithm() { return selectedAlgorithm; }
+    public MSTResult getSelectedResult() { return selectedResult; }
+    public String getVerificationAlgorithm() { return verificationAlgorithm; }
+    public MSTResult getVerificationResult() { return verificationResult; }
+
+    public boolean isAutoSelected() { return selectedResult != null; }
+
+    // Directed graphs carry a minimum arborescence in the selected slot rather than an MST
+    public boolean isArborescence() { return graph.isDirected(); }
+
+    // The result that stands for this graph: the selected one in auto mode, Prim's otherwise
+    public MSTResult getPrimaryResult() {
+        return selectedResult != null ? selectedResult : primResult;
+    }
+}
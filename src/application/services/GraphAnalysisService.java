@@ -3,40 +3,97 @@ package application.services;
 import domain.models.*;
 import domain.services.*;
 import infrastructure.fileio.JsonDataHandler;
+import infrastructure.fileio.ResultWriter;
 import infrastructure.logging.AnalysisLogger;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 public class GraphAnalysisService {
-    private final PrimAlgorithm primAlgorithm;
+    // Prim over every connected component, so disconnected inputs are compared forest to forest.
+    // Components run on the common pool: the service has no shutdown hook, and nothing is left to close.
+    private final MinimumSpanningForest primAlgorithm;
     private final KruskalAlgorithm kruskalAlgorithm;
+    // Directed graphs have no spanning tree in the MST sense; they get a minimum arborescence (or branching) instead
+    private final MinimumArborescenceAlgorithm arborescenceAlgorithm;
     private final JsonDataHandler jsonDataHandler;
     private final AnalysisLogger logger;
+    // Null for sequential analysis; the algorithms are stateless, so one instance is shared by all workers
+    private final ExecutorService executor;
+    // Null when every graph should be recomputed
+    private final MSTResultCache cache;
+    // Auto mode: null means both Prim and Kruskal run on every graph
+    private final AlgorithmSelector selector;
+    private final double verificationRate;
+    // Null for one cold run per algorithm; otherwise warm-up plus repeated measured runs, bypassing the cache
+    private final TimingMode timing;
 
-    public GraphAnalysisService() {
-        this.primAlgorithm = new PrimAlgorithm();
+    public GraphAnalysisService(ExecutorService executor, MSTResultCache cache,
+                                AlgorithmSelector selector, double verificationRate, TimingMode timing) {
+        if (verificationRate < 0 || verificationRate > 1) {
+            throw new IllegalArgumentException("Verification rate must be within [0, 1], got " + verificationRate);
+        }
+        this.primAlgorithm = new MinimumSpanningForest(ForkJoinPool.commonPool());
         this.kruskalAlgorithm = new KruskalAlgorithm();
+        this.arborescenceAlgorithm = new MinimumArborescenceAlgorithm();
         this.jsonDataHandler = new JsonDataHandler();
         this.logger = AnalysisLogger.getInstance();
+        this.executor = executor;
+        this.cache = cache;
+        this.selector = selector;
+        this.verificationRate = verificationRate;
+        this.timing = timing;
+    }
+
+    public GraphAnalysisService(ExecutorService executor, MSTResultCache cache,
+                                AlgorithmSelector selector, double verificationRate) {
+        this(executor, cache, selector, verificationRate, null);
+    }
+
+    public GraphAnalysisService(ExecutorService executor, MSTResultCache cache) {
+        this(executor, cache, null, 0);
+    }
+
+    public GraphAnalysisService(ExecutorService executor) {
+        this(executor, null);
+    }
+
+    public GraphAnalysisService() {
+        this(null);
     }
 
     public void performCompleteAnalysis(String inputFilePath, String outputFilePath) {
         try {
             logger.info("Starting MST analysis for transportation network");
+            logTimingMode();
+            MSTMetrics runMetrics = new MSTMetrics("analysis");
 
             // Load input data
-            List<Graph> graphs = jsonDataHandler.loadGraphsFromFile(inputFilePath);
+            runMetrics.beginPhase(MSTMetrics.Phase.LOAD);
+            List<CompactGraph> graphs = jsonDataHandler.loadCompactGraphsFromFile(inputFilePath);
+            runMetrics.endPhase();
             logger.info("Loaded " + graphs.size() + " graphs from " + inputFilePath);
 
             // Perform analysis
             AnalysisResult analysisResult = analyzeGraphs(graphs);
 
             // Save results
+            runMetrics.beginPhase(MSTMetrics.Phase.WRITE);
             jsonDataHandler.saveAnalysisResults(analysisResult, outputFilePath);
+            runMetrics.endPhase();
             logger.info("Results saved to " + outputFilePath);
 
             // Display summary
             displayAnalysisSummary(analysisResult);
+            logRunPhases(runMetrics);
 
         } catch (Exception e) {
             logger.error("Analysis failed: " + e.getMessage());
@@ -44,11 +101,58 @@ public class GraphAnalysisService {
         }
     }
 
-    private AnalysisResult analyzeGraphs(List<Graph> graphs) {
+    // Analyzes graphs as they are parsed and writes each result immediately; nothing accumulates in memory
+    public void performStreamingAnalysis(String inputFilePath, String outputFilePath,
+                                         ResultWriter.OutputFormat format, boolean gzip) {
+        logger.info("Starting streaming MST analysis for transportation network");
+        logTimingMode();
+        PerformanceTotals totals = new PerformanceTotals();
+        MSTMetrics runMetrics = new MSTMetrics("analysis");
+        // Parsing is interleaved with analysis, so load time is the gap between callbacks
+        long[] lastCallbackEnd = {System.nanoTime()};
+
+        try (ResultWriter writer = jsonDataHandler.openResultWriter(outputFilePath, format, gzip)) {
+            jsonDataHandler.forEachCompactGraph(inputFilePath, graph -> {
+                runMetrics.addPhaseTime(MSTMetrics.Phase.LOAD, System.nanoTime() - lastCallbackEnd[0]);
+                int graphId = totals.graphCount + 1;
+                logger.info("Analyzing graph " + graphId + ": " + graph);
+
+                GraphAnalysis analysis = analyzeSingleGraph(graphId, graph);
+                runMetrics.beginPhase(MSTMetrics.Phase.WRITE);
+                try {
+                    writer.write(analysis);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                runMetrics.endPhase();
+                logGraphSummary(analysis);
+                totals.add(analysis);
+                lastCallbackEnd[0] = System.nanoTime();
+            });
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Analysis failed: " + e.getMessage());
+            throw new RuntimeException("Analysis failed", e);
+        }
+
+        logger.info("Results saved to " + outputFilePath);
+        logger.info("\nPERFORMANCE COMPARISON:");
+        totals.log();
+        logCacheStatistics();
+        logRunPhases(runMetrics);
+    }
+
+    private AnalysisResult analyzeGraphs(List<CompactGraph> graphs) {
+        if (executor != null && timing != null) {
+            // Measured runs competing for cores would time the contention rather than the algorithm
+            logger.warning("Timing mode analyzes graphs one at a time; the parallel executor is not used");
+        } else if (executor != null) {
+            return analyzeGraphsConcurrently(graphs);
+        }
+
         List<GraphAnalysis> graphAnalyses = new ArrayList<>();
 
         for (int i = 0; i < graphs.size(); i++) {
-            Graph graph = graphs.get(i);
+            CompactGraph graph = graphs.get(i);
             logger.info("Analyzing graph " + (i + 1) + ": " + graph);
 
             GraphAnalysis analysis = analyzeSingleGraph(i + 1, graph);
@@ -60,13 +164,158 @@ public class GraphAnalysisService {
         return new AnalysisResult(graphAnalyses);
     }
 
-    private GraphAnalysis analyzeSingleGraph(int graphId, Graph graph) {
+    // Every graph and both algorithms per graph run as separate tasks; futures are joined in input order
+    private AnalysisResult analyzeGraphsConcurrently(List<CompactGraph> graphs) {
+        List<CompletableFuture<GraphAnalysis>> futures = new ArrayList<>(graphs.size());
+        // First task failure; tasks that have not started yet see it and skip their work
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int i = 0; i < graphs.size(); i++) {
+            int graphId = i + 1;
+            CompactGraph graph = graphs.get(i);
+            logger.info(() -> "Analyzing graph " + graphId + ": " + graph);
+
+            if (selector != null || graph.isDirected()) {
+                futures.add(CompletableFuture.supplyAsync(() -> unlessFailed(failure, () -> {
+                    GraphAnalysis analysis = analyzeSingleGraph(graphId, graph);
+                    logger.info(() -> "Completed analysis for graph " + graphId);
+                    return analysis;
+                }), executor));
+                continue;
+            }
+
+            // Combine instead of blocking inside the pool, so a bounded executor cannot deadlock
+            CompletableFuture<String> fingerprint = CompletableFuture.supplyAsync(
+                    () -> unlessFailed(failure, () -> fingerprintOf(graph)), executor);
+            CompletableFuture<MSTResult> prim = fingerprint.thenApplyAsync(key -> unlessFailed(failure,
+                    () -> run("prim-forest", graph, key, () -> primAlgorithm.findMST(graph))), executor);
+            CompletableFuture<MSTResult> kruskal = fingerprint.thenApplyAsync(key -> unlessFailed(failure,
+                    () -> run("kruskal", graph, key, () -> kruskalAlgorithm.findMST(graph))), executor);
+            futures.add(prim.thenCombine(kruskal, (primResult, kruskalResult) -> unlessFailed(failure, () -> {
+                GraphAnalysis analysis = verifiedAnalysis(graphId, graph, primResult, kruskalResult);
+                logger.info(() -> "Completed analysis for graph " + graphId);
+                return analysis;
+            })));
+        }
+
+        List<GraphAnalysis> graphAnalyses = new ArrayList<>(graphs.size());
+        try {
+            for (CompletableFuture<GraphAnalysis> future : futures) {
+                graphAnalyses.add(future.join());
+            }
+        } catch (CompletionException e) {
+            failure.compareAndSet(null, e.getCause());
+            // cancel() only completes stages that have not run; it never interrupts a running CompletableFuture
+            // task. Tasks still queued on the executor are stopped by the failure check in unlessFailed.
+            futures.forEach(future -> future.cancel(true));
+            // Report the first failure, not a later graph that was skipped because of it
+            Throwable cause = failure.get();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+        return new AnalysisResult(graphAnalyses);
+    }
+
+    private static <T> T unlessFailed(AtomicReference<Throwable> failure, Supplier<T> task) {
+        if (failure.get() != null) {
+            throw new CancellationException("Skipped after an earlier analysis task failed");
+        }
+        try {
+            return task.get();
+        } catch (RuntimeException | Error e) {
+            failure.compareAndSet(null, e);
+            throw e;
+        }
+    }
+
+    // One graph on the caller's thread, for callers that hold graphs themselves (e.g. the graph server)
+    public GraphAnalysis analyze(int graphId, Graph graph) {
+        return analyzeSingleGraph(graphId, CompactGraph.from(graph));
+    }
+
+    public GraphAnalysis analyze(int graphId, CompactGraph graph) {
+        return analyzeSingleGraph(graphId, graph);
+    }
+
+    // Every algorithm runs on the CSR snapshot, so callers that already hold one never build a Graph
+    private GraphAnalysis analyzeSingleGraph(int graphId, CompactGraph graph) {
+        if (graph.isDirected()) {
+            return analyzeDirected(graphId, graph);
+        }
+        if (selector != null) {
+            return analyzeWithSelectedAlgorithm(graphId, graph);
+        }
+
+        String fingerprint = fingerprintOf(graph);
+
         // Run Prim's algorithm
-        MSTResult primResult = primAlgorithm.findMST(graph);
+        MSTResult primResult = run("prim-forest", graph, fingerprint, () -> primAlgorithm.findMST(graph));
 
         // Run Kruskal's algorithm
-        MSTResult kruskalResult = kruskalAlgorithm.findMST(graph);
+        MSTResult kruskalResult = run("kruskal", graph, fingerprint, () -> kruskalAlgorithm.findMST(graph));
+
+        return verifiedAnalysis(graphId, graph, primResult, kruskalResult);
+    }
 
+    // Runs only the algorithm the cost model predicts to be fastest; a sample of graphs is cross-checked
+    private GraphAnalysis analyzeWithSelectedAlgorithm(int graphId, CompactGraph graph) {
+        GraphStatistics stats = GraphStatistics.of(graph);
+        AlgorithmSelector.Candidate candidate = selector.select(stats);
+        logger.debug(() -> "Graph " + graphId + ": " + stats + " -> " + candidate.getKey());
+
+        MSTResult selected = run(candidate.getKey(), graph, fingerprintOf(graph), () -> selector.run(candidate, graph));
+
+        if (!shouldVerify(graphId)) {
+            return new GraphAnalysis(graphId, graph, selector.getAlgorithmName(candidate), selected, null, null);
+        }
+
+        // Cross-check with an algorithm from the other family that can handle this graph
+        AlgorithmSelector.Candidate reference = candidate != AlgorithmSelector.Candidate.KRUSKAL_RADIX
+                ? AlgorithmSelector.Candidate.KRUSKAL_RADIX
+                : stats.isConnected() ? AlgorithmSelector.Candidate.EAGER_PRIM_BINARY : AlgorithmSelector.Candidate.FILTER_KRUSKAL;
+        MSTResult verification = selector.run(reference, graph);
+        if (verification.getTotalCost() != selected.getTotalCost()) {
+            logger.warning("MST cost mismatch between " + candidate.getKey() + " and " + reference.getKey()
+                    + " for graph " + graphId);
+        }
+        return new GraphAnalysis(graphId, graph, selector.getAlgorithmName(candidate), selected,
+                selector.getAlgorithmName(reference), verification);
+    }
+
+    // Prim and Kruskal do not apply to directed input, so the arborescence is reported as the only result
+    private GraphAnalysis analyzeDirected(int graphId, CompactGraph graph) {
+        MSTResult result = run("arborescence", graph, fingerprintOf(graph), () -> arborescenceAlgorithm.findMST(graph));
+        return new GraphAnalysis(graphId, graph, arborescenceAlgorithm.getAlgorithmName(), result, null, null);
+    }
+
+    // Deterministic per graph id, so reruns verify the same graphs
+    private boolean shouldVerify(int graphId) {
+        if (verificationRate <= 0) return false;
+        if (verificationRate >= 1) return true;
+        long z = graphId * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (z >>> 11) * 0x1.0p-53 < verificationRate;
+    }
+
+    private String fingerprintOf(CompactGraph graph) {
+        return cache != null ? MSTResultCache.fingerprint(graph) : null;
+    }
+
+    private MSTResult run(String cacheName, CompactGraph graph, String fingerprint, Supplier<MSTResult> compute) {
+        if (timing != null) {
+            return timing.measure(compute);
+        }
+        if (cache == null) {
+            return compute.get();
+        }
+        return cache.getOrCompute(fingerprint, cacheName, graph, compute);
+    }
+
+    private GraphAnalysis verifiedAnalysis(int graphId, CompactGraph graph, MSTResult primResult, MSTResult kruskalResult) {
         // Verify both algorithms produce same cost
         if (primResult.getTotalCost() != kruskalResult.getTotalCost()) {
             logger.warning("MST cost mismatch between algorithms for graph " + graphId);
@@ -80,45 +329,145 @@ public class GraphAnalysisService {
         logger.info("MINIMUM SPANNING TREE ANALYSIS SUMMARY");
         logger.info("=".repeat(80));
 
+        PerformanceTotals totals = new PerformanceTotals();
         for (GraphAnalysis analysis : result.getGraphAnalyses()) {
-            logger.info(String.format(
-                    "Graph %d: %d districts, %d possible roads | MST Cost: %d",
-                    analysis.getGraphId(),
-                    analysis.getGraph().getVertexCount(),
-                    analysis.getGraph().getEdgeCount(),
-                    analysis.getPrimResult().getTotalCost()
-            ));
+            logGraphSummary(analysis);
+            totals.add(analysis);
+        }
+
+        // Performance comparison
+        logger.info("\nPERFORMANCE COMPARISON:");
+        totals.log();
+        logCacheStatistics();
+    }
 
+    private void logTimingMode() {
+        if (timing != null) {
+            logger.info("Timing mode: " + timing + " per algorithm; reported times are medians");
+        }
+    }
+
+    private void logRunPhases(MSTMetrics runMetrics) {
+        logger.info(String.format("Load: %.3f ms | Write: %.3f ms",
+                runMetrics.getPhaseTimeMs(MSTMetrics.Phase.LOAD),
+                runMetrics.getPhaseTimeMs(MSTMetrics.Phase.WRITE)));
+    }
+
+    private void logCacheStatistics() {
+        if (cache == null) {
+            return;
+        }
+        logger.info(String.format("Result cache: %d hits (%d memory, %d disk), %d misses",
+                cache.getHits(), cache.getMemoryHits(), cache.getDiskHits(), cache.getMisses()));
+    }
+
+    private static String timeOf(MSTResult result) {
+        return result.getFormattedExecutionTime() + " ms" + (result.isCached() ? " (cached)" : "");
+    }
+
+    private void logGraphSummary(GraphAnalysis analysis) {
+        logger.info(String.format(
+                "Graph %d: %d districts, %d possible roads | MST Cost: %d",
+                analysis.getGraphId(),
+                analysis.getGraph().getVertexCount(),
+                analysis.getGraph().getEdgeCount(),
+                analysis.getPrimaryResult().getTotalCost()
+        ));
+
+        if (analysis.isAutoSelected()) {
+            MSTResult verification = analysis.getVerificationResult();
             logger.info(String.format(
-                    "  Prim: %d operations, %s ms | Kruskal: %d operations, %s ms",
-                    analysis.getPrimResult().getOperationsCount(),
-                    analysis.getPrimResult().getFormattedExecutionTime(),
-                    analysis.getKruskalResult().getOperationsCount(),
-                    analysis.getKruskalResult().getFormattedExecutionTime()
+                    "  %s: %d operations, %s%s",
+                    analysis.getSelectedAlgorithm(),
+                    analysis.getSelectedResult().getOperationsCount(),
+                    timeOf(analysis.getSelectedResult()),
+                    verification == null ? "" : " | verified by " + analysis.getVerificationAlgorithm()
+                            + (verification.getTotalCost() == analysis.getSelectedResult().getTotalCost() ? "" : " (MISMATCH)")
             ));
+            return;
         }
 
-        // Performance comparison
-        logger.info("\nPERFORMANCE COMPARISON:");
-        compareAlgorithmsPerformance(result);
+        logger.info(String.format(
+                "  Prim: %d operations, %s | Kruskal: %d operations, %s",
+                analysis.getPrimResult().getOperationsCount(),
+                timeOf(analysis.getPrimResult()),
+                analysis.getKruskalResult().getOperationsCount(),
+                timeOf(analysis.getKruskalResult())
+        ));
     }
 
-    private void compareAlgorithmsPerformance(AnalysisResult result) {
-        long totalPrimTime = 0;
-        long totalKruskalTime = 0;
-        int totalPrimOps = 0;
-        int totalKruskalOps = 0;
+    // Running totals, so the summary works without keeping every analysis around.
+    // Each figure covers only the graphs that ran that algorithm, and averages only results computed in this run;
+    // cache hits carry the time of an earlier run.
+    private class PerformanceTotals {
+        private int graphCount;
+        private final TimeTotal primTime = new TimeTotal();
+        private final TimeTotal kruskalTime = new TimeTotal();
+        private long totalPrimOps;
+        private long totalKruskalOps;
+        private final TimeTotal selectedTime = new TimeTotal();
+        private int verifiedCount;
+        private final Map<String, Integer> selections = new TreeMap<>();
+        private final TimeTotal arborescenceTime = new TimeTotal();
 
-        for (GraphAnalysis analysis : result.getGraphAnalyses()) {
-            totalPrimTime += analysis.getPrimResult().getExecutionTimeNs();
-            totalKruskalTime += analysis.getKruskalResult().getExecutionTimeNs();
-            totalPrimOps += analysis.getPrimResult().getOperationsCount();
-            totalKruskalOps += analysis.getKruskalResult().getOperationsCount();
+        void add(GraphAnalysis analysis) {
+            graphCount++;
+            if (analysis.isArborescence()) {
+                arborescenceTime.add(analysis.getSelectedResult());
+            } else if (analysis.isAutoSelected()) {
+                selectedTime.add(analysis.getSelectedResult());
+                selections.merge(analysis.getSelectedAlgorithm(), 1, Integer::sum);
+                if (analysis.getVerificationResult() != null) verifiedCount++;
+            } else {
+                primTime.add(analysis.getPrimResult());
+                kruskalTime.add(analysis.getKruskalResult());
+                totalPrimOps += analysis.getPrimResult().getOperationsCount();
+                totalKruskalOps += analysis.getKruskalResult().getOperationsCount();
+            }
+        }
+
+        void log() {
+            if (primTime.count() > 0) {
+                logger.info("Prim and Kruskal compared on " + primTime.count() + " graph(s)");
+                logger.info(String.format("Total Prim operations: %,d", totalPrimOps));
+                logger.info(String.format("Total Kruskal operations: %,d", totalKruskalOps));
+                logger.info("Average Prim time: " + primTime);
+                logger.info("Average Kruskal time: " + kruskalTime);
+            }
+            if (!selections.isEmpty()) {
+                selections.forEach((algorithm, count) -> logger.info("Selected " + algorithm + ": " + count + " graph(s)"));
+                logger.info("Average selected algorithm time: " + selectedTime);
+                logger.info("Cross-checked graphs: " + verifiedCount);
+            }
+            if (arborescenceTime.count() > 0) {
+                logger.info("Minimum arborescences (directed graphs): " + arborescenceTime.count() + " graph(s)");
+                logger.info("Average arborescence time: " + arborescenceTime);
+            }
         }
+    }
+
+    private static class TimeTotal {
+        private long totalNs;
+        private int timed;
+        private int cached;
 
-        logger.info(String.format("Total Prim operations: %,d", totalPrimOps));
-        logger.info(String.format("Total Kruskal operations: %,d", totalKruskalOps));
-        logger.info(String.format("Average Prim time: %.3f ms", totalPrimTime / (result.getGraphAnalyses().size() * 1_000_000.0)));
-        logger.info(String.format("Average Kruskal time: %.3f ms", totalKruskalTime / (result.getGraphAnalyses().size() * 1_000_000.0)));
+        int count() {
+            return timed + cached;
+        }
+
+        void add(MSTResult result) {
+            if (result.isCached()) {
+                cached++;
+            } else {
+                totalNs += result.getExecutionTimeNs();
+                timed++;
+            }
+        }
+
+        @Override
+        public String toString() {
+            String average = timed == 0 ? "n/a" : String.format(Locale.ROOT, "%.3f ms", totalNs / (timed * 1_000_000.0));
+            return cached == 0 ? average : average + " (" + cached + " cached result(s) excluded)";
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,372 @@
+package application.services;
+
+import domain.models.*;
+import infrastructure.logging.AnalysisLogger;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Content-addressed MST results: an in-memory LRU tier backed by an optional on-disk tier.
+// Keys are a 128-bit order-independent hash of the vertex ids and the weighted edge multiset, computed in O(V + E)
+// without sorting, so input order does not matter: every algorithm's cost is a function of that multiset (Kruskal keeps the lightest of parallel edges), although
+// among equal-weight ties a cached tree may list different edges than a fresh run on a reordered input would.
+// The disk tier is bounded by entry count and evicts least recently used entries, tracked by file modification time.
+public class MSTResultCache {
+    private static final int FILE_MAGIC = 0x4D535443; // "MSTC"
+    private static final int FILE_VERSION = 3;
+    public static final int DEFAULT_DISK_CAPACITY = 4096;
+
+    private final int memoryCapacity;
+    private final Path directory;
+    private final int diskCapacity;
+    // Approximate between evictions: concurrent writers of one key may count it twice until the next directory scan
+    private final AtomicInteger diskEntries = new AtomicInteger();
+    private final Map<String, CachedResult> memory;
+    private final AnalysisLogger logger;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // directory may be null for a memory-only cache
+    public MSTResultCache(int memoryCapacity, Path directory, int diskCapacity) throws IOException {
+        if (memoryCapacity < 0) {
+            throw new IllegalArgumentException("Cache capacity must not be negative: " + memoryCapacity);
+        }
+        if (diskCapacity < 1) {
+            throw new IllegalArgumentException("Disk cache capacity must be positive: " + diskCapacity);
+        }
+        this.memoryCapacity = memoryCapacity;
+        this.directory = directory;
+        this.diskCapacity = diskCapacity;
+        this.logger = AnalysisLogger.getInstance();
+        this.memory = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > MSTResultCache.this.memoryCapacity;
+            }
+        };
+        if (directory != null) {
+            Files.createDirectories(directory);
+            diskEntries.set(listEntries().size());
+            if (diskEntries.get() > diskCapacity) {
+                evictFromDisk();
+            }
+        }
+    }
+
+    public MSTResultCache(int memoryCapacity, Path directory) throws IOException {
+        this(memoryCapacity, directory, DEFAULT_DISK_CAPACITY);
+    }
+
+    public MSTResultCache(int memoryCapacity) throws IOException {
+        this(memoryCapacity, null);
+    }
+
+    // Returns the cached result for (graph, algorithm), computing and storing it on a miss
+    public MSTResult getOrCompute(String fingerprint, String algorithm, CompactGraph graph, Supplier<MSTResult> compute) {
+        String key = fingerprint + "-" + algorithm;
+
+        CachedResult cached;
+        synchronized (memory) {
+            cached = memory.get(key);
+        }
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return cached.toResult(graph);
+        }
+
+        cached = readFromDisk(key);
+        if (cached != null) {
+            diskHits.incrementAndGet();
+            remember(key, cached);
+            return cached.toResult(graph);
+        }
+
+        misses.incrementAndGet();
+        MSTResult result = compute.get();
+        cached = CachedResult.of(result);
+        remember(key, cached);
+        writeToDisk(key, cached);
+        return result;
+    }
+
+    public long getMemoryHits() { return memoryHits.get(); }
+    public long getDiskHits() { return diskHits.get(); }
+    public long getHits() { return memoryHits.get() + diskHits.get(); }
+    public long getMisses() { return misses.get(); }
+
+    // Two independent 64-bit lanes, each a wrapping sum of per-vertex and per-edge mixes: addition commutes, so no
+    // sorting is needed, and parallel duplicates add up instead of cancelling as they would under xor
+    public static String fingerprint(CompactGraph compact) {
+        int vertexCount = compact.getVertexCount();
+        int edgeCount = compact.getEdgeCount();
+        boolean directed = compact.isDirected();
+
+        long[] idHash = new long[vertexCount];
+        long lane1 = 0;
+        long lane2 = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            String id = compact.getVertexId(v);
+            long h = 0xCBF29CE484222325L; // FNV-1a over the UTF-16 chars, then a full mix
+            for (int i = 0; i < id.length(); i++) {
+                h = (h ^ id.charAt(i)) * 0x100000001B3L;
+            }
+            h = mix64(h + id.length());
+            idHash[v] = h;
+            lane1 += mix64(h ^ 0x9E3779B97F4A7C15L);
+            lane2 += mix64(h + 0xD1B54A32D192ED03L);
+        }
+
+        for (int e = 0; e < edgeCount; e++) {
+            long a = idHash[compact.getSource(e)];
+            long b = idHash[compact.getDestination(e)];
+            // Undirected edges have no orientation
+            long lo = directed || a <= b ? a : b;
+            long hi = directed || a <= b ? b : a;
+            long weight = compact.getWeight(e);
+            lane1 += mix64(mix64(lo * 0xFF51AFD7ED558CCDL + hi) ^ (weight * 0xC4CEB9FE1A85EC53L));
+            lane2 += mix64(mix64(hi * 0x94D049BB133111EBL ^ lo) + (weight * 0xBF58476D1CE4E5B9L));
+        }
+
+        lane1 = mix64(lane1 + vertexCount * 0x9E3779B97F4A7C15L + (directed ? 1 : 0));
+        lane2 = mix64(lane2 + edgeCount * 0xD1B54A32D192ED03L);
+        return String.format("%016x%016x", lane1, lane2);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private void remember(String key, CachedResult cached) {
+        if (memoryCapacity == 0) {
+            return;
+        }
+        synchronized (memory) {
+            memory.put(key, cached);
+        }
+    }
+
+    private CachedResult readFromDisk(String key) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(key + ".mstc");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("unrecognised cache file header");
+            }
+            int totalCost = in.readInt();
+            long operationsCount = in.readLong();
+            long executionTimeNs = in.readLong();
+            MSTMetrics metrics = null;
+            if (in.readBoolean()) {
+                String name = in.readUTF();
+                long[] counters = readLongs(in);
+                long[] phases = readLongs(in);
+                metrics = new MSTMetrics(name, counters, phases);
+            }
+            List<SpanningComponent> components = null;
+            if (in.readBoolean()) {
+                int count = in.readInt();
+                components = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    components.add(new SpanningComponent(in.readInt(), in.readInt(), in.readLong()));
+                }
+            }
+            int size = in.readInt();
+            String[] from = new String[size];
+            String[] to = new String[size];
+            int[] weights = new int[size];
+            for (int i = 0; i < size; i++) {
+                from[i] = in.readUTF();
+                to[i] = in.readUTF();
+                weights[i] = in.readInt();
+            }
+            touch(file);
+            return new CachedResult(from, to, weights, totalCost, operationsCount, executionTimeNs, metrics, components);
+        } catch (IOException e) {
+            // A damaged entry is just a miss; it is overwritten once the result is recomputed
+            logger.warning("Ignoring unreadable cache entry " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, CachedResult cached) {
+        if (directory == null) {
+            return;
+        }
+        Path file = directory.resolve(key + ".mstc");
+        try {
+            // Write to a temporary file first so concurrent readers never see a partial entry
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeInt(cached.totalCost);
+                out.writeLong(cached.operationsCount);
+                out.writeLong(cached.executionTimeNs);
+                out.writeBoolean(cached.metrics != null);
+                if (cached.metrics != null) {
+                    out.writeUTF(cached.metrics.getName());
+                    writeLongs(out, cached.metrics.getCounters());
+                    writeLongs(out, cached.metrics.getPhaseTimesNs());
+                }
+                out.writeBoolean(cached.components != null);
+                if (cached.components != null) {
+                    out.writeInt(cached.components.size());
+                    for (SpanningComponent component : cached.components) {
+                        out.writeInt(component.getVertexCount());
+                        out.writeInt(component.getTreeEdgeCount());
+                        out.writeLong(component.getTotalCost());
+                    }
+                }
+                out.writeInt(cached.weights.length);
+                for (int i = 0; i < cached.weights.length; i++) {
+                    out.writeUTF(cached.from[i]);
+                    out.writeUTF(cached.to[i]);
+                    out.writeInt(cached.weights[i]);
+                }
+            }
+            boolean replacing = Files.exists(file);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (!replacing && diskEntries.incrementAndGet() > diskCapacity) {
+                evictFromDisk();
+            }
+        } catch (IOException e) {
+            logger.warning("Could not persist cache entry " + file + ": " + e.getMessage());
+        }
+    }
+
+    // Marks a disk hit as recently used
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Only affects eviction order
+        }
+    }
+
+    // Deletes the least recently used entries down to 7/8 of the capacity, so scans stay rare
+    private synchronized void evictFromDisk() {
+        if (diskEntries.get() <= diskCapacity) {
+            return;
+        }
+        try {
+            List<Path> entries = listEntries();
+            Map<Path, FileTime> lastUsed = new HashMap<>();
+            for (Path entry : entries) {
+                lastUsed.put(entry, lastModified(entry));
+            }
+            entries.sort(Comparator.comparing(lastUsed::get));
+            int target = diskCapacity - diskCapacity / 8;
+            int remaining = entries.size();
+            for (int i = 0; i < entries.size() && remaining > target; i++) {
+                if (Files.deleteIfExists(entries.get(i))) {
+                    remaining--;
+                }
+            }
+            diskEntries.set(remaining);
+            logger.debug(() -> "Evicted cache entries from " + directory + ", " + diskEntries.get() + " remain");
+        } catch (IOException e) {
+            logger.warning("Could not evict cache entries from " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private List<Path> listEntries() throws IOException {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.mstc")) {
+            stream.forEach(entries::add);
+        }
+        return entries;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0); // Vanished or unreadable: evict first
+        }
+    }
+
+    private static long[] readLongs(DataInputStream in) throws IOException {
+        long[] values = new long[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    // Results are held by vertex id, so a hit can be rebuilt against the vertices of the graph being analyzed
+    private static class CachedResult {
+        final String[] from;
+        final String[] to;
+        final int[] weights;
+        final int totalCost;
+        final long operationsCount;
+        final long executionTimeNs;
+        final MSTMetrics metrics;
+        final List<SpanningComponent> components;
+
+        CachedResult(String[] from, String[] to, int[] weights, int totalCost, long operationsCount,
+                     long executionTimeNs, MSTMetrics metrics, List<SpanningComponent> components) {
+            this.from = from;
+            this.to = to;
+            this.weights = weights;
+            this.totalCost = totalCost;
+            this.operationsCount = operationsCount;
+            this.executionTimeNs = executionTimeNs;
+            this.metrics = metrics;
+            this.components = components;
+        }
+
+        static CachedResult of(MSTResult result) {
+            List<Edge> edges = result.getMstEdges();
+            String[] from = new String[edges.size()];
+            String[] to = new String[edges.size()];
+            int[] weights = new int[edges.size()];
+            for (int i = 0; i < edges.size(); i++) {
+                from[i] = edges.get(i).getFrom().getId();
+                to[i] = edges.get(i).getTo().getId();
+                weights[i] = edges.get(i).getWeight();
+            }
+            return new CachedResult(from, to, weights,
+                    result.getTotalCost(), result.getOperationsCount(), result.getExecutionTimeNs(), result.getMetrics(),
+                    result.getComponents());
+        }
+
+        MSTResult toResult(CompactGraph graph) {
+            List<Edge> edges = new ArrayList<>(weights.length);
+            for (int i = 0; i < weights.length; i++) {
+                edges.add(new Edge(vertex(graph, from[i]), vertex(graph, to[i]), weights[i]));
+            }
+            MSTResult result = metrics != null
+                    ? new MSTResult(edges, totalCost, metrics, executionTimeNs)
+                    : new MSTResult(edges, totalCost, operationsCount, executionTimeNs);
+            return (components != null ? result.withComponents(components) : result).asCached();
+        }
+
+        private static Vertex vertex(CompactGraph graph, String id) {
+            int index = graph.indexOf(id);
+            return index >= 0 ? graph.getVertex(index) : new Vertex(id);
+        }
+    }
+}
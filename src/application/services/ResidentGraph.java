@@ -0,0 +1,120 @@
+package application.services;
+
+import domain.models.Graph;
+import domain.services.DynamicMST;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+// A graph kept in memory under a name. The spanning forest is maintained incrementally across edge updates;
+// every update bumps the version and drops the results computed for the previous one.
+public class ResidentGraph {
+    enum Slot { MST, ANALYSIS }
+
+    private final String name;
+    private final int graphId;
+    // DynamicMST is not thread-safe (even queries splay), so every access holds this object's lock
+    private final DynamicMST dynamic;
+    private long version;
+    private final CompletableFuture<?>[] results = new CompletableFuture<?>[Slot.values().length];
+
+    ResidentGraph(String name, int graphId, Graph graph) {
+        this.name = name;
+        this.graphId = graphId;
+        this.dynamic = new DynamicMST(graph);
+    }
+
+    // Returns the in-flight or finished computation for the current version, or claims the slot for the caller.
+    // The snapshot is taken under the lock; the computation then runs on the claiming thread outside it.
+    // Results carry the version they were computed from, which may be older than the graph by the time they are read.
+    <S, T> CompletableFuture<Versioned<T>> coalesce(Slot slot, Function<DynamicMST, S> snapshot,
+                                                    Function<S, T> compute, Runnable onShared) {
+        CompletableFuture<Versioned<T>> future;
+        S input;
+        long snapshotVersion;
+        synchronized (this) {
+            @SuppressWarnings("unchecked")
+            CompletableFuture<Versioned<T>> existing = (CompletableFuture<Versioned<T>>) results[slot.ordinal()];
+            if (existing != null) {
+                onShared.run();
+                return existing;
+            }
+            future = new CompletableFuture<>();
+            results[slot.ordinal()] = future;
+            snapshotVersion = version;
+            try {
+                input = snapshot.apply(dynamic);
+            } catch (Throwable t) {
+                results[slot.ordinal()] = null;
+                future.completeExceptionally(t);
+                throw t;
+            }
+        }
+
+        try {
+            future.complete(new Versioned<>(snapshotVersion, compute.apply(input)));
+        } catch (Throwable t) {
+            // A failed computation is not cached, the next request retries; requests already sharing it see the failure
+            synchronized (this) {
+                if (results[slot.ordinal()] == future) {
+                    results[slot.ordinal()] = null;
+                }
+            }
+            future.completeExceptionally(t);
+            if (!(t instanceof RuntimeException)) {
+                throw t;
+            }
+        }
+        return future;
+    }
+
+    // Missing endpoints are created, so an insert can grow the graph
+    synchronized boolean insertEdge(String from, String to, int weight) {
+        dynamic.addVertex(from);
+        dynamic.addVertex(to);
+        boolean treeEdge = dynamic.insertEdge(from, to, weight);
+        invalidate();
+        return treeEdge;
+    }
+
+    synchronized boolean deleteEdge(String from, String to) {
+        boolean treeEdge = dynamic.deleteEdge(from, to);
+        invalidate();
+        return treeEdge;
+    }
+
+    synchronized boolean updateWeight(String from, String to, int weight) {
+        dynamic.updateWeight(from, to, weight);
+        invalidate();
+        return dynamic.isTreeEdge(from, to);
+    }
+
+    private void invalidate() {
+        version++;
+        for (int i = 0; i < results.length; i++) {
+            results[i] = null;
+        }
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public int getGraphId() { return graphId; }
+    public synchronized long getVersion() { return version; }
+    public synchronized int getVertexCount() { return dynamic.getVertexCount(); }
+    public synchronized int getEdgeCount() { return dynamic.getEdgeCount(); }
+    public synchronized int getTreeEdgeCount() { return dynamic.getTreeEdgeCount(); }
+    public synchronized long getTotalCost() { return dynamic.getTotalCost(); }
+
+    public static final class Versioned<T> {
+        private final long version;
+        private final T value;
+
+        Versioned(long version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+
+        public long getVersion() { return version; }
+        public T getValue() { return value; }
+    }
+}
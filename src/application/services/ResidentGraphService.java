@@ -0,0 +1,144 @@
+package application.services;
+
+import domain.models.Graph;
+import domain.models.MSTResult;
+import domain.services.DynamicMST;
+import infrastructure.fileio.JsonDataHandler;
+import infrastructure.logging.AnalysisLogger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Named, memory-resident graphs for the long-running server. Concurrent requests for the same graph and
+// version share one computation, and concurrent loads of the same file into the same handle share one parse.
+public class ResidentGraphService {
+    public enum UpdateOperation { INSERT, DELETE, UPDATE }
+
+    private final Map<String, ResidentGraph> graphs = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<ResidentGraph>> loading = new ConcurrentHashMap<>();
+    private final GraphAnalysisService analysisService;
+    private final JsonDataHandler jsonDataHandler;
+    private final AnalysisLogger logger;
+    private final AtomicInteger nextGraphId = new AtomicInteger();
+
+    private final AtomicLong computations = new AtomicLong();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+
+    public ResidentGraphService(GraphAnalysisService analysisService) {
+        this.analysisService = analysisService;
+        this.jsonDataHandler = new JsonDataHandler();
+        this.logger = AnalysisLogger.getInstance();
+    }
+
+    // Replaces any graph already held under the name; resident graphs are maintained as undirected MSTs
+    public ResidentGraph put(String name, Graph graph) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Graph '" + name + "' is directed; resident graphs must be undirected");
+        }
+        ResidentGraph resident = new ResidentGraph(name, nextGraphId.incrementAndGet(), graph);
+        graphs.put(name, resident);
+        logger.info("Loaded graph handle '" + name + "': " + graph);
+        return resident;
+    }
+
+    // Loads the graph at the given position of a JSON or .mstg file
+    public ResidentGraph load(String name, String filePath, int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Graph index must be non-negative, got " + index);
+        }
+        String key = name + '\n' + filePath + '\n' + index;
+        CompletableFuture<ResidentGraph> future = new CompletableFuture<>();
+        CompletableFuture<ResidentGraph> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedRequests.incrementAndGet();
+            return existing.join();
+        }
+
+        try {
+            List<Graph> selected = new ArrayList<>(1);
+            int[] position = {0};
+            jsonDataHandler.forEachGraph(filePath, graph -> {
+                if (position[0]++ == index) {
+                    selected.add(graph);
+                }
+            });
+            if (selected.isEmpty()) {
+                throw new IllegalArgumentException(filePath + " holds " + position[0] + " graph(s), no index " + index);
+            }
+            ResidentGraph resident = put(name, selected.get(0));
+            future.complete(resident);
+            return resident;
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    // Every graph of the file, under the handles graph-1, graph-2, ... by position
+    public List<ResidentGraph> loadAll(String filePath) throws IOException {
+        List<ResidentGraph> loaded = new ArrayList<>();
+        jsonDataHandler.forEachGraph(filePath, graph -> loaded.add(put("graph-" + (loaded.size() + 1), graph)));
+        return loaded;
+    }
+
+    public boolean remove(String name) {
+        return graphs.remove(name) != null;
+    }
+
+    public ResidentGraph get(String name) {
+        ResidentGraph resident = graphs.get(name);
+        if (resident == null) {
+            throw new NoSuchElementException("Unknown graph handle: " + name);
+        }
+        return resident;
+    }
+
+    public Collection<ResidentGraph> list() {
+        List<ResidentGraph> residents = new ArrayList<>(graphs.values());
+        residents.sort(Comparator.comparing(ResidentGraph::getName));
+        return residents;
+    }
+
+    // The incrementally maintained spanning forest of the current version
+    public CompletableFuture<ResidentGraph.Versioned<MSTResult>> minimumSpanningTree(String name) {
+        return get(name).coalesce(ResidentGraph.Slot.MST, DynamicMST::getResult, result -> {
+            computations.incrementAndGet();
+            return result;
+        }, coalescedRequests::incrementAndGet);
+    }
+
+    // Full batch-style analysis (both algorithms, or the selected one in auto mode) of the current version
+    public CompletableFuture<ResidentGraph.Versioned<GraphAnalysis>> analysis(String name) {
+        ResidentGraph resident = get(name);
+        return resident.coalesce(ResidentGraph.Slot.ANALYSIS, DynamicMST::toGraph, graph -> {
+            computations.incrementAndGet();
+            return analysisService.analyze(resident.getGraphId(), graph);
+        }, coalescedRequests::incrementAndGet);
+    }
+
+    // Returns whether the edge is in the spanning forest afterwards (for DELETE: whether it was before)
+    public boolean update(String name, UpdateOperation operation, String from, String to, int weight) {
+        ResidentGraph resident = get(name);
+        switch (operation) {
+            case INSERT:
+                return resident.insertEdge(from, to, weight);
+            case DELETE:
+                return resident.deleteEdge(from, to);
+            default:
+                return resident.updateWeight(from, to, weight);
+        }
+    }
+
+    public long getComputations() { return computations.get(); }
+    public long getCoalescedRequests() { return coalescedRequests.get(); }
+}
@@ -0,0 +1,164 @@
+package application.services;
+
+import domain.models.MSTResult;
+import domain.models.TimingDistribution;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
+
+// Repeats an algorithm run: warm-up iterations let the JIT settle and are discarded, then every measured run records
+// its wall time and the bytes allocated by the calling thread plus the fork/join workers the algorithms hand work to.
+// Other threads (the logger, JVM housekeeping) are left out, and snapshots go into arrays reused across runs so the
+// measurement itself allocates nothing inside the window; a worker that exits mid-run loses its share.
+public class TimingMode {
+    public static final int DEFAULT_WARMUP_ITERATIONS = 5;
+    public static final int DEFAULT_MEASURED_RUNS = 20;
+
+    private final int warmupIterations;
+    private final int measuredRuns;
+    // Null when the JVM has no per-thread allocation counter
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final ThreadGroup rootGroup;
+
+    // Scratch state for the snapshots, guarded by measure()
+    private Thread[] threads = new Thread[64];
+    private long[] workerIds = new long[64];
+    private long[] workerBytes = new long[64];
+    private int workerCount;
+
+    public TimingMode(int warmupIterations, int measuredRuns) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Warm-up iterations must be non-negative, got " + warmupIterations);
+        }
+        if (measuredRuns < 1) {
+            throw new IllegalArgumentException("Measured runs must be positive, got " + measuredRuns);
+        }
+        this.warmupIterations = warmupIterations;
+        this.measuredRuns = measuredRuns;
+        this.threadBean = allocationCounter();
+        this.rootGroup = rootGroup();
+    }
+
+    public TimingMode() {
+        this(DEFAULT_WARMUP_ITERATIONS, DEFAULT_MEASURED_RUNS);
+    }
+
+    // Returns the last measured run's result with the distribution attached. Synchronized because the snapshot
+    // arrays are shared, and because concurrent measured runs would time each other anyway
+    public synchronized MSTResult measure(Supplier<MSTResult> run) {
+        for (int i = 0; i < warmupIterations; i++) {
+            run.get();
+        }
+
+        long[] times = new long[measuredRuns];
+        long[] allocations = new long[measuredRuns];
+        MSTResult result = null;
+        for (int i = 0; i < measuredRuns; i++) {
+            if (threadBean == null) {
+                long start = System.nanoTime();
+                result = run.get();
+                times[i] = System.nanoTime() - start;
+                allocations[i] = -1;
+                continue;
+            }
+            // The caller's own counter is read last before the run and first after it, so the snapshot work
+            // on this thread falls outside the window
+            snapshotWorkers();
+            long callerBefore = threadBean.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            result = run.get();
+            times[i] = System.nanoTime() - start;
+            long callerAllocated = threadBean.getCurrentThreadAllocatedBytes() - callerBefore;
+            allocations[i] = callerAllocated + workerAllocationsSinceSnapshot();
+        }
+        return result.withTiming(new TimingDistribution(warmupIterations, times, allocations));
+    }
+
+    // Ids and allocation counters of the fork/join workers alive now
+    private void snapshotWorkers() {
+        int threadCount = enumerateThreads();
+        if (workerIds.length < threadCount) {
+            workerIds = new long[threads.length];
+            workerBytes = new long[threads.length];
+        }
+        workerCount = 0;
+        for (int t = 0; t < threadCount; t++) {
+            if (threads[t] instanceof ForkJoinWorkerThread) {
+                long id = threads[t].getId();
+                long bytes = threadBean.getThreadAllocatedBytes(id);
+                if (bytes >= 0) {
+                    workerIds[workerCount] = id;
+                    workerBytes[workerCount++] = bytes;
+                }
+            }
+        }
+        Arrays.fill(threads, 0, threadCount, null);
+    }
+
+    // Workers started during the run count from zero
+    private long workerAllocationsSinceSnapshot() {
+        int threadCount = enumerateThreads();
+        long total = 0;
+        for (int t = 0; t < threadCount; t++) {
+            if (!(threads[t] instanceof ForkJoinWorkerThread)) {
+                continue;
+            }
+            long id = threads[t].getId();
+            long bytes = threadBean.getThreadAllocatedBytes(id);
+            if (bytes < 0) {
+                continue;
+            }
+            long before = 0;
+            for (int w = 0; w < workerCount; w++) {
+                if (workerIds[w] == id) {
+                    before = workerBytes[w];
+                    break;
+                }
+            }
+            total += bytes - before;
+        }
+        Arrays.fill(threads, 0, threadCount, null);
+        return total;
+    }
+
+    // Live threads of every group into the reused array, grown until they fit
+    private int enumerateThreads() {
+        int count;
+        while ((count = rootGroup.enumerate(threads)) == threads.length) {
+            threads = new Thread[threads.length * 2];
+        }
+        return count;
+    }
+
+    private static ThreadGroup rootGroup() {
+        ThreadGroup group = Thread.currentThread().getThreadGroup();
+        while (group.getParent() != null) {
+            group = group.getParent();
+        }
+        return group;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+    }
+
+    public int getWarmupIterations() { return warmupIterations; }
+    public int getMeasuredRuns() { return measuredRuns; }
+
+    @Override
+    public String toString() {
+        return warmupIterations + " warm-up + " + measuredRuns + " measured runs";
+    }
+}
@@ -0,0 +1,191 @@
+package domain.models;
+
+import java.util.*;
+
+public final class CompactGraph {
+    private final String[] vertexIds;
+    private final Vertex[] vertices;
+    private final Map<String, Integer> indexById;
+    private final boolean directed;
+
+    // Edge list: every input edge stored exactly once
+    private final int[] sources;
+    private final int[] destinations;
+    private final int[] weights;
+
+    // CSR adjacency: slots offsets[v]..offsets[v + 1] hold neighbours of v and the edge they use
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] edgeIndices;
+
+    private CompactGraph(Vertex[] vertices, Map<String, Integer> indexById, boolean directed,
+                         int[] sources, int[] destinations, int[] weights) {
+        this.vertices = vertices;
+        this.indexById = indexById;
+        this.directed = directed;
+        this.sources = sources;
+        this.destinations = destinations;
+        this.weights = weights;
+
+        this.vertexIds = new String[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            vertexIds[i] = vertices[i].getId().intern();
+        }
+
+        this.offsets = new int[vertices.length + 1];
+        for (int e = 0; e < sources.length; e++) {
+            offsets[sources[e] + 1]++;
+            if (!directed) {
+                offsets[destinations[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < vertices.length; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        this.targets = new int[offsets[vertices.length]];
+        this.edgeIndices = new int[offsets[vertices.length]];
+        int[] cursor = Arrays.copyOf(offsets, vertices.length);
+        for (int e = 0; e < sources.length; e++) {
+            int slot = cursor[sources[e]]++;
+            targets[slot] = destinations[e];
+            edgeIndices[slot] = e;
+            if (!directed) {
+                slot = cursor[destinations[e]]++;
+                targets[slot] = sources[e];
+                edgeIndices[slot] = e;
+            }
+        }
+    }
+
+    public static CompactGraph from(Graph graph) {
+        Map<String, Integer> indexById = new HashMap<>();
+        List<Vertex> vertexList = new ArrayList<>(graph.getVertexCount());
+        for (Vertex vertex : graph.getVertices()) {
+            indexById.put(vertex.getId(), vertexList.size());
+            vertexList.add(vertex);
+        }
+
+        // Undirected graphs hold every edge twice (edge followed by its reverse), keep the first copy only
+        List<Edge> edges = graph.getEdges();
+        int step = graph.isDirected() ? 1 : 2;
+        int edgeCount = (edges.size() + step - 1) / step;
+
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+
+        for (int i = 0, e = 0; i < edges.size(); i += step, e++) {
+            Edge edge = edges.get(i);
+            sources[e] = indexOf(edge.getFrom(), indexById, vertexList);
+            destinations[e] = indexOf(edge.getTo(), indexById, vertexList);
+            weights[e] = edge.getWeight();
+        }
+
+        return new CompactGraph(vertexList.toArray(new Vertex[0]), indexById, graph.isDirected(),
+                sources, destinations, weights);
+    }
+
+    // Builds a snapshot straight from primitive edge arrays (e.g. a binary graph file); arrays are not copied
+    public static CompactGraph of(String[] vertexIds, boolean directed, int[] sources, int[] destinations, int[] weights) {
+        if (sources.length != destinations.length || sources.length != weights.length) {
+            throw new IllegalArgumentException("Edge arrays must have equal length");
+        }
+        Vertex[] vertices = new Vertex[vertexIds.length];
+        Map<String, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < vertexIds.length; i++) {
+            vertices[i] = new Vertex(vertexIds[i]);
+            if (indexById.put(vertexIds[i], i) != null) {
+                throw new IllegalArgumentException("Duplicate vertex id: " + vertexIds[i]);
+            }
+        }
+        for (int e = 0; e < sources.length; e++) {
+            if (sources[e] < 0 || sources[e] >= vertexIds.length
+                    || destinations[e] < 0 || destinations[e] >= vertexIds.length) {
+                throw new IllegalArgumentException("Edge " + e + " references a missing vertex");
+            }
+        }
+        return new CompactGraph(vertices, indexById, directed, sources, destinations, weights);
+    }
+
+    // Induced snapshot over the given vertices and edges, reusing this graph's Vertex objects.
+    // localIndex maps every listed vertex of this graph to its position in vertexIndices.
+    public CompactGraph subgraph(int[] vertexIndices, int[] edgeIndices, int[] localIndex) {
+        Vertex[] subVertices = new Vertex[vertexIndices.length];
+        Map<String, Integer> subIndexById = new HashMap<>(Math.max(16, vertexIndices.length * 2));
+        for (int i = 0; i < vertexIndices.length; i++) {
+            subVertices[i] = vertices[vertexIndices[i]];
+            subIndexById.put(vertexIds[vertexIndices[i]], i);
+        }
+        int[] subSources = new int[edgeIndices.length];
+        int[] subDestinations = new int[edgeIndices.length];
+        int[] subWeights = new int[edgeIndices.length];
+        for (int i = 0; i < edgeIndices.length; i++) {
+            int e = edgeIndices[i];
+            subSources[i] = localIndex[sources[e]];
+            subDestinations[i] = localIndex[destinations[e]];
+            subWeights[i] = weights[e];
+        }
+        return new CompactGraph(subVertices, subIndexById, directed, subSources, subDestinations, subWeights);
+    }
+
+    public Graph toGraph() {
+        Graph graph = new Graph(directed);
+        for (Vertex vertex : vertices) {
+            graph.addVertex(vertex);
+        }
+        for (int e = 0; e < sources.length; e++) {
+            graph.addEdge(vertexIds[sources[e]], vertexIds[destinations[e]], weights[e]);
+        }
+        return graph;
+    }
+
+    private static int indexOf(Vertex vertex, Map<String, Integer> indexById, List<Vertex> vertexList) {
+        Integer index = indexById.get(vertex.getId());
+        if (index == null) {
+            // Edges added through Graph.addEdge(Edge) may reference vertices that were never registered
+            index = vertexList.size();
+            indexById.put(vertex.getId(), index);
+            vertexList.add(vertex);
+        }
+        return index;
+    }
+
+    // Getters
+    public int getVertexCount() { return vertices.length; }
+    public int getEdgeCount() { return sources.length; }
+    public boolean isDirected() { return directed; }
+
+    public String getVertexId(int vertex) { return vertexIds[vertex]; }
+    public Vertex getVertex(int vertex) { return vertices[vertex]; }
+
+    public int indexOf(String id) {
+        Integer index = indexById.get(id);
+        return index != null ? index : -1;
+    }
+
+    public int getSource(int edge) { return sources[edge]; }
+    public int getDestination(int edge) { return destinations[edge]; }
+    public int getWeight(int edge) { return weights[edge]; }
+
+    public int getDegree(int vertex) { return offsets[vertex + 1] - offsets[vertex]; }
+    public int getAdjacencyStart(int vertex) { return offsets[vertex]; }
+    public int getAdjacencyEnd(int vertex) { return offsets[vertex + 1]; }
+    public int getAdjacentVertex(int slot) { return targets[slot]; }
+    public int getAdjacentEdge(int slot) { return edgeIndices[slot]; }
+
+    public Edge toEdge(int edge) {
+        return new Edge(vertices[sources[edge]], vertices[destinations[edge]], weights[edge]);
+    }
+
+    public Edge toEdge(int edge, int from) {
+        int to = sources[edge] == from ? destinations[edge] : sources[edge];
+        return new Edge(vertices[from], vertices[to], weights[edge]);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompactGraph{vertices=%d, edges=%d, directed=%s}",
+                vertices.length, sources.length, directed);
+    }
+}
@@ -0,0 +1,35 @@
+package domain.models;
+
+import java.io.IOException;
+
+// Re-readable sequential source of (from, to, weight) edges over dense vertex indices.
+// Lets an algorithm consume an edge list that is never materialised on the heap.
+public interface EdgeStream {
+    int getVertexCount();
+
+    String getVertexId(int vertex);
+
+    void forEachEdge(EdgeVisitor visitor) throws IOException;
+
+    @FunctionalInterface
+    interface EdgeVisitor {
+        void visit(int from, int to, int weight) throws IOException;
+    }
+
+    static EdgeStream of(CompactGraph graph) {
+        return new EdgeStream() {
+            @Override
+            public int getVertexCount() { return graph.getVertexCount(); }
+
+            @Override
+            public String getVertexId(int vertex) { return graph.getVertexId(vertex); }
+
+            @Override
+            public void forEachEdge(EdgeVisitor visitor) throws IOException {
+                for (int e = 0; e < graph.getEdgeCount(); e++) {
+                    visitor.visit(graph.getSource(e), graph.getDestination(e), graph.getWeight(e));
+                }
+            }
+        };
+    }
+}
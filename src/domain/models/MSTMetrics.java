@@ -0,0 +1,196 @@
+package domain.models;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Locale;
+
+// Per-run counters and phase wall times. One instance belongs to one thread; algorithms keep hot-loop
+// counts in locals and add them here once, so leaving metrics on costs a handful of array writes per run.
+// Phases and whole runs are also committed as JFR events when a recording has them enabled.
+public final class MSTMetrics {
+    public enum Counter {
+        HEAP_PUSHES,
+        HEAP_POLLS,
+        FINDS,
+        UNIONS,
+        PATH_COMPRESSION_STEPS,
+        EDGES_SCANNED,
+        EDGES_REJECTED;
+
+        public String getKey() { return name().toLowerCase(Locale.ROOT); }
+    }
+
+    public enum Phase {
+        LOAD,
+        COMPONENTS,
+        DEDUPE,
+        SORT,
+        MAIN_LOOP,
+        WRITE;
+
+        public String getKey() { return name().toLowerCase(Locale.ROOT); }
+    }
+
+    private static final Counter[] COUNTERS = Counter.values();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final String name;
+    private final long[] counters;
+    private final long[] phaseNanos;
+    private final boolean[] phaseRecorded;
+
+    private final RunEvent runEvent;
+    private Phase currentPhase;
+    private long phaseStart;
+    private PhaseEvent phaseEvent;
+
+    public MSTMetrics(String name) {
+        this.name = name;
+        this.counters = new long[COUNTERS.length];
+        this.phaseNanos = new long[PHASES.length];
+        this.phaseRecorded = new boolean[PHASES.length];
+        this.runEvent = new RunEvent();
+        runEvent.begin();
+    }
+
+    // Rebuilds metrics from exported values (e.g. a cached result); no JFR events are emitted for these
+    public MSTMetrics(String name, long[] counters, long[] phaseNanos) {
+        if (counters.length != COUNTERS.length || phaseNanos.length != PHASES.length) {
+            throw new IllegalArgumentException("Expected " + COUNTERS.length + " counters and "
+                    + PHASES.length + " phases");
+        }
+        this.name = name;
+        this.counters = counters.clone();
+        this.phaseNanos = phaseNanos.clone();
+        this.phaseRecorded = new boolean[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseRecorded[i] = phaseNanos[i] > 0;
+        }
+        this.runEvent = null;
+    }
+
+    public void increment(Counter counter) {
+        counters[counter.ordinal()]++;
+    }
+
+    public void add(Counter counter, long amount) {
+        counters[counter.ordinal()] += amount;
+    }
+
+    // Ends the current phase, if any, and starts timing the given one
+    public void beginPhase(Phase phase) {
+        endPhase();
+        currentPhase = phase;
+        phaseEvent = new PhaseEvent();
+        phaseEvent.begin();
+        phaseStart = System.nanoTime();
+    }
+
+    public void endPhase() {
+        if (currentPhase == null) {
+            return;
+        }
+        addPhaseTime(currentPhase, System.nanoTime() - phaseStart);
+        phaseEvent.end();
+        if (phaseEvent.shouldCommit()) {
+            phaseEvent.run = name;
+            phaseEvent.phase = currentPhase.getKey();
+            phaseEvent.commit();
+        }
+        currentPhase = null;
+        phaseEvent = null;
+    }
+
+    public void addPhaseTime(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+        phaseRecorded[phase.ordinal()] = true;
+    }
+
+    // Closes the open phase and commits the run event
+    public void complete(int vertexCount, int edgeCount) {
+        endPhase();
+        if (runEvent == null) {
+            return;
+        }
+        runEvent.end();
+        if (runEvent.shouldCommit()) {
+            runEvent.run = name;
+            runEvent.vertices = vertexCount;
+            runEvent.edges = edgeCount;
+            runEvent.heapPushes = get(Counter.HEAP_PUSHES);
+            runEvent.heapPolls = get(Counter.HEAP_POLLS);
+            runEvent.finds = get(Counter.FINDS);
+            runEvent.unions = get(Counter.UNIONS);
+            runEvent.pathCompressionSteps = get(Counter.PATH_COMPRESSION_STEPS);
+            runEvent.edgesScanned = get(Counter.EDGES_SCANNED);
+            runEvent.edgesRejected = get(Counter.EDGES_REJECTED);
+            runEvent.commit();
+        }
+    }
+
+    public String getName() { return name; }
+    public long get(Counter counter) { return counters[counter.ordinal()]; }
+    public long getPhaseTimeNs(Phase phase) { return phaseNanos[phase.ordinal()]; }
+    public double getPhaseTimeMs(Phase phase) { return phaseNanos[phase.ordinal()] / 1_000_000.0; }
+    public boolean hasPhase(Phase phase) { return phaseRecorded[phase.ordinal()]; }
+
+    public long getTotalOperations() {
+        long total = 0;
+        for (long count : counters) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long[] getCounters() { return counters.clone(); }
+    public long[] getPhaseTimesNs() { return phaseNanos.clone(); }
+
+    @Name("mst.Phase")
+    @Label("MST Phase")
+    @Category("MST")
+    static final class PhaseEvent extends Event {
+        @Label("Run")
+        String run;
+
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("mst.Run")
+    @Label("MST Run")
+    @Category("MST")
+    static final class RunEvent extends Event {
+        @Label("Run")
+        String run;
+
+        @Label("Vertices")
+        int vertices;
+
+        @Label("Edges")
+        int edges;
+
+        @Label("Heap Pushes")
+        long heapPushes;
+
+        @Label("Heap Polls")
+        long heapPolls;
+
+        @Label("Finds")
+        long finds;
+
+        @Label("Unions")
+        long unions;
+
+        @Label("Path Compression Steps")
+        long pathCompressionSteps;
+
+        @Label("Edges Scanned")
+        long edgesScanned;
+
+        @Label("Edges Rejected")
+        long edgesRejected;
+    }
+}
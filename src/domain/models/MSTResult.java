@@ -5,24 +5,62 @@ import java.util.List;
 public class MSTResult {
     private final List<Edge> mstEdges;
     private final int totalCost;
-    private final int operationsCount;
+    private final long operationsCount;
     private final long executionTimeNs;
+    // Null for algorithms that only report a single operation count
+    private final MSTMetrics metrics;
+    // Per-tree breakdown, only for results produced by a spanning-forest solver
+    private final List<SpanningComponent> components;
+    // Only in timing mode; executionTimeNs is then the median of the measured runs
+    private final TimingDistribution timing;
+    // Served by the result cache: executionTimeNs is the time of the run that filled the entry, not of this analysis
+    private final boolean cached;
 
-    public MSTResult(List<Edge> mstEdges, int totalCost, int operationsCount, long executionTimeNs) {
+    private MSTResult(List<Edge> mstEdges, int totalCost, long operationsCount, long executionTimeNs,
+                      MSTMetrics metrics, List<SpanningComponent> components, TimingDistribution timing,
+                      boolean cached) {
         this.mstEdges = mstEdges;
         this.totalCost = totalCost;
         this.operationsCount = operationsCount;
         this.executionTimeNs = executionTimeNs;
+        this.metrics = metrics;
+        this.components = components;
+        this.timing = timing;
+        this.cached = cached;
+    }
+
+    public MSTResult(List<Edge> mstEdges, int totalCost, long operationsCount, long executionTimeNs) {
+        this(mstEdges, totalCost, operationsCount, executionTimeNs, null, null, null, false);
+    }
+
+    public MSTResult(List<Edge> mstEdges, int totalCost, MSTMetrics metrics, long executionTimeNs) {
+        this(mstEdges, totalCost, metrics.getTotalOperations(), executionTimeNs, metrics, null, null, false);
+    }
+
+    public MSTResult withComponents(List<SpanningComponent> components) {
+        return new MSTResult(mstEdges, totalCost, operationsCount, executionTimeNs, metrics, components, timing, cached);
+    }
+
+    public MSTResult withTiming(TimingDistribution timing) {
+        return new MSTResult(mstEdges, totalCost, operationsCount, timing.getMedianNs(), metrics, components, timing, cached);
+    }
+
+    public MSTResult asCached() {
+        return new MSTResult(mstEdges, totalCost, operationsCount, executionTimeNs, metrics, components, timing, true);
     }
 
     // Getters
     public List<Edge> getMstEdges() { return mstEdges; }
     public int getTotalCost() { return totalCost; }
-    public int getOperationsCount() { return operationsCount; }
+    public long getOperationsCount() { return operationsCount; }
     public long getExecutionTimeNs() { return executionTimeNs; }
     public double getExecutionTimeMs() { return executionTimeNs / 1_000_000.0; }
+    public MSTMetrics getMetrics() { return metrics; }
+    public List<SpanningComponent> getComponents() { return components; }
+    public TimingDistribution getTiming() { return timing; }
+    public boolean isCached() { return cached; }
 
     public String getFormattedExecutionTime() {
         return String.format("%.3f", getExecutionTimeMs());
     }
-}
\ No newline at end of file
+}
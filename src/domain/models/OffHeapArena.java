@@ -0,0 +1,149 @@
+package domain.models;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Owns off-heap buffers and frees them all, deterministically, on close().
+// Arrays allocated here must not be used after close(); they are invalidated so a stale access fails
+// with an exception instead of touching freed memory. Not thread-safe: close only when no reader is active.
+public final class OffHeapArena implements AutoCloseable {
+    public enum Backing {
+        // ByteBuffer.allocateDirect; bounded by -XX:MaxDirectMemorySize (defaults to the heap limit)
+        DIRECT,
+        // Mapped, already-deleted temporary files; bounded only by address space and disk, paged by the OS
+        MAPPED
+    }
+
+    static final int CHUNK_BYTES = 1 << 30;
+
+    private static final Cleaner CLEANER = Cleaner.load();
+
+    private final Backing backing;
+    private final Path tempDirectory;
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private final List<OffHeapIntArray> intArrays = new ArrayList<>();
+    private final List<OffHeapLongArray> longArrays = new ArrayList<>();
+    private long allocatedBytes;
+    private boolean closed;
+
+    public OffHeapArena(Backing backing, Path tempDirectory) {
+        this.backing = backing;
+        this.tempDirectory = tempDirectory;
+    }
+
+    public OffHeapArena(Backing backing) {
+        this(backing, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    public OffHeapIntArray allocateInts(long length) {
+        OffHeapIntArray array = new OffHeapIntArray(allocateChunks(length * Integer.BYTES), length);
+        intArrays.add(array);
+        return array;
+    }
+
+    public OffHeapLongArray allocateLongs(long length) {
+        OffHeapLongArray array = new OffHeapLongArray(allocateChunks(length * Long.BYTES), length);
+        longArrays.add(array);
+        return array;
+    }
+
+    public Backing getBacking() { return backing; }
+    public Path getTempDirectory() { return tempDirectory; }
+    public long getAllocatedBytes() { return allocatedBytes; }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        intArrays.forEach(OffHeapIntArray::invalidate);
+        longArrays.forEach(OffHeapLongArray::invalidate);
+        for (ByteBuffer buffer : buffers) {
+            CLEANER.free(buffer);
+        }
+        buffers.clear();
+        allocatedBytes = 0;
+    }
+
+    private ByteBuffer[] allocateChunks(long bytes) {
+        if (closed) {
+            throw new IllegalStateException("Arena is closed");
+        }
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Negative allocation size: " + bytes);
+        }
+        int chunkCount = (int) Math.max(1, (bytes + CHUNK_BYTES - 1) / CHUNK_BYTES);
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            int size = (int) Math.min(CHUNK_BYTES, bytes - (long) i * CHUNK_BYTES);
+            chunks[i] = allocateChunk(Math.max(0, size)).order(ByteOrder.nativeOrder());
+            buffers.add(chunks[i]);
+            allocatedBytes += chunks[i].capacity();
+        }
+        return chunks;
+    }
+
+    private ByteBuffer allocateChunk(int size) {
+        if (backing == Backing.DIRECT || size == 0) {
+            return ByteBuffer.allocateDirect(size);
+        }
+        try {
+            Path file = Files.createTempFile(tempDirectory, "offheap-", ".bin");
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(size);
+                // The mapping outlives the channel and the directory entry
+                return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } finally {
+                if (!file.toFile().delete()) {
+                    file.toFile().deleteOnExit(); // Platforms that refuse to delete mapped files
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map off-heap chunk in " + tempDirectory, e);
+        }
+    }
+
+    // Frees a direct or mapped buffer now rather than at some later GC, via Unsafe.invokeCleaner when present
+    private static final class Cleaner {
+        private final Object unsafe;
+        private final Method invokeCleaner;
+
+        private Cleaner(Object unsafe, Method invokeCleaner) {
+            this.unsafe = unsafe;
+            this.invokeCleaner = invokeCleaner;
+        }
+
+        static Cleaner load() {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                return new Cleaner(field.get(null), unsafeClass.getMethod("invokeCleaner", ByteBuffer.class));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return new Cleaner(null, null); // Buffers are then released when collected
+            }
+        }
+
+        void free(ByteBuffer buffer) {
+            if (invokeCleaner == null) {
+                return;
+            }
+            try {
+                invokeCleaner.invoke(unsafe, buffer);
+            } catch (ReflectiveOperationException e) {
+                // Leave it to the garbage collector
+            }
+        }
+    }
+}
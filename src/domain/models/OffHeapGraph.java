@@ -0,0 +1,138 @@
+package domain.models;
+
+// Edge list and CSR adjacency kept entirely off-heap; only vertex ids stay on the heap.
+// Undirected; edges are appended with addEdge and the adjacency is built once with buildAdjacency().
+public final class OffHeapGraph implements AutoCloseable {
+    private final OffHeapArena arena;
+    private final String[] vertexIds;
+    private final int edgeCapacity;
+    private int edgeCount;
+
+    private final OffHeapIntArray sources;
+    private final OffHeapIntArray destinations;
+    private final OffHeapIntArray weights;
+
+    // CSR adjacency: slots offsets[v]..offsets[v + 1] hold neighbours of v and the edge they use
+    private OffHeapLongArray offsets;
+    private OffHeapIntArray targets;
+    private OffHeapIntArray edgeIndices;
+
+    public OffHeapGraph(String[] vertexIds, int edgeCapacity, OffHeapArena arena) {
+        if (edgeCapacity < 0) {
+            throw new IllegalArgumentException("Negative edge capacity: " + edgeCapacity);
+        }
+        this.arena = arena;
+        this.vertexIds = vertexIds;
+        this.edgeCapacity = edgeCapacity;
+        this.sources = arena.allocateInts(edgeCapacity);
+        this.destinations = arena.allocateInts(edgeCapacity);
+        this.weights = arena.allocateInts(edgeCapacity);
+    }
+
+    public OffHeapGraph(String[] vertexIds, int edgeCapacity, OffHeapArena.Backing backing) {
+        this(vertexIds, edgeCapacity, new OffHeapArena(backing));
+    }
+
+    public static OffHeapGraph from(CompactGraph graph, OffHeapArena.Backing backing) {
+        String[] ids = new String[graph.getVertexCount()];
+        for (int v = 0; v < ids.length; v++) {
+            ids[v] = graph.getVertexId(v);
+        }
+        OffHeapGraph offHeap = new OffHeapGraph(ids, graph.getEdgeCount(), backing);
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            offHeap.addEdge(graph.getSource(e), graph.getDestination(e), graph.getWeight(e));
+        }
+        offHeap.buildAdjacency();
+        return offHeap;
+    }
+
+    public int addEdge(int from, int to, int weight) {
+        if (offsets != null) {
+            throw new IllegalStateException("Adjacency already built");
+        }
+        if (edgeCount == edgeCapacity) {
+            throw new IllegalStateException("Edge capacity " + edgeCapacity + " exhausted");
+        }
+        if (from < 0 || from >= vertexIds.length || to < 0 || to >= vertexIds.length) {
+            throw new IllegalArgumentException("Edge " + edgeCount + " references a missing vertex");
+        }
+        sources.set(edgeCount, from);
+        destinations.set(edgeCount, to);
+        weights.set(edgeCount, weight);
+        return edgeCount++;
+    }
+
+    // Two counting passes over the edge list; needs 8 * V + 16 * E bytes off-heap
+    public void buildAdjacency() {
+        if (offsets != null) {
+            return;
+        }
+        int vertexCount = vertexIds.length;
+        offsets = arena.allocateLongs(vertexCount + 1L);
+        targets = arena.allocateInts(2L * edgeCount);
+        edgeIndices = arena.allocateInts(2L * edgeCount);
+
+        for (int e = 0; e < edgeCount; e++) {
+            offsets.set(sources.get(e) + 1L, offsets.get(sources.get(e) + 1L) + 1);
+            offsets.set(destinations.get(e) + 1L, offsets.get(destinations.get(e) + 1L) + 1);
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets.set(v + 1L, offsets.get(v + 1L) + offsets.get(v));
+        }
+
+        // offsets[v] doubles as the insertion cursor and is shifted back afterwards
+        for (int e = 0; e < edgeCount; e++) {
+            int u = sources.get(e);
+            int v = destinations.get(e);
+            long slot = offsets.get(u);
+            targets.set(slot, v);
+            edgeIndices.set(slot, e);
+            offsets.set(u, slot + 1);
+            slot = offsets.get(v);
+            targets.set(slot, u);
+            edgeIndices.set(slot, e);
+            offsets.set(v, slot + 1);
+        }
+        for (int v = vertexCount; v > 0; v--) {
+            offsets.set(v, offsets.get(v - 1));
+        }
+        offsets.set(0, 0);
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    // Getters
+    public int getVertexCount() { return vertexIds.length; }
+    public int getEdgeCount() { return edgeCount; }
+    public String getVertexId(int vertex) { return vertexIds[vertex]; }
+    public OffHeapArena getArena() { return arena; }
+    public boolean hasAdjacency() { return offsets != null; }
+
+    public int getSource(int edge) { return sources.get(edge); }
+    public int getDestination(int edge) { return destinations.get(edge); }
+    public int getWeight(int edge) { return weights.get(edge); }
+
+    public long getAdjacencyStart(int vertex) { return offsets.get(vertex); }
+    public long getAdjacencyEnd(int vertex) { return offsets.get(vertex + 1L); }
+    public int getAdjacentVertex(long slot) { return targets.get(slot); }
+    public int getAdjacentEdge(long slot) { return edgeIndices.get(slot); }
+
+    public Edge toEdge(int edge) {
+        return new Edge(new Vertex(vertexIds[sources.get(edge)]), new Vertex(vertexIds[destinations.get(edge)]),
+                weights.get(edge));
+    }
+
+    public Edge toEdge(int edge, int from) {
+        int to = sources.get(edge) == from ? destinations.get(edge) : sources.get(edge);
+        return new Edge(new Vertex(vertexIds[from]), new Vertex(vertexIds[to]), weights.get(edge));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffHeapGraph{vertices=%d, edges=%d, offHeapBytes=%d}",
+                vertexIds.length, edgeCount, arena.getAllocatedBytes());
+    }
+}
@@ -0,0 +1,36 @@
+package domain.models;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+// long-indexed int array spread over 1 GiB off-heap chunks; allocated and freed by an OffHeapArena
+public final class OffHeapIntArray {
+    private static final int SHIFT = 28; // 2^28 ints per 1 GiB chunk
+    private static final int MASK = (1 << SHIFT) - 1;
+
+    private IntBuffer[] chunks;
+    private final long length;
+
+    OffHeapIntArray(ByteBuffer[] buffers, long length) {
+        this.chunks = new IntBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            chunks[i] = buffers[i].asIntBuffer();
+        }
+        this.length = length;
+    }
+
+    public int get(long index) {
+        return chunks[(int) (index >>> SHIFT)].get((int) (index & MASK));
+    }
+
+    public void set(long index, int value) {
+        chunks[(int) (index >>> SHIFT)].put((int) (index & MASK), value);
+    }
+
+    public long length() { return length; }
+
+    // After the arena frees the memory, any access throws instead of reading freed memory
+    void invalidate() {
+        chunks = null;
+    }
+}
@@ -0,0 +1,36 @@
+package domain.models;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+// long-indexed long array spread over 1 GiB off-heap chunks; allocated and freed by an OffHeapArena
+public final class OffHeapLongArray {
+    private static final int SHIFT = 27; // 2^27 longs per 1 GiB chunk
+    private static final int MASK = (1 << SHIFT) - 1;
+
+    private LongBuffer[] chunks;
+    private final long length;
+
+    OffHeapLongArray(ByteBuffer[] buffers, long length) {
+        this.chunks = new LongBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            chunks[i] = buffers[i].asLongBuffer();
+        }
+        this.length = length;
+    }
+
+    public long get(long index) {
+        return chunks[(int) (index >>> SHIFT)].get((int) (index & MASK));
+    }
+
+    public void set(long index, long value) {
+        chunks[(int) (index >>> SHIFT)].put((int) (index & MASK), value);
+    }
+
+    public long length() { return length; }
+
+    // After the arena frees the memory, any access throws instead of reading freed memory
+    void invalidate() {
+        chunks = null;
+    }
+}
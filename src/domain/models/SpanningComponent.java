@@ -0,0 +1,19 @@
+package domain.models;
+
+// One tree of a minimum spanning forest
+public class SpanningComponent {
+    private final int vertexCount;
+    private final int treeEdgeCount;
+    private final long totalCost;
+
+    public SpanningComponent(int vertexCount, int treeEdgeCount, long totalCost) {
+        this.vertexCount = vertexCount;
+        this.treeEdgeCount = treeEdgeCount;
+        this.totalCost = totalCost;
+    }
+
+    // Getters
+    public int getVertexCount() { return vertexCount; }
+    public int getTreeEdgeCount() { return treeEdgeCount; }
+    public long getTotalCost() { return totalCost; }
+}
@@ -0,0 +1,52 @@
+package domain.models;
+
+import java.util.Arrays;
+
+// Wall time and allocation of repeated measured runs of one algorithm on one graph, after warm-up.
+// Percentiles use the nearest-rank method over the sorted samples; allocations are -1 when the JVM cannot report them.
+public class TimingDistribution {
+    private final int warmupIterations;
+    private final long[] sortedTimesNs;
+    private final long[] sortedAllocatedBytes;
+
+    public TimingDistribution(int warmupIterations, long[] timesNs, long[] allocatedBytes) {
+        if (timesNs.length == 0) {
+            throw new IllegalArgumentException("At least one measured run is required");
+        }
+        if (allocatedBytes.length != timesNs.length) {
+            throw new IllegalArgumentException("Expected " + timesNs.length + " allocation samples, got " + allocatedBytes.length);
+        }
+        this.warmupIterations = warmupIterations;
+        this.sortedTimesNs = timesNs.clone();
+        this.sortedAllocatedBytes = allocatedBytes.clone();
+        Arrays.sort(sortedTimesNs);
+        Arrays.sort(sortedAllocatedBytes);
+    }
+
+    public int getWarmupIterations() { return warmupIterations; }
+    public int getRuns() { return sortedTimesNs.length; }
+
+    public long getMinNs() { return sortedTimesNs[0]; }
+    public long getMedianNs() { return percentile(sortedTimesNs, 50); }
+    public long getP95Ns() { return percentile(sortedTimesNs, 95); }
+    public long getP99Ns() { return percentile(sortedTimesNs, 99); }
+    public long getMaxNs() { return sortedTimesNs[sortedTimesNs.length - 1]; }
+
+    public double getMeanNs() {
+        double sum = 0;
+        for (long time : sortedTimesNs) {
+            sum += time;
+        }
+        return sum / sortedTimesNs.length;
+    }
+
+    public boolean hasAllocations() { return sortedAllocatedBytes[0] >= 0; }
+    public long getMinAllocatedBytes() { return sortedAllocatedBytes[0]; }
+    public long getMedianAllocatedBytes() { return percentile(sortedAllocatedBytes, 50); }
+    public long getMaxAllocatedBytes() { return sortedAllocatedBytes[sortedAllocatedBytes.length - 1]; }
+
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,200 @@
+package domain.services;
+
+import domain.models.CompactGraph;
+import domain.models.MSTResult;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+// Picks the MST algorithm with the lowest predicted running time for a graph's shape.
+// Each candidate is modelled as overhead + nsPerUnit * workUnits(stats); the coefficients come from
+// calibrate() runs over generated graphs and can be refitted on the target machine.
+// The parallel candidates share one pool, created on first use and shut down by close().
+public class AlgorithmSelector implements AutoCloseable {
+    public enum Candidate {
+        EAGER_PRIM_BINARY("eager-prim-binary"),
+        EAGER_PRIM_RADIX("eager-prim-radix"),
+        KRUSKAL_RADIX("kruskal-radix"),
+        FILTER_KRUSKAL("filter-kruskal"),
+        BORUVKA("boruvka");
+
+        private final String key;
+
+        Candidate(String key) {
+            this.key = key;
+        }
+
+        // Stable identifier, safe for file names and cache keys
+        public String getKey() { return key; }
+
+        // Prim only spans the component of its start vertex, and the radix heap needs non-negative keys
+        public boolean supports(GraphStatistics stats) {
+            switch (this) {
+                case EAGER_PRIM_BINARY: return stats.isConnected();
+                case EAGER_PRIM_RADIX: return stats.isConnected() && stats.getMinWeight() >= 0;
+                default: return true;
+            }
+        }
+
+        double workUnits(GraphStatistics stats, int parallelism) {
+            double v = stats.getVertexCount();
+            double e = stats.getEdgeCount();
+            double logV = Math.log(v + 1) / Math.log(2);
+            switch (this) {
+                case EAGER_PRIM_BINARY: return e + v * logV;
+                case EAGER_PRIM_RADIX: return e + v * (stats.getWeightRangeBits() + 1);
+                case KRUSKAL_RADIX: return e + v;
+                case FILTER_KRUSKAL: return e / parallelism + v;
+                case BORUVKA: return e * logV / parallelism;
+                default: throw new IllegalStateException("Unknown candidate: " + this);
+            }
+        }
+    }
+
+    private static final Candidate[] CANDIDATES = Candidate.values();
+
+    // Fitted with calibrate(1, ..., 10) over random, grid and complete GraphGenerator graphs (1.7k-200k edges)
+    // on a single core; slopes are rounded and the noisy intercepts are kept small. They assume linear speedup for
+    // the parallel candidates, so multi-core hosts should run Main --calibrate, which fits and saves their own.
+    private static final double[] DEFAULT_NS_PER_UNIT = {20.0, 20.0, 45.0, 90.0, 16.0};
+    private static final double[] DEFAULT_OVERHEAD_NS = {20_000, 20_000, 10_000, 150_000, 300_000};
+
+    private final int parallelism;
+    private final double[] nsPerUnit;
+    private final double[] overheadNs;
+    private final Map<Candidate, MSTAlgorithm> algorithms = new EnumMap<>(Candidate.class);
+    private ForkJoinPool pool;
+
+    public AlgorithmSelector(int parallelism, double[] nsPerUnit, double[] overheadNs) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, got " + parallelism);
+        }
+        if (nsPerUnit.length != CANDIDATES.length || overheadNs.length != CANDIDATES.length) {
+            throw new IllegalArgumentException("Expected one coefficient per candidate (" + CANDIDATES.length + ")");
+        }
+        this.parallelism = parallelism;
+        this.nsPerUnit = nsPerUnit.clone();
+        this.overheadNs = overheadNs.clone();
+    }
+
+    public AlgorithmSelector(int parallelism) {
+        this(parallelism, DEFAULT_NS_PER_UNIT, DEFAULT_OVERHEAD_NS);
+    }
+
+    public AlgorithmSelector() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public Candidate select(GraphStatistics stats) {
+        Candidate best = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (Candidate candidate : CANDIDATES) {
+            if (!candidate.supports(stats)) continue;
+            double cost = predictNs(candidate, stats);
+            if (cost < bestCost) {
+                best = candidate;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    public double predictNs(Candidate candidate, GraphStatistics stats) {
+        int i = candidate.ordinal();
+        return overheadNs[i] + nsPerUnit[i] * candidate.workUnits(stats, parallelism);
+    }
+
+    public MSTResult run(Candidate candidate, CompactGraph graph) {
+        MSTAlgorithm algorithm = algorithmFor(candidate);
+        switch (candidate) {
+            case EAGER_PRIM_BINARY:
+            case EAGER_PRIM_RADIX:
+                return ((EagerPrimAlgorithm) algorithm).findMST(graph);
+            case KRUSKAL_RADIX:
+                return ((KruskalAlgorithm) algorithm).findMST(graph);
+            case FILTER_KRUSKAL:
+                return ((FilterKruskalAlgorithm) algorithm).findMST(graph);
+            case BORUVKA:
+                return ((BoruvkaAlgorithm) algorithm).findMST(graph);
+            default:
+                throw new IllegalStateException("Unknown candidate: " + candidate);
+        }
+    }
+
+    public String getAlgorithmName(Candidate candidate) {
+        return algorithmFor(candidate).getAlgorithmName();
+    }
+
+    public int getParallelism() { return parallelism; }
+    public double[] getNsPerUnit() { return nsPerUnit.clone(); }
+    public double[] getOverheadNs() { return overheadNs.clone(); }
+
+    // Times every supported candidate on the samples and fits overhead + slope per candidate by least squares
+    public static AlgorithmSelector calibrate(int parallelism, List<CompactGraph> samples, int repetitions) {
+        double[] slopes = DEFAULT_NS_PER_UNIT.clone();
+        double[] intercepts = DEFAULT_OVERHEAD_NS.clone();
+
+        try (AlgorithmSelector probe = new AlgorithmSelector(parallelism)) {
+            for (Candidate candidate : CANDIDATES) {
+                List<double[]> points = new ArrayList<>();
+                for (CompactGraph graph : samples) {
+                    GraphStatistics stats = GraphStatistics.of(graph);
+                    if (!candidate.supports(stats)) continue;
+                    for (int r = 0; r < repetitions; r++) {
+                        probe.run(candidate, graph); // Warm-up, so JIT compilation does not land in the intercept
+                    }
+                    long best = Long.MAX_VALUE;
+                    for (int r = 0; r < repetitions; r++) {
+                        long start = System.nanoTime();
+                        probe.run(candidate, graph);
+                        best = Math.min(best, System.nanoTime() - start);
+                    }
+                    points.add(new double[] {candidate.workUnits(stats, parallelism), best});
+                }
+                if (points.size() < 2) continue;
+
+                double meanX = 0, meanY = 0;
+                for (double[] p : points) { meanX += p[0]; meanY += p[1]; }
+                meanX /= points.size();
+                meanY /= points.size();
+                double sxy = 0, sxx = 0;
+                for (double[] p : points) {
+                    sxy += (p[0] - meanX) * (p[1] - meanY);
+                    sxx += (p[0] - meanX) * (p[0] - meanX);
+                }
+                if (sxx == 0) continue;
+                double slope = Math.max(sxy / sxx, 1e-3);
+                slopes[candidate.ordinal()] = slope;
+                intercepts[candidate.ordinal()] = Math.max(0, meanY - slope * meanX);
+            }
+        }
+        return new AlgorithmSelector(parallelism, slopes, intercepts);
+    }
+
+    private synchronized MSTAlgorithm algorithmFor(Candidate candidate) {
+        return algorithms.computeIfAbsent(candidate, c -> {
+            switch (c) {
+                case EAGER_PRIM_BINARY: return new EagerPrimAlgorithm(HeapType.BINARY);
+                case EAGER_PRIM_RADIX: return new EagerPrimAlgorithm(HeapType.RADIX);
+                case KRUSKAL_RADIX: return new KruskalAlgorithm(KruskalAlgorithm.SortMode.RADIX);
+                case FILTER_KRUSKAL: return new FilterKruskalAlgorithm(pool());
+                case BORUVKA: return new BoruvkaAlgorithm(pool());
+                default: throw new IllegalStateException("Unknown candidate: " + c);
+            }
+        });
+    }
+
+    private ForkJoinPool pool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
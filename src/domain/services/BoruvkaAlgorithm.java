@@ -0,0 +1,132 @@
+package domain.services;
+
+import domain.models.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs on a caller-supplied pool, or on a private one that close() shuts down
+public class BoruvkaAlgorithm implements MSTAlgorithm, AutoCloseable {
+    private static final long NO_EDGE = Long.MAX_VALUE;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+
+    public BoruvkaAlgorithm(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.ownsPool = false;
+    }
+
+    public BoruvkaAlgorithm(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, got " + parallelism);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.ownsPool = true;
+    }
+
+    public BoruvkaAlgorithm() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(CompactGraph.from(graph));
+    }
+
+    public MSTResult findMST(CompactGraph graph) {
+        long startTime = System.nanoTime();
+
+        int vertexCount = graph.getVertexCount();
+        if (vertexCount == 0) {
+            return new MSTResult(Collections.emptyList(), 0, 0, 0);
+        }
+
+        LongAdder operations = new LongAdder();
+        ConcurrentDisjointSet components = new ConcurrentDisjointSet(vertexCount);
+        AtomicLongArray cheapest = new AtomicLongArray(vertexCount);
+        int[] treeEdges = new int[vertexCount - 1];
+        AtomicInteger treeSize = new AtomicInteger();
+
+        int[] active = new int[graph.getEdgeCount()];
+        for (int e = 0; e < active.length; e++) {
+            active[e] = e;
+        }
+        active = ParallelLoops.filter(pool, active, active.length,
+                e -> graph.getSource(e) != graph.getDestination(e));
+
+        while (active.length > 0) {
+            int[] edges = active;
+            ParallelLoops.forRange(pool, 0, vertexCount, v -> cheapest.set(v, NO_EDGE));
+
+            // Every component picks its lightest outgoing edge; (weight, index) keys make ties consistent
+            ParallelLoops.forRange(pool, 0, edges.length, i -> {
+                int edge = edges[i];
+                int fromRoot = components.find(graph.getSource(edge));
+                int toRoot = components.find(graph.getDestination(edge));
+                if (fromRoot != toRoot) {
+                    long key = EdgeKeys.pack(graph.getWeight(edge), edge);
+                    updateMinimum(cheapest, fromRoot, key);
+                    updateMinimum(cheapest, toRoot, key);
+                }
+            });
+            operations.add(edges.length);
+
+            // Contract along the chosen edges; an edge picked by both of its components unions only once
+            ParallelLoops.forRange(pool, 0, vertexCount, v -> {
+                long key = cheapest.get(v);
+                if (key != NO_EDGE) {
+                    int edge = EdgeKeys.index(key);
+                    if (components.union(graph.getSource(edge), graph.getDestination(edge))) {
+                        treeEdges[treeSize.getAndIncrement()] = edge;
+                        operations.increment();
+                    }
+                }
+            });
+
+            active = ParallelLoops.filter(pool, edges, edges.length,
+                    e -> components.find(graph.getSource(e)) != components.find(graph.getDestination(e)));
+            operations.increment();
+        }
+
+        List<Edge> mstEdges = new ArrayList<>(treeSize.get());
+        int totalCost = 0;
+        for (int i = 0; i < treeSize.get(); i++) {
+            mstEdges.add(graph.toEdge(treeEdges[i]));
+            totalCost += graph.getWeight(treeEdges[i]);
+        }
+
+        long endTime = System.nanoTime();
+        return new MSTResult(mstEdges, totalCost, operations.sum(), endTime - startTime);
+    }
+
+    private static void updateMinimum(AtomicLongArray cheapest, int component, long key) {
+        long current = cheapest.get(component);
+        while (key < current && !cheapest.compareAndSet(component, current, key)) {
+            current = cheapest.get(component);
+        }
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Boruvka's Algorithm (parallelism " + pool.getParallelism() + ")";
+    }
+
+    @Override
+    public String getAlgorithmComplexity() {
+        return "O(E log V) work, O(log V) rounds";
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+}
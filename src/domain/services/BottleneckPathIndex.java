@@ -0,0 +1,313 @@
+package domain.services;
+
+import domain.models.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+// Heaviest-edge (bottleneck) queries on the tree paths of a spanning forest, by binary lifting:
+// O(V log V) preprocessing, then O(log V) per query. Immutable once built, so queries may run concurrently.
+public class BottleneckPathIndex {
+    private static final int BATCH_GRAIN = 1024;
+
+    private final Map<String, Integer> indexById;
+    private final Vertex[] vertices;
+    private final Edge[] treeEdges;
+    private final int[] treeWeights;
+    private final long totalCost;
+
+    private final int[] depth;
+    private final int[] component;
+    // ancestor[k][v]: the 2^k-th ancestor of v (roots point to themselves);
+    // maxEdge[k][v]: index of the heaviest tree edge on that climb, -1 for none
+    private final int[][] ancestor;
+    private final int[][] maxEdge;
+
+    public BottleneckPathIndex(MSTResult mst) {
+        this(Collections.emptyList(), mst);
+    }
+
+    // Also registers the graph's vertices that no tree edge touches, as single-vertex trees
+    public BottleneckPathIndex(Graph graph, MSTResult mst) {
+        this(graph.getVertices(), mst);
+    }
+
+    private BottleneckPathIndex(Collection<Vertex> extraVertices, MSTResult mst) {
+        List<Edge> edges = mst.getMstEdges();
+        this.indexById = new HashMap<>();
+        List<Vertex> vertexList = new ArrayList<>();
+        for (Edge edge : edges) {
+            register(edge.getFrom(), vertexList);
+            register(edge.getTo(), vertexList);
+        }
+        for (Vertex vertex : extraVertices) {
+            register(vertex, vertexList);
+        }
+        this.vertices = vertexList.toArray(new Vertex[0]);
+        this.treeEdges = edges.toArray(new Edge[0]);
+        this.treeWeights = new int[treeEdges.length];
+        long cost = 0;
+        for (int e = 0; e < treeEdges.length; e++) {
+            treeWeights[e] = treeEdges[e].getWeight();
+            cost += treeWeights[e];
+        }
+        this.totalCost = cost;
+
+        int vertexCount = vertices.length;
+        int levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(vertexCount));
+        this.depth = new int[vertexCount];
+        this.component = new int[vertexCount];
+        this.ancestor = new int[levels][vertexCount];
+        this.maxEdge = new int[levels][vertexCount];
+        buildParents();
+
+        for (int k = 1; k < levels; k++) {
+            int[] previous = ancestor[k - 1];
+            int[] previousMax = maxEdge[k - 1];
+            int[] current = ancestor[k];
+            int[] currentMax = maxEdge[k];
+            for (int v = 0; v < vertexCount; v++) {
+                int middle = previous[v];
+                current[v] = previous[middle];
+                currentMax[v] = heavier(previousMax[v], previousMax[middle]);
+            }
+        }
+    }
+
+    // Parent pointers by BFS from the first vertex of every tree; the input must be a forest
+    private void buildParents() {
+        int vertexCount = vertices.length;
+        int[] offsets = new int[vertexCount + 1];
+        int[] ends1 = new int[treeEdges.length];
+        int[] ends2 = new int[treeEdges.length];
+        for (int e = 0; e < treeEdges.length; e++) {
+            ends1[e] = indexById.get(treeEdges[e].getFrom().getId());
+            ends2[e] = indexById.get(treeEdges[e].getTo().getId());
+            offsets[ends1[e] + 1]++;
+            offsets[ends2[e] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] adjacentEdges = new int[offsets[vertexCount]];
+        int[] cursor = Arrays.copyOf(offsets, vertexCount);
+        for (int e = 0; e < treeEdges.length; e++) {
+            adjacentEdges[cursor[ends1[e]]++] = e;
+            adjacentEdges[cursor[ends2[e]]++] = e;
+        }
+
+        int[] parent = ancestor[0];
+        int[] parentEdge = maxEdge[0];
+        boolean[] visited = new boolean[vertexCount];
+        int[] queue = new int[vertexCount];
+        for (int root = 0; root < vertexCount; root++) {
+            if (visited[root]) continue;
+            visited[root] = true;
+            parent[root] = root;
+            parentEdge[root] = -1;
+            component[root] = root;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int slot = offsets[v]; slot < offsets[v + 1]; slot++) {
+                    int e = adjacentEdges[slot];
+                    int w = ends1[e] == v ? ends2[e] : ends1[e];
+                    if (e == parentEdge[v]) continue;
+                    if (visited[w]) {
+                        throw new IllegalArgumentException("MST edges contain a cycle through " + vertices[w].getId());
+                    }
+                    visited[w] = true;
+                    parent[w] = v;
+                    parentEdge[w] = e;
+                    depth[w] = depth[v] + 1;
+                    component[w] = root;
+                    queue[tail++] = w;
+                }
+            }
+        }
+    }
+
+    public int indexOf(String id) {
+        Integer index = indexById.get(id);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown vertex: " + id);
+        }
+        return index;
+    }
+
+    public boolean connected(String from, String to) {
+        return component[indexOf(from)] == component[indexOf(to)];
+    }
+
+    // Heaviest edge on the tree path between the two vertices; null when they are the same vertex
+    // or lie in different trees, so there is no path
+    public Edge bottleneckEdge(String from, String to) {
+        int edge = bottleneckEdgeIndex(indexOf(from), indexOf(to));
+        return edge < 0 ? null : treeEdges[edge];
+    }
+
+    public Edge[] bottleneckEdges(String[] from, String[] to) {
+        requireSameLength(from, to);
+        Edge[] results = new Edge[from.length];
+        for (int i = 0; i < from.length; i++) {
+            results[i] = bottleneckEdge(from[i], to[i]);
+        }
+        return results;
+    }
+
+    // Batch variant spread over a fork/join pool; results line up with the query arrays
+    public Edge[] bottleneckEdges(String[] from, String[] to, ForkJoinPool pool) {
+        requireSameLength(from, to);
+        Edge[] results = new Edge[from.length];
+        ParallelLoops.forRange(pool, 0, from.length, BATCH_GRAIN, i -> results[i] = bottleneckEdge(from[i], to[i]));
+        return results;
+    }
+
+    // Dense-index variant for callers that resolved ids once via indexOf; pairs without a path get noPathValue
+    public int[] bottleneckWeights(int[] from, int[] to, int noPathValue) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Query arrays differ in length: " + from.length + " vs " + to.length);
+        }
+        int[] results = new int[from.length];
+        for (int i = 0; i < from.length; i++) {
+            int edge = bottleneckEdgeIndex(from[i], to[i]);
+            results[i] = edge < 0 ? noPathValue : treeWeights[edge];
+        }
+        return results;
+    }
+
+    // Cheapest spanning forest that differs from the indexed one by a single swap: some non-tree edge (u, v, w)
+    // replaces the heaviest tree edge on the u-v path. O(E log V). The graph must be the one the MST was computed
+    // for; null when it has no non-tree edge inside a tree.
+    public SecondBestTree secondBest(Graph graph) {
+        CompactGraph compact = CompactGraph.from(graph);
+        int[] local = new int[compact.getVertexCount()];
+        for (int v = 0; v < local.length; v++) {
+            local[v] = indexOf(compact.getVertexId(v));
+        }
+
+        // A tree has at most one edge per vertex pair; each one is skipped once when the graph lists it
+        LongIntHashMap treeEdgeByPair = new LongIntHashMap(treeEdges.length);
+        for (int e = 0; e < treeEdges.length; e++) {
+            treeEdgeByPair.putIfAbsent(pairKey(indexOf(treeEdges[e].getFrom().getId()),
+                    indexOf(treeEdges[e].getTo().getId())), e);
+        }
+        boolean[] listed = new boolean[treeEdges.length];
+
+        long bestDelta = Long.MAX_VALUE;
+        int bestAdded = -1;
+        int bestRemoved = -1;
+        for (int e = 0; e < compact.getEdgeCount(); e++) {
+            int u = local[compact.getSource(e)];
+            int v = local[compact.getDestination(e)];
+            int weight = compact.getWeight(e);
+            if (u == v) continue;
+            int treeEdge = treeEdgeByPair.get(pairKey(u, v));
+            if (treeEdge >= 0 && !listed[treeEdge] && treeWeights[treeEdge] == weight) {
+                listed[treeEdge] = true;
+                continue;
+            }
+            int removed = bottleneckEdgeIndex(u, v);
+            if (removed < 0) continue; // Joins two trees: not a swap within the forest
+            long delta = (long) weight - treeWeights[removed];
+            if (delta < bestDelta) {
+                bestDelta = delta;
+                bestAdded = e;
+                bestRemoved = removed;
+            }
+        }
+        if (bestAdded < 0) {
+            return null;
+        }
+        return new SecondBestTree(totalCost + bestDelta, compact.toEdge(bestAdded), treeEdges[bestRemoved], treeEdges);
+    }
+
+    private int bottleneckEdgeIndex(int u, int v) {
+        if (component[u] != component[v]) {
+            return -1;
+        }
+        int best = -1;
+        if (depth[u] < depth[v]) {
+            int tmp = u;
+            u = v;
+            v = tmp;
+        }
+        int difference = depth[u] - depth[v];
+        for (int k = 0; difference != 0; k++, difference >>>= 1) {
+            if ((difference & 1) != 0) {
+                best = heavier(best, maxEdge[k][u]);
+                u = ancestor[k][u];
+            }
+        }
+        if (u == v) {
+            return best;
+        }
+        for (int k = ancestor.length - 1; k >= 0; k--) {
+            if (ancestor[k][u] != ancestor[k][v]) {
+                best = heavier(best, heavier(maxEdge[k][u], maxEdge[k][v]));
+                u = ancestor[k][u];
+                v = ancestor[k][v];
+            }
+        }
+        return heavier(best, heavier(maxEdge[0][u], maxEdge[0][v]));
+    }
+
+    private int heavier(int edge1, int edge2) {
+        if (edge1 < 0) return edge2;
+        if (edge2 < 0) return edge1;
+        return treeWeights[edge2] > treeWeights[edge1] ? edge2 : edge1;
+    }
+
+    private void register(Vertex vertex, List<Vertex> vertexList) {
+        if (!indexById.containsKey(vertex.getId())) {
+            indexById.put(vertex.getId(), vertexList.size());
+            vertexList.add(vertex);
+        }
+    }
+
+    private static void requireSameLength(String[] from, String[] to) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Query arrays differ in length: " + from.length + " vs " + to.length);
+        }
+    }
+
+    private static long pairKey(int u, int v) {
+        return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+    }
+
+    public int getVertexCount() { return vertices.length; }
+    public int getTreeEdgeCount() { return treeEdges.length; }
+    public long getTotalCost() { return totalCost; }
+
+    public static final class SecondBestTree {
+        private final long totalCost;
+        private final Edge addedEdge;
+        private final Edge removedEdge;
+        private final Edge[] bestTreeEdges;
+
+        private SecondBestTree(long totalCost, Edge addedEdge, Edge removedEdge, Edge[] bestTreeEdges) {
+            this.totalCost = totalCost;
+            this.addedEdge = addedEdge;
+            this.removedEdge = removedEdge;
+            this.bestTreeEdges = bestTreeEdges;
+        }
+
+        public long getTotalCost() { return totalCost; }
+        public Edge getAddedEdge() { return addedEdge; }
+        public Edge getRemovedEdge() { return removedEdge; }
+
+        // The tree itself is only materialised on request
+        public List<Edge> getEdges() {
+            List<Edge> edges = new ArrayList<>(bestTreeEdges.length);
+            for (Edge edge : bestTreeEdges) {
+                if (edge != removedEdge) {
+                    edges.add(edge);
+                }
+            }
+            edges.add(addedEdge);
+            return edges;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package domain.services;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Lock-free union-find: roots are linked with a single CAS, finds compress paths with best-effort CAS halving
+public class ConcurrentDisjointSet {
+    private final AtomicIntegerArray parent;
+
+    public ConcurrentDisjointSet(int elementCount) {
+        this.parent = new AtomicIntegerArray(elementCount);
+        for (int i = 0; i < elementCount; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    public int find(int element) {
+        while (true) {
+            int p = parent.get(element);
+            if (p == element) {
+                return element;
+            }
+            int grandParent = parent.get(p);
+            if (p != grandParent) {
+                parent.compareAndSet(element, p, grandParent); // Path halving, losing the race is harmless
+            }
+            element = grandParent;
+        }
+    }
+
+    // Returns false if both elements were already in the same set
+    public boolean union(int element1, int element2) {
+        while (true) {
+            int root1 = find(element1);
+            int root2 = find(element2);
+            if (root1 == root2) {
+                return false;
+            }
+
+            // Link the lower-priority root below the other; a fixed total order keeps concurrent links acyclic
+            if (outranks(root2, root1)) {
+                int tmp = root1;
+                root1 = root2;
+                root2 = tmp;
+            }
+            if (parent.compareAndSet(root2, root2, root1)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean connected(int element1, int element2) {
+        while (true) {
+            int root1 = find(element1);
+            int root2 = find(element2);
+            if (root1 == root2) {
+                return true;
+            }
+            // root1 may have been linked below another root meanwhile; only a stable root proves separation
+            if (parent.get(root1) == root1) {
+                return false;
+            }
+        }
+    }
+
+    public int getElementCount() { return parent.length(); }
+
+    // Pseudo-random priorities give expected logarithmic tree height without a separate rank array
+    private static boolean outranks(int a, int b) {
+        int priorityA = mix(a);
+        int priorityB = mix(b);
+        return priorityA != priorityB ? priorityA > priorityB : a > b;
+    }
+
+    private static int mix(int x) {
+        x = (x ^ (x >>> 16)) * 0x45d9f3b;
+        x = (x ^ (x >>> 16)) * 0x45d9f3b;
+        return x ^ (x >>> 16);
+    }
+}
@@ -0,0 +1,100 @@
+package domain.services;
+
+import java.util.Arrays;
+
+public class DaryIndexedHeap implements IndexedMinPriorityQueue {
+    private final int arity;
+    private final int[] heap;
+    private final int[] position;
+    private final int[] keys;
+    private int size;
+
+    public DaryIndexedHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2");
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    @Override
+    public void insert(int index, int key) {
+        if (contains(index)) {
+            throw new IllegalArgumentException("Index already in heap: " + index);
+        }
+        keys[index] = key;
+        heap[size] = index;
+        position[index] = size;
+        siftUp(size++);
+    }
+
+    @Override
+    public void decreaseKey(int index, int key) {
+        if (key > keys[index]) {
+            throw new IllegalArgumentException("New key is greater than current key");
+        }
+        keys[index] = key;
+        siftUp(position[index]);
+    }
+
+    @Override
+    public int pollMin() {
+        int min = heap[0];
+        position[min] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int i) {
+        int index = heap[i];
+        int key = keys[index];
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            if (keys[heap[parent]] <= key) break;
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = index;
+        position[index] = i;
+    }
+
+    private void siftDown(int i) {
+        int index = heap[i];
+        int key = keys[index];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size) break;
+            int last = Math.min(first + arity, size);
+            int best = first;
+            for (int child = first + 1; child < last; child++) {
+                if (keys[heap[child]] < keys[heap[best]]) best = child;
+            }
+            if (key <= keys[heap[best]]) break;
+            heap[i] = heap[best];
+            position[heap[i]] = i;
+            i = best;
+        }
+        heap[i] = index;
+        position[index] = i;
+    }
+
+    @Override
+    public boolean contains(int index) { return position[index] >= 0; }
+
+    @Override
+    public int keyOf(int index) { return keys[index]; }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public int size() { return size; }
+}
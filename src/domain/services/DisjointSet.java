@@ -19,10 +19,15 @@ public class DisjointSet {
     }
 
     public Vertex find(Vertex vertex) {
-        if (!parent.get(vertex).equals(vertex)) {
-            parent.put(vertex, find(parent.get(vertex))); // Path compression
+        Vertex current = vertex;
+        Vertex next = parent.get(current);
+        while (!next.equals(current)) {
+            Vertex grandParent = parent.get(next);
+            parent.put(current, grandParent); // Path halving, iterative to keep long chains off the stack
+            current = grandParent;
+            next = parent.get(current);
         }
-        return parent.get(vertex);
+        return current;
     }
 
     public void union(Vertex vertex1, Vertex vertex2) {
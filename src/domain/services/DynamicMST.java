@@ -0,0 +1,513 @@
+package domain.services;
+
+import domain.models.*;
+import java.util.*;
+
+// Minimum spanning forest maintained under edge insertion, deletion and reweighting.
+// Tree edges live in a link-cut tree (edges are nodes of their own, so path maxima are edge weights), so an insertion
+// or a reweight that keeps the tree is O(log n) amortized.
+// Deletions use Holm-de Lichtenberg-Thorup style levels: every edge has a level, level i's forest (Euler tour trees)
+// holds the tree edges of level >= i, and a non-tree edge's endpoints are connected in the forest of its level. A cut
+// tree edge is replaced by searching, level by level, the smaller of the two halves for its lightest incident non-tree
+// edge, promoting edges found to stay inside that half. Unlike HDLT, the weighted search must also demote the crossing
+// edges left above the chosen replacement's level, and the top level is scanned in full. Levels can therefore fall,
+// the HDLT potential argument does not apply, and no polylogarithmic bound is claimed: a deletion costs
+// O((k + 1) log n) for the k non-tree edges incident to the smaller halves it inspects. Promotions keep that small on
+// typical update mixes, but adversarial sequences can make deletions linear in the smaller side's incident edges.
+// Not thread-safe.
+public class DynamicMST {
+    private static final long VERTEX_VALUE = Long.MIN_VALUE;
+    private static final Comparator<DynamicEdge> EDGE_ORDER =
+            Comparator.comparingInt((DynamicEdge e) -> e.weight).thenComparingLong(e -> e.sequence);
+
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private final List<Vertex> vertices = new ArrayList<>();
+    private final Map<Long, DynamicEdge> edgesByPair = new HashMap<>();
+    private final Set<DynamicEdge> treeEdges = new LinkedHashSet<>();
+
+    private final LinkCutTree forest;
+    private DynamicEdge[] edgeByNode;
+    private int[] vertexNode;
+    private int nodeCount;
+    private final Deque<Integer> freeNodes = new ArrayDeque<>();
+
+    // Level forests: tour vertex node of every (level, vertex), allocated on first use, and its incident edges
+    private final EulerTourForest tours = new EulerTourForest();
+    private final List<int[]> tourVertex = new ArrayList<>();
+    private Incidence[] incidence = new Incidence[16];
+
+    private long sequence;
+    private long totalCost;
+    private long operationsCount;
+    private long updateTimeNs;
+
+    public DynamicMST(Graph graph) {
+        long startTime = System.nanoTime();
+        CompactGraph compact = CompactGraph.from(graph);
+        int vertexCount = compact.getVertexCount();
+        int edgeCount = compact.getEdgeCount();
+
+        this.forest = new LinkCutTree(vertexCount + Math.max(1, vertexCount - 1));
+        this.edgeByNode = new DynamicEdge[vertexCount + Math.max(1, vertexCount - 1)];
+        this.vertexNode = new int[Math.max(1, vertexCount)];
+        for (int v = 0; v < vertexCount; v++) {
+            registerVertex(compact.getVertex(v));
+        }
+
+        // Seed with a static Kruskal pass; for parallel edges only the lightest copy is kept
+        long[] keys = new long[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            keys[e] = EdgeKeys.pack(compact.getWeight(e), e);
+        }
+        Arrays.sort(keys);
+        IntDisjointSet components = new IntDisjointSet(vertexCount);
+        for (long key : keys) {
+            int e = EdgeKeys.index(key);
+            int u = compact.getSource(e);
+            int v = compact.getDestination(e);
+            if (u == v || edgesByPair.containsKey(pairKey(u, v))) {
+                continue;
+            }
+            DynamicEdge edge = new DynamicEdge(u, v, compact.getWeight(e), sequence++);
+            edgesByPair.put(pairKey(u, v), edge);
+            if (components.union(u, v)) {
+                attach(edge);
+            } else {
+                addNonTree(edge);
+            }
+            operationsCount++;
+        }
+        updateTimeNs += System.nanoTime() - startTime;
+    }
+
+    public DynamicMST() {
+        this(new Graph(false));
+    }
+
+    public void addVertex(String id) {
+        if (!indexById.containsKey(id)) {
+            registerVertex(new Vertex(id));
+        }
+    }
+
+    // Returns true if the new edge entered the spanning forest
+    public boolean insertEdge(String from, String to, int weight) {
+        long startTime = System.nanoTime();
+        int u = requireVertex(from);
+        int v = requireVertex(to);
+        if (edgesByPair.containsKey(pairKey(u, v))) {
+            throw new IllegalArgumentException("Edge " + from + "-" + to + " already exists, use updateWeight");
+        }
+        DynamicEdge edge = new DynamicEdge(u, v, weight, sequence++);
+        edgesByPair.put(pairKey(u, v), edge);
+        // Self-loops never enter the forest and are kept out of the level structure
+        boolean added = u != v && offer(edge);
+        updateTimeNs += System.nanoTime() - startTime;
+        return added;
+    }
+
+    // Returns true if the deleted edge was part of the spanning forest
+    public boolean deleteEdge(String from, String to) {
+        long startTime = System.nanoTime();
+        DynamicEdge edge = edgesByPair.remove(pairKey(requireVertex(from), requireVertex(to)));
+        if (edge == null) {
+            throw new IllegalArgumentException("No edge between " + from + " and " + to);
+        }
+        boolean wasTreeEdge = edge.node >= 0;
+        if (wasTreeEdge) {
+            detach(edge);
+            DynamicEdge replacement = findReplacement(edge);
+            if (replacement != null) {
+                removeNonTree(replacement);
+                attach(replacement);
+            }
+        } else if (edge.u != edge.v) {
+            removeNonTree(edge);
+        }
+        updateTimeNs += System.nanoTime() - startTime;
+        return wasTreeEdge;
+    }
+
+    public void updateWeight(String from, String to, int weight) {
+        long startTime = System.nanoTime();
+        DynamicEdge edge = edgesByPair.get(pairKey(requireVertex(from), requireVertex(to)));
+        if (edge == null) {
+            throw new IllegalArgumentException("No edge between " + from + " and " + to);
+        }
+        int oldWeight = edge.weight;
+
+        if (edge.node >= 0) {
+            if (weight <= oldWeight) {
+                // A lighter tree edge stays in the tree
+                forest.setValue(edge.node, weight);
+                totalCost += (long) weight - oldWeight;
+                edge.weight = weight;
+                operationsCount++;
+            } else {
+                // A heavier tree edge is swapped for the lightest crossing edge that now beats it
+                detach(edge);
+                edge.weight = weight;
+                DynamicEdge replacement = findReplacement(edge);
+                if (replacement != null && replacement.weight < weight) {
+                    removeNonTree(replacement);
+                    attach(replacement);
+                    edge.level = 0;
+                    addNonTree(edge);
+                } else {
+                    // Nothing lighter crosses: the edge goes back at the level the search left the cut at
+                    edge.level = replacement != null ? replacement.level : 0;
+                    attach(edge);
+                }
+            }
+        } else if (edge.u != edge.v) {
+            removeNonTree(edge);
+            edge.weight = weight;
+            // Only a lighter non-tree edge can displace the heaviest edge on its tree path
+            if (weight >= oldWeight) {
+                addNonTree(edge);
+            } else {
+                offer(edge);
+            }
+        } else {
+            edge.weight = weight;
+        }
+        updateTimeNs += System.nanoTime() - startTime;
+    }
+
+    public boolean connected(String from, String to) {
+        return forest.connected(vertexNode[requireVertex(from)], vertexNode[requireVertex(to)]);
+    }
+
+    public boolean isTreeEdge(String from, String to) {
+        DynamicEdge edge = edgesByPair.get(pairKey(requireVertex(from), requireVertex(to)));
+        return edge != null && edge.node >= 0;
+    }
+
+    // Snapshot of the current forest; time and operations are accumulated over construction and all updates
+    public MSTResult getResult() {
+        List<Edge> mstEdges = new ArrayList<>(treeEdges.size());
+        for (DynamicEdge edge : treeEdges) {
+            mstEdges.add(new Edge(vertices.get(edge.u), vertices.get(edge.v), edge.weight));
+        }
+        return new MSTResult(mstEdges, (int) totalCost, operationsCount, updateTimeNs);
+    }
+
+    // Current vertices and edges as a static graph, edges in insertion order
+    public Graph toGraph() {
+        Graph graph = new Graph(false);
+        for (Vertex vertex : vertices) {
+            graph.addVertex(vertex);
+        }
+        List<DynamicEdge> edges = new ArrayList<>(edgesByPair.values());
+        edges.sort(Comparator.comparingLong(e -> e.sequence));
+        for (DynamicEdge edge : edges) {
+            graph.addEdge(vertices.get(edge.u).getId(), vertices.get(edge.v).getId(), edge.weight);
+        }
+        return graph;
+    }
+
+    public long getTotalCost() { return totalCost; }
+    public int getVertexCount() { return vertices.size(); }
+    public int getEdgeCount() { return edgesByPair.size(); }
+    public int getTreeEdgeCount() { return treeEdges.size(); }
+
+    // Links the edge if its endpoints are in different trees, or swaps out a heavier edge on the tree path.
+    // The edge must not be indexed yet; if it stays out of the forest it is indexed at its level.
+    private boolean offer(DynamicEdge edge) {
+        int a = vertexNode[edge.u];
+        int b = vertexNode[edge.v];
+        operationsCount++;
+        if (!forest.connected(a, b)) {
+            attach(edge);
+            return true;
+        }
+        addNonTree(edge);
+        DynamicEdge heaviest = edgeByNode[forest.pathMax(a, b)];
+        operationsCount++;
+        if (heaviest.weight <= edge.weight) {
+            return false;
+        }
+        // The offered edge is now the lightest one across the cut, so the search returns it and repairs the levels
+        detach(heaviest);
+        DynamicEdge replacement = findReplacement(heaviest);
+        removeNonTree(replacement);
+        attach(replacement);
+        heaviest.level = 0;
+        addNonTree(heaviest);
+        return true;
+    }
+
+    // Lightest non-tree edge reconnecting the two trees left after cutting the given, already detached, edge.
+    // Every level from the cut edge's down to 0 is searched on its smaller side, lightest incident edge first; a
+    // lighter candidate may sit below a heavier one, so the search only stops early within a level.
+    private DynamicEdge findReplacement(DynamicEdge cut) {
+        int topLevel = topLevel();
+        int[] smallerSide = new int[cut.level + 1];
+        DynamicEdge best = null;
+        for (int level = cut.level; level >= 0; level--) {
+            int fromU = tourNode(level, cut.u);
+            int fromV = tourNode(level, cut.v);
+            int side = tours.treeSize(fromU) <= tours.treeSize(fromV) ? fromU : fromV;
+            smallerSide[level] = side;
+            DynamicEdge candidate;
+            if (level < topLevel) {
+                promoteTreeEdges(level, side);
+                candidate = lightestCrossing(level, side, best);
+            } else {
+                candidate = lightestCrossingByScan(level, side, best);
+            }
+            if (candidate != null) {
+                best = candidate;
+            }
+        }
+        if (best != null) {
+            for (int level = best.level + 1; level <= cut.level; level++) {
+                demoteCrossing(level, smallerSide[level], best.level);
+            }
+        }
+        return best;
+    }
+
+    // Moves the level-i tree edges of a half up to level i + 1, which keeps the half connected there
+    private void promoteTreeEdges(int level, int side) {
+        for (int holder = tours.findFlagged(side); holder >= 0; holder = tours.findFlagged(side)) {
+            DynamicEdge edge = incidence[holder].tree.iterator().next();
+            removeTreeIncidence(edge);
+            edge.level = level + 1;
+            linkLevel(edge, level + 1);
+            addTreeIncidence(edge);
+            operationsCount++;
+        }
+    }
+
+    // Scans the half's level-i non-tree edges in weight order: edges inside the half move up a level, the first
+    // one leaving it is the level's candidate. Stops once edges are no lighter than the best candidate so far.
+    private DynamicEdge lightestCrossing(int level, int side, DynamicEdge best) {
+        for (int holder = tours.findMinKey(side); holder >= 0; holder = tours.findMinKey(side)) {
+            DynamicEdge edge = incidence[holder].nonTree.first();
+            operationsCount++;
+            if (best != null && EDGE_ORDER.compare(edge, best) >= 0) {
+                return null;
+            }
+            if (!tours.connected(tourNode(level, edge.u), tourNode(level, edge.v))) {
+                return edge;
+            }
+            removeNonTree(edge);
+            edge.level = level + 1;
+            addNonTree(edge);
+        }
+        return null;
+    }
+
+    // At the top level nothing can move up, so every incident edge is looked at: linear in the half's edges
+    private DynamicEdge lightestCrossingByScan(int level, int side, DynamicEdge best) {
+        DynamicEdge candidate = best;
+        for (int holder : tours.keyedVertices(side)) {
+            for (DynamicEdge edge : incidence[holder].nonTree) {
+                operationsCount++;
+                if (candidate != null && EDGE_ORDER.compare(edge, candidate) >= 0) {
+                    break;
+                }
+                if (!tours.connected(tourNode(level, edge.u), tourNode(level, edge.v))) {
+                    candidate = edge;
+                    break;
+                }
+            }
+        }
+        return candidate == best ? null : candidate;
+    }
+
+    // Moves every level-i edge crossing the cut down to the replacement's level, where they are connected again.
+    // Linear in the half's level-i edges, and the downward moves are what rule out the HDLT amortized bound.
+    private void demoteCrossing(int level, int side, int targetLevel) {
+        for (int holder : tours.keyedVertices(side)) {
+            List<DynamicEdge> crossing = new ArrayList<>();
+            for (DynamicEdge edge : incidence[holder].nonTree) {
+                operationsCount++;
+                if (!tours.connected(tourNode(level, edge.u), tourNode(level, edge.v))) {
+                    crossing.add(edge);
+                }
+            }
+            for (DynamicEdge edge : crossing) {
+                removeNonTree(edge);
+                edge.level = targetLevel;
+                addNonTree(edge);
+            }
+        }
+    }
+
+    private void attach(DynamicEdge edge) {
+        int node = allocateNode();
+        forest.reset(node, edge.weight);
+        edgeByNode[node] = edge;
+        edge.node = node;
+        forest.link(node, vertexNode[edge.u]);
+        forest.link(vertexNode[edge.v], node);
+        for (int level = 0; level <= edge.level; level++) {
+            linkLevel(edge, level);
+        }
+        addTreeIncidence(edge);
+        treeEdges.add(edge);
+        totalCost += edge.weight;
+        operationsCount += 2;
+    }
+
+    private void detach(DynamicEdge edge) {
+        forest.cut(vertexNode[edge.u], edge.node);
+        forest.cut(edge.node, vertexNode[edge.v]);
+        edgeByNode[edge.node] = null;
+        freeNodes.push(edge.node);
+        edge.node = -1;
+        removeTreeIncidence(edge);
+        for (int level = 0; level <= edge.level; level++) {
+            tours.cut(edge.arcs[2 * level], edge.arcs[2 * level + 1]);
+            tours.release(edge.arcs[2 * level]);
+            tours.release(edge.arcs[2 * level + 1]);
+        }
+        treeEdges.remove(edge);
+        totalCost -= edge.weight;
+        operationsCount += 2;
+    }
+
+    private void linkLevel(DynamicEdge edge, int level) {
+        if (edge.arcs.length < 2 * level + 2) {
+            edge.arcs = Arrays.copyOf(edge.arcs, 2 * level + 2);
+        }
+        int forward = tours.newArc();
+        int backward = tours.newArc();
+        edge.arcs[2 * level] = forward;
+        edge.arcs[2 * level + 1] = backward;
+        tours.link(tourNode(level, edge.u), tourNode(level, edge.v), forward, backward);
+    }
+
+    private void addTreeIncidence(DynamicEdge edge) {
+        incidenceAt(edge.level, edge.u).tree.add(edge);
+        incidenceAt(edge.level, edge.v).tree.add(edge);
+        refresh(tourNode(edge.level, edge.u));
+        refresh(tourNode(edge.level, edge.v));
+    }
+
+    private void removeTreeIncidence(DynamicEdge edge) {
+        incidenceAt(edge.level, edge.u).tree.remove(edge);
+        incidenceAt(edge.level, edge.v).tree.remove(edge);
+        refresh(tourNode(edge.level, edge.u));
+        refresh(tourNode(edge.level, edge.v));
+    }
+
+    private void addNonTree(DynamicEdge edge) {
+        incidenceAt(edge.level, edge.u).nonTree.add(edge);
+        incidenceAt(edge.level, edge.v).nonTree.add(edge);
+        refresh(tourNode(edge.level, edge.u));
+        refresh(tourNode(edge.level, edge.v));
+    }
+
+    private void removeNonTree(DynamicEdge edge) {
+        incidenceAt(edge.level, edge.u).nonTree.remove(edge);
+        incidenceAt(edge.level, edge.v).nonTree.remove(edge);
+        refresh(tourNode(edge.level, edge.u));
+        refresh(tourNode(edge.level, edge.v));
+    }
+
+    // Publishes a tour node's lightest non-tree edge and whether it has tree edges of its level
+    private void refresh(int node) {
+        Incidence slot = incidence[node];
+        long key = slot.nonTree.isEmpty() ? EulerTourForest.NO_KEY : ((long) slot.nonTree.first().weight << 32)
+                | (slot.nonTree.first().sequence & 0xFFFFFFFFL);
+        tours.update(node, key, !slot.tree.isEmpty());
+    }
+
+    private Incidence incidenceAt(int level, int vertex) {
+        int node = tourNode(level, vertex);
+        if (incidence[node] == null) {
+            incidence[node] = new Incidence();
+        }
+        return incidence[node];
+    }
+
+    private int tourNode(int level, int vertex) {
+        while (tourVertex.size() <= level) {
+            int[] nodes = new int[vertexNode.length];
+            Arrays.fill(nodes, -1);
+            tourVertex.add(nodes);
+        }
+        int[] nodes = tourVertex.get(level);
+        if (vertex >= nodes.length) {
+            int oldLength = nodes.length;
+            nodes = Arrays.copyOf(nodes, vertexNode.length);
+            Arrays.fill(nodes, oldLength, nodes.length, -1);
+            tourVertex.set(level, nodes);
+        }
+        if (nodes[vertex] < 0) {
+            int node = tours.newVertex();
+            nodes[vertex] = node;
+            if (node >= incidence.length) {
+                incidence = Arrays.copyOf(incidence, Math.max(node + 1, incidence.length * 2));
+            }
+        }
+        return nodes[vertex];
+    }
+
+    // Levels above log2(n) are never needed while halves are at most half the size of the tree they came from
+    private int topLevel() {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(1, vertices.size()));
+    }
+
+    private void registerVertex(Vertex vertex) {
+        int index = vertices.size();
+        indexById.put(vertex.getId(), index);
+        vertices.add(vertex);
+        if (index == vertexNode.length) {
+            vertexNode = Arrays.copyOf(vertexNode, index * 2);
+        }
+        int node = allocateNode();
+        forest.reset(node, VERTEX_VALUE);
+        vertexNode[index] = node;
+    }
+
+    private int allocateNode() {
+        if (!freeNodes.isEmpty()) {
+            return freeNodes.pop();
+        }
+        int node = nodeCount++;
+        forest.ensureCapacity(nodeCount);
+        if (node == edgeByNode.length) {
+            edgeByNode = Arrays.copyOf(edgeByNode, Math.max(1, node * 2));
+        }
+        return node;
+    }
+
+    private int requireVertex(String id) {
+        Integer index = indexById.get(id);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown vertex: " + id);
+        }
+        return index;
+    }
+
+    private static long pairKey(int u, int v) {
+        return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+    }
+
+    private static final class DynamicEdge {
+        final int u;
+        final int v;
+        final long sequence;
+        int weight;
+        int node = -1;
+        int level;
+        // Tour arc nodes of a tree edge: forward and backward for each level up to its own
+        int[] arcs = new int[2];
+
+        DynamicEdge(int u, int v, int weight, long sequence) {
+            this.u = u;
+            this.v = v;
+            this.weight = weight;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final class Incidence {
+        final TreeSet<DynamicEdge> nonTree = new TreeSet<>(EDGE_ORDER);
+        final Set<DynamicEdge> tree = new LinkedHashSet<>();
+    }
+}
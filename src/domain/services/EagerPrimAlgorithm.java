@@ -0,0 +1,96 @@
+package domain.services;
+
+import domain.models.*;
+import java.util.*;
+
+public class EagerPrimAlgorithm implements MSTAlgorithm {
+    private final HeapType heapType;
+
+    public EagerPrimAlgorithm(HeapType heapType) {
+        this.heapType = heapType;
+    }
+
+    public EagerPrimAlgorithm() {
+        this(HeapType.BINARY);
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(CompactGraph.from(graph));
+    }
+
+    public MSTResult findMST(CompactGraph graph) {
+        int operationsCount = 0;
+        long startTime = System.nanoTime();
+
+        int vertexCount = graph.getVertexCount();
+        if (vertexCount == 0) {
+            return new MSTResult(Collections.emptyList(), 0, 0, 0);
+        }
+
+        boolean[] visited = new boolean[vertexCount];
+        int[] bestEdge = new int[vertexCount];
+        List<Edge> mstEdges = new ArrayList<>(vertexCount - 1);
+        int totalCost = 0;
+
+        // At most one entry per vertex, keyed by its cheapest known connecting edge
+        IndexedMinPriorityQueue minHeap = heapType.create(vertexCount);
+        operationsCount++;
+
+        int start = 0;
+        bestEdge[start] = -1;
+        minHeap.insert(start, 0);
+        operationsCount++;
+
+        while (!minHeap.isEmpty()) {
+            int vertex = minHeap.pollMin();
+            visited[vertex] = true;
+            operationsCount++;
+
+            if (bestEdge[vertex] >= 0) {
+                int edge = bestEdge[vertex];
+                int from = graph.getSource(edge) == vertex ? graph.getDestination(edge) : graph.getSource(edge);
+                mstEdges.add(graph.toEdge(edge, from));
+                totalCost += graph.getWeight(edge);
+                operationsCount += 2;
+            }
+
+            for (int slot = graph.getAdjacencyStart(vertex); slot < graph.getAdjacencyEnd(vertex); slot++) {
+                int neighbour = graph.getAdjacentVertex(slot);
+                operationsCount++;
+                if (visited[neighbour]) {
+                    continue;
+                }
+
+                int edge = graph.getAdjacentEdge(slot);
+                int weight = graph.getWeight(edge);
+                if (!minHeap.contains(neighbour)) {
+                    bestEdge[neighbour] = edge;
+                    minHeap.insert(neighbour, weight);
+                    operationsCount++;
+                } else if (weight < minHeap.keyOf(neighbour)) {
+                    bestEdge[neighbour] = edge;
+                    minHeap.decreaseKey(neighbour, weight);
+                    operationsCount++;
+                }
+            }
+        }
+
+        long endTime = System.nanoTime();
+        return new MSTResult(mstEdges, totalCost, operationsCount, endTime - startTime);
+    }
+
+    public HeapType getHeapType() {
+        return heapType;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Eager Prim's Algorithm (" + heapType.getDisplayName() + ")";
+    }
+
+    @Override
+    public String getAlgorithmComplexity() {
+        return heapType.getComplexity() + " with indexed " + heapType.getDisplayName();
+    }
+}
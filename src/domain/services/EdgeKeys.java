@@ -0,0 +1,18 @@
+package domain.services;
+
+// Packs (weight, index) into one long so that signed long order equals weight order, ties broken by index
+final class EdgeKeys {
+    private EdgeKeys() {}
+
+    static long pack(int weight, int index) {
+        return ((long) weight << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    static int weight(long key) {
+        return (int) (key >> 32);
+    }
+
+    static int index(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,286 @@
+package domain.services;
+
+import java.util.Arrays;
+
+// Euler tour trees over int nodes, each tour kept as a treap with parent pointers: one node per vertex and one per
+// direction of every tree edge, so rerooting is a rotation of the tour and link/cut are O(log n) expected.
+// Vertex nodes carry a key and a flag that are aggregated per tree (minimum key, any flag), so a caller can find the
+// marked vertices of a tree without walking it. One instance may hold many independent forests.
+class EulerTourForest {
+    static final long NO_KEY = Long.MAX_VALUE;
+    private static final int NIL = -1;
+
+    private int[] left = new int[0];
+    private int[] right = new int[0];
+    private int[] parent = new int[0];
+    private int[] priority = new int[0];
+    private int[] nodes = new int[0];
+    private int[] vertices = new int[0];
+    private boolean[] vertex = new boolean[0];
+    private long[] ownKey = new long[0];
+    private long[] minKey = new long[0];
+    private boolean[] ownFlag = new boolean[0];
+    private boolean[] anyFlag = new boolean[0];
+    private int nodeCount;
+    private int[] freeNodes = new int[0];
+    private int freeCount;
+    private int seed = 0x2545F491;
+
+    // Results of split, to avoid allocating a pair per call
+    private int splitLeft;
+    private int splitRight;
+
+    int newVertex() {
+        return allocate(true);
+    }
+
+    int newArc() {
+        return allocate(false);
+    }
+
+    // Returns an isolated arc node to the pool
+    void release(int node) {
+        if (freeCount == freeNodes.length) {
+            freeNodes = Arrays.copyOf(freeNodes, Math.max(16, freeCount * 2));
+        }
+        freeNodes[freeCount++] = node;
+    }
+
+    boolean connected(int a, int b) {
+        return root(a) == root(b);
+    }
+
+    // Number of vertices in the tree containing the node
+    int treeSize(int node) {
+        return vertices[root(node)];
+    }
+
+    // Joins the trees of vertices a and b with the edge whose arc nodes are ab and ba
+    void link(int a, int b, int ab, int ba) {
+        int tourA = reroot(a);
+        int tourB = reroot(b);
+        detach(merge(merge(merge(tourA, ab), tourB), ba));
+    }
+
+    // Removes the edge whose arc nodes are ab and ba; both arcs are left isolated
+    void cut(int ab, int ba) {
+        int tour = root(ab);
+        int first = position(ab);
+        int second = position(ba);
+        if (first > second) {
+            int tmp = first;
+            first = second;
+            second = tmp;
+        }
+        // Tour is: before, first arc, subtree, second arc, after
+        split(tour, first);
+        int before = detach(splitLeft);
+        split(detach(splitRight), 1);
+        detach(splitLeft);
+        split(detach(splitRight), second - first - 1);
+        detach(splitLeft);
+        split(detach(splitRight), 1);
+        detach(splitLeft);
+        int after = detach(splitRight);
+        merge(before, after);
+    }
+
+    void update(int node, long key, boolean flag) {
+        ownKey[node] = key;
+        ownFlag[node] = flag;
+        for (int x = node; x != NIL; x = parent[x]) {
+            pull(x);
+        }
+    }
+
+    // Vertex node holding the smallest key in the node's tree, or -1 if no vertex has a key
+    int findMinKey(int node) {
+        int x = root(node);
+        if (minKey[x] == NO_KEY) {
+            return NIL;
+        }
+        long target = minKey[x];
+        while (true) {
+            if (left[x] != NIL && minKey[left[x]] == target) {
+                x = left[x];
+            } else if (ownKey[x] == target) {
+                return x;
+            } else {
+                x = right[x];
+            }
+        }
+    }
+
+    // Some flagged vertex node in the node's tree, or -1
+    int findFlagged(int node) {
+        int x = root(node);
+        if (!anyFlag[x]) {
+            return NIL;
+        }
+        while (true) {
+            if (left[x] != NIL && anyFlag[left[x]]) {
+                x = left[x];
+            } else if (ownFlag[x]) {
+                return x;
+            } else {
+                x = right[x];
+            }
+        }
+    }
+
+    // Every vertex node with a key in the node's tree
+    int[] keyedVertices(int node) {
+        int[] found = new int[0];
+        int foundCount = 0;
+        int[] stack = new int[16];
+        int depth = 0;
+        stack[depth++] = root(node);
+        while (depth > 0) {
+            int x = stack[--depth];
+            if (minKey[x] == NO_KEY) {
+                continue;
+            }
+            if (ownKey[x] != NO_KEY) {
+                if (foundCount == found.length) found = Arrays.copyOf(found, Math.max(8, foundCount * 2));
+                found[foundCount++] = x;
+            }
+            if (depth + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            if (left[x] != NIL) stack[depth++] = left[x];
+            if (right[x] != NIL) stack[depth++] = right[x];
+        }
+        return Arrays.copyOf(found, foundCount);
+    }
+
+    private int allocate(boolean isVertex) {
+        int node;
+        if (freeCount > 0) {
+            node = freeNodes[--freeCount];
+        } else {
+            node = nodeCount++;
+            if (node == left.length) {
+                grow(Math.max(16, node * 2));
+            }
+        }
+        left[node] = NIL;
+        right[node] = NIL;
+        parent[node] = NIL;
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        priority[node] = seed;
+        vertex[node] = isVertex;
+        ownKey[node] = NO_KEY;
+        ownFlag[node] = false;
+        pull(node);
+        return node;
+    }
+
+    // Rotates the tour so it starts at the vertex node; returns the new treap root
+    private int reroot(int node) {
+        int tour = root(node);
+        split(tour, position(node));
+        int before = detach(splitLeft);
+        int from = detach(splitRight);
+        return merge(from, before);
+    }
+
+    private int root(int node) {
+        while (parent[node] != NIL) {
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private int position(int node) {
+        int index = count(left[node]);
+        for (int x = node; parent[x] != NIL; x = parent[x]) {
+            int p = parent[x];
+            if (right[p] == x) {
+                index += count(left[p]) + 1;
+            }
+        }
+        return index;
+    }
+
+    // Splits the treap rooted at t into its first k nodes (splitLeft) and the rest (splitRight)
+    private void split(int t, int k) {
+        if (t == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        int leftCount = count(left[t]);
+        if (k <= leftCount) {
+            split(left[t], k);
+            left[t] = splitRight;
+            if (splitRight != NIL) parent[splitRight] = t;
+            pull(t);
+            splitRight = t;
+        } else {
+            split(right[t], k - leftCount - 1);
+            right[t] = splitLeft;
+            if (splitLeft != NIL) parent[splitLeft] = t;
+            pull(t);
+            splitLeft = t;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priority[a] > priority[b]) {
+            int merged = merge(right[a], b);
+            right[a] = merged;
+            parent[merged] = a;
+            pull(a);
+            return a;
+        }
+        int merged = merge(a, left[b]);
+        left[b] = merged;
+        parent[merged] = b;
+        pull(b);
+        return b;
+    }
+
+    private int detach(int node) {
+        if (node != NIL) parent[node] = NIL;
+        return node;
+    }
+
+    private int count(int node) {
+        return node == NIL ? 0 : nodes[node];
+    }
+
+    private void pull(int x) {
+        int l = left[x];
+        int r = right[x];
+        nodes[x] = 1 + count(l) + count(r);
+        vertices[x] = (vertex[x] ? 1 : 0) + (l == NIL ? 0 : vertices[l]) + (r == NIL ? 0 : vertices[r]);
+        long key = ownKey[x];
+        boolean flag = ownFlag[x];
+        if (l != NIL) {
+            key = Math.min(key, minKey[l]);
+            flag |= anyFlag[l];
+        }
+        if (r != NIL) {
+            key = Math.min(key, minKey[r]);
+            flag |= anyFlag[r];
+        }
+        minKey[x] = key;
+        anyFlag[x] = flag;
+    }
+
+    private void grow(int capacity) {
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        nodes = Arrays.copyOf(nodes, capacity);
+        vertices = Arrays.copyOf(vertices, capacity);
+        vertex = Arrays.copyOf(vertex, capacity);
+        ownKey = Arrays.copyOf(ownKey, capacity);
+        minKey = Arrays.copyOf(minKey, capacity);
+        ownFlag = Arrays.copyOf(ownFlag, capacity);
+        anyFlag = Arrays.copyOf(anyFlag, capacity);
+    }
+}
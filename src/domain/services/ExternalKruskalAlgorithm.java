@@ -0,0 +1,408 @@
+package domain.services;
+
+import domain.models.*;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Kruskal for edge lists larger than RAM: the stream is cut into sorted runs on disk, the runs are
+// k-way merged with large sequential reads and the merged order feeds a union-find over vertex ids only.
+// Heap use is the memory budget plus O(V) for the union-find and the result.
+public class ExternalKruskalAlgorithm implements MSTAlgorithm {
+    public static final long MIN_MEMORY_BUDGET = 1L << 20;
+
+    // Run record: int weight, int from, int to
+    private static final int RECORD_BYTES = 12;
+    // In-memory run buffer per edge: packed key, radix scratch, from and to
+    private static final int BUFFERED_EDGE_BYTES = 24;
+    private static final int INITIAL_BUFFER_EDGES = 1 << 16;
+    private static final int MIN_IO_BUFFER = 1 << 16;
+    private static final int MAX_IO_BUFFER = 1 << 26;
+    private static final int MAX_FAN_IN = 512;
+
+    private final long memoryBudgetBytes;
+    private final Path tempDirectory;
+
+    public ExternalKruskalAlgorithm(long memoryBudgetBytes, Path tempDirectory) {
+        if (memoryBudgetBytes < MIN_MEMORY_BUDGET) {
+            throw new IllegalArgumentException("Memory budget must be at least " + MIN_MEMORY_BUDGET + " bytes");
+        }
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.tempDirectory = tempDirectory;
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        try {
+            return findMST(EdgeStream.of(CompactGraph.from(graph)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public MSTResult findMST(EdgeStream stream) throws IOException {
+        MSTMetrics metrics = new MSTMetrics(getAlgorithmName());
+        long startTime = System.nanoTime();
+
+        int vertexCount = stream.getVertexCount();
+        List<Run> runs = new ArrayList<>();
+        try {
+            // Run formation: fill the budget, sort by (weight, arrival), spill
+            metrics.beginPhase(MSTMetrics.Phase.SORT);
+            RunBuilder builder = new RunBuilder(vertexCount, runs);
+            stream.forEachEdge(builder);
+
+            MainLoop loop = new MainLoop(stream, vertexCount);
+            if (runs.isEmpty()) {
+                // Everything fit in the budget: no disk round trip
+                builder.sortBuffer();
+                metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
+                builder.drain(loop);
+            } else {
+                builder.spill();
+                builder.release();
+                int fanIn = fanIn();
+                while (runs.size() > fanIn) {
+                    mergePass(runs, fanIn, metrics);
+                }
+                metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
+                merge(runs, loop, metrics);
+            }
+            metrics.endPhase();
+
+            KruskalAlgorithm.recordMainLoop(metrics, loop.disjointSet, loop.scanned, loop.mstEdges.size());
+            metrics.complete(vertexCount, (int) Math.min(Integer.MAX_VALUE, builder.edgeCount));
+            long endTime = System.nanoTime();
+            return new MSTResult(loop.mstEdges, loop.totalCost, metrics, endTime - startTime);
+        } finally {
+            for (Run run : runs) {
+                Files.deleteIfExists(run.file);
+            }
+        }
+    }
+
+    // Merges groups of fanIn runs into longer runs until a single final merge can take them all
+    private void mergePass(List<Run> runs, int fanIn, MSTMetrics metrics) throws IOException {
+        List<Run> merged = new ArrayList<>();
+        try {
+            for (int start = 0; start < runs.size(); start += fanIn) {
+                List<Run> group = runs.subList(start, Math.min(runs.size(), start + fanIn));
+                Run output = new Run(Files.createTempFile(tempDirectory, "mst-run-", ".bin"));
+                merged.add(output);
+                try (RunWriter writer = new RunWriter(output, ioBufferSize(group.size() + 1))) {
+                    merge(group, writer, metrics);
+                }
+                for (Run run : group) {
+                    Files.delete(run.file);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Run run : merged) {
+                Files.deleteIfExists(run.file);
+            }
+            throw e;
+        }
+        runs.clear();
+        runs.addAll(merged);
+    }
+
+    private void merge(List<Run> runs, RecordSink sink, MSTMetrics metrics) throws IOException {
+        RunReader[] readers = new RunReader[runs.size()];
+        long pushes = 0;
+        long polls = 0;
+        try {
+            int bufferSize = ioBufferSize(runs.size() + 1);
+            LongMinHeap heap = new LongMinHeap(runs.size());
+            for (int r = 0; r < readers.length; r++) {
+                readers[r] = new RunReader(runs.get(r), bufferSize);
+                if (readers[r].advance()) {
+                    heap.add(EdgeKeys.pack(readers[r].weight, r));
+                    pushes++;
+                }
+            }
+
+            // Equal weights leave in run order, and runs hold consecutive slices of the stream,
+            // so the merged order is the stable sort of the whole stream
+            while (!heap.isEmpty()) {
+                int r = EdgeKeys.index(heap.poll());
+                polls++;
+                RunReader reader = readers[r];
+                if (!sink.accept(reader.weight, reader.from, reader.to)) {
+                    break;
+                }
+                if (reader.advance()) {
+                    heap.add(EdgeKeys.pack(reader.weight, r));
+                    pushes++;
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+            metrics.add(MSTMetrics.Counter.HEAP_PUSHES, pushes);
+            metrics.add(MSTMetrics.Counter.HEAP_POLLS, polls);
+        }
+    }
+
+    // Largest fan-in whose read buffers still get at least MIN_IO_BUFFER each out of the budget
+    private int fanIn() {
+        return (int) Math.max(2, Math.min(MAX_FAN_IN, memoryBudgetBytes / MIN_IO_BUFFER - 1));
+    }
+
+    private int ioBufferSize(int streams) {
+        long size = Math.min(MAX_IO_BUFFER, Math.max(MIN_IO_BUFFER, memoryBudgetBytes / streams));
+        return (int) (size - size % RECORD_BYTES);
+    }
+
+    public long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+
+    public Path getTempDirectory() {
+        return tempDirectory;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Kruskal's Algorithm (external memory)";
+    }
+
+    @Override
+    public String getAlgorithmComplexity() {
+        return "O(E log E) with O(E / M) runs merged in O(log_k(E / M)) passes, O(V) memory beyond the budget";
+    }
+
+    private interface RecordSink {
+        // Returns false to stop the merge early
+        boolean accept(int weight, int from, int to) throws IOException;
+    }
+
+    private static final class Run {
+        final Path file;
+        long records;
+
+        Run(Path file) {
+            this.file = file;
+        }
+    }
+
+    private final class RunBuilder implements EdgeStream.EdgeVisitor {
+        private final int vertexCount;
+        private final List<Run> runs;
+        private final int capacity;
+        private long[] keys;
+        private int[] from;
+        private int[] to;
+        private int size;
+        long edgeCount;
+
+        RunBuilder(int vertexCount, List<Run> runs) {
+            this.vertexCount = vertexCount;
+            this.runs = runs;
+            this.capacity = (int) Math.min(Integer.MAX_VALUE - 8, memoryBudgetBytes / BUFFERED_EDGE_BYTES);
+            int initial = Math.min(capacity, INITIAL_BUFFER_EDGES);
+            this.keys = new long[initial];
+            this.from = new int[initial];
+            this.to = new int[initial];
+        }
+
+        @Override
+        public void visit(int source, int destination, int weight) throws IOException {
+            if (source < 0 || source >= vertexCount || destination < 0 || destination >= vertexCount) {
+                throw new IllegalArgumentException("Edge " + edgeCount + " references a missing vertex");
+            }
+            if (size == keys.length) {
+                if (size == capacity) {
+                    spill();
+                } else {
+                    grow();
+                }
+            }
+            keys[size] = EdgeKeys.pack(weight, size);
+            from[size] = source;
+            to[size] = destination;
+            size++;
+            edgeCount++;
+        }
+
+        void sortBuffer() {
+            RadixSort.sort(keys, size);
+        }
+
+        void spill() throws IOException {
+            if (size == 0) {
+                return;
+            }
+            sortBuffer();
+            Run run = new Run(Files.createTempFile(tempDirectory, "mst-run-", ".bin"));
+            runs.add(run);
+            try (RunWriter writer = new RunWriter(run, ioBufferSize(1))) {
+                drain(writer);
+            }
+            size = 0;
+        }
+
+        void drain(RecordSink sink) throws IOException {
+            for (int i = 0; i < size; i++) {
+                long key = keys[i];
+                int edge = EdgeKeys.index(key);
+                if (!sink.accept(EdgeKeys.weight(key), from[edge], to[edge])) {
+                    return;
+                }
+            }
+        }
+
+        // Hands the buffer back before the merge claims the budget for read buffers
+        void release() {
+            keys = null;
+            from = null;
+            to = null;
+        }
+
+        private void grow() {
+            int length = (int) Math.min(capacity, keys.length * 2L);
+            keys = Arrays.copyOf(keys, length);
+            from = Arrays.copyOf(from, length);
+            to = Arrays.copyOf(to, length);
+        }
+    }
+
+    private static final class MainLoop implements RecordSink {
+        final EdgeStream stream;
+        final int vertexCount;
+        final IntDisjointSet disjointSet;
+        final Vertex[] vertices;
+        final List<Edge> mstEdges;
+        int totalCost;
+        long scanned;
+
+        MainLoop(EdgeStream stream, int vertexCount) {
+            this.stream = stream;
+            this.vertexCount = vertexCount;
+            this.disjointSet = new IntDisjointSet(vertexCount);
+            this.vertices = new Vertex[vertexCount];
+            this.mstEdges = new ArrayList<>(Math.max(0, vertexCount - 1));
+        }
+
+        @Override
+        public boolean accept(int weight, int from, int to) {
+            if (mstEdges.size() == vertexCount - 1) {
+                return false; // MST complete, the rest of the runs is never read
+            }
+            scanned++;
+
+            int fromRoot = disjointSet.find(from);
+            int toRoot = disjointSet.find(to);
+            if (fromRoot != toRoot) {
+                mstEdges.add(new Edge(vertex(from), vertex(to), weight));
+                totalCost += weight;
+                disjointSet.linkRoots(fromRoot, toRoot);
+            }
+            return true;
+        }
+
+        private Vertex vertex(int index) {
+            Vertex vertex = vertices[index];
+            if (vertex == null) {
+                vertex = new Vertex(stream.getVertexId(index));
+                vertices[index] = vertex;
+            }
+            return vertex;
+        }
+    }
+
+    private static final class RunWriter implements RecordSink, Closeable {
+        private final Run run;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunWriter(Run run, int bufferSize) throws IOException {
+            this.run = run;
+            this.channel = FileChannel.open(run.file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocate(bufferSize).order(ByteOrder.nativeOrder());
+        }
+
+        @Override
+        public boolean accept(int weight, int from, int to) throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                flush();
+            }
+            buffer.putInt(weight).putInt(from).putInt(to);
+            run.records++;
+            return true;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static final class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long remaining;
+        int weight;
+        int from;
+        int to;
+
+        RunReader(Run run, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(run.file, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocate(bufferSize).order(ByteOrder.nativeOrder());
+            this.buffer.flip();
+            this.remaining = run.records;
+        }
+
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            if (buffer.remaining() < RECORD_BYTES) {
+                // Refill the whole buffer in one go so every run is read in large sequential chunks
+                buffer.compact();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) break;
+                }
+                buffer.flip();
+                if (buffer.remaining() < RECORD_BYTES) {
+                    throw new EOFException("Truncated run file");
+                }
+            }
+            weight = buffer.getInt();
+            from = buffer.getInt();
+            to = buffer.getInt();
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package domain.services;
+
+import domain.models.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Runs on a caller-supplied pool, or on a private one that close() shuts down
+public class FilterKruskalAlgorithm implements MSTAlgorithm, AutoCloseable {
+    private static final int DEFAULT_BASE_CASE_SIZE = 1 << 14;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int baseCaseSize;
+
+    public FilterKruskalAlgorithm(ForkJoinPool pool, int baseCaseSize) {
+        this(Objects.requireNonNull(pool, "pool"), false, baseCaseSize);
+    }
+
+    public FilterKruskalAlgorithm(ForkJoinPool pool) {
+        this(pool, DEFAULT_BASE_CASE_SIZE);
+    }
+
+    public FilterKruskalAlgorithm(int parallelism, int baseCaseSize) {
+        this(newPool(parallelism), true, baseCaseSize);
+    }
+
+    public FilterKruskalAlgorithm(int parallelism) {
+        this(parallelism, DEFAULT_BASE_CASE_SIZE);
+    }
+
+    public FilterKruskalAlgorithm() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    private FilterKruskalAlgorithm(ForkJoinPool pool, boolean ownsPool, int baseCaseSize) {
+        if (baseCaseSize < 1) {
+            if (ownsPool) pool.shutdown();
+            throw new IllegalArgumentException("Base case size must be positive, got " + baseCaseSize);
+        }
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.baseCaseSize = baseCaseSize;
+    }
+
+    private static ForkJoinPool newPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, got " + parallelism);
+        }
+        return new ForkJoinPool(parallelism);
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(CompactGraph.from(graph));
+    }
+
+    public MSTResult findMST(CompactGraph graph) {
+        long startTime = System.nanoTime();
+
+        int edgeCount = graph.getEdgeCount();
+        long[] keys = new long[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            keys[e] = EdgeKeys.pack(graph.getWeight(e), e);
+        }
+
+        Run run = new Run(graph, new long[edgeCount]);
+        run.operations += edgeCount;
+        run.solve(keys, 0, edgeCount);
+
+        long endTime = System.nanoTime();
+        return new MSTResult(run.mstEdges, run.totalCost, run.operations, endTime - startTime);
+    }
+
+    // Per-call state, so one FilterKruskalAlgorithm instance can be shared
+    private final class Run {
+        private final CompactGraph graph;
+        private final long[] scratch;
+        // Concurrent union-find: the parallel filter calls find from several threads
+        private final ConcurrentDisjointSet components;
+        private final List<Edge> mstEdges;
+        private final int targetSize;
+        private int totalCost;
+        private long operations;
+
+        Run(CompactGraph graph, long[] scratch) {
+            this.graph = graph;
+            this.scratch = scratch;
+            this.components = new ConcurrentDisjointSet(graph.getVertexCount());
+            this.targetSize = Math.max(0, graph.getVertexCount() - 1);
+            this.mstEdges = new ArrayList<>(targetSize);
+        }
+
+        void solve(long[] keys, int from, int to) {
+            if (mstEdges.size() == targetSize || from >= to) {
+                return;
+            }
+            if (to - from <= baseCaseSize) {
+                kruskal(keys, from, to);
+                return;
+            }
+
+            long pivot = choosePivot(keys, from, to);
+            int lightCount = ParallelLoops.partition(pool, keys, scratch, from, to, key -> key <= pivot);
+            operations += to - from;
+
+            int middle = from + lightCount;
+            solve(keys, from, middle);
+            if (mstEdges.size() == targetSize) {
+                return;
+            }
+
+            // Heavy edges whose endpoints the light half already connected can never join the tree
+            int kept = ParallelLoops.filter(pool, keys, scratch, middle, to, key -> {
+                int edge = EdgeKeys.index(key);
+                return components.find(graph.getSource(edge)) != components.find(graph.getDestination(edge));
+            });
+            operations += to - middle;
+            solve(keys, middle, middle + kept);
+        }
+
+        private void kruskal(long[] keys, int from, int to) {
+            Arrays.sort(keys, from, to);
+            operations += (long) ((to - from) * Math.log(to - from));
+
+            for (int i = from; i < to && mstEdges.size() < targetSize; i++) {
+                int edge = EdgeKeys.index(keys[i]);
+                operations += 3;
+                if (components.union(graph.getSource(edge), graph.getDestination(edge))) {
+                    mstEdges.add(graph.toEdge(edge));
+                    totalCost += graph.getWeight(edge);
+                    operations += 2;
+                }
+            }
+        }
+
+        // Median of three random samples; keys are unique, so any non-maximal pivot makes progress
+        private long choosePivot(long[] keys, int from, int to) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long a = keys[random.nextInt(from, to)];
+            long b = keys[random.nextInt(from, to)];
+            long c = keys[random.nextInt(from, to)];
+            return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+        }
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Filter-Kruskal Algorithm (parallelism " + pool.getParallelism() + ")";
+    }
+
+    @Override
+    public String getAlgorithmComplexity() {
+        return "O(E + V log V log(E/V)) expected";
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package domain.services;
+
+import domain.models.CompactGraph;
+
+// Shape of a graph as seen by the algorithm cost model; computed in one O(V + E) pass
+public final class GraphStatistics {
+    private final int vertexCount;
+    private final int edgeCount;
+    private final int minWeight;
+    private final int maxWeight;
+    private final int componentCount;
+
+    private GraphStatistics(int vertexCount, int edgeCount, int minWeight, int maxWeight, int componentCount) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+        this.componentCount = componentCount;
+    }
+
+    public static GraphStatistics of(CompactGraph graph) {
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+        int minWeight = edgeCount > 0 ? Integer.MAX_VALUE : 0;
+        int maxWeight = edgeCount > 0 ? Integer.MIN_VALUE : 0;
+        IntDisjointSet components = new IntDisjointSet(vertexCount);
+        for (int e = 0; e < edgeCount; e++) {
+            int weight = graph.getWeight(e);
+            minWeight = Math.min(minWeight, weight);
+            maxWeight = Math.max(maxWeight, weight);
+            components.union(graph.getSource(e), graph.getDestination(e));
+        }
+        return new GraphStatistics(vertexCount, edgeCount, minWeight, maxWeight, components.getSetCount());
+    }
+
+    public int getVertexCount() { return vertexCount; }
+    public int getEdgeCount() { return edgeCount; }
+    public int getMinWeight() { return minWeight; }
+    public int getMaxWeight() { return maxWeight; }
+    public int getComponentCount() { return componentCount; }
+    public boolean isConnected() { return componentCount <= 1; }
+
+    // Fraction of the V(V-1)/2 possible undirected edges that are present
+    public double getDensity() {
+        return vertexCount < 2 ? 0 : 2.0 * edgeCount / ((double) vertexCount * (vertexCount - 1));
+    }
+
+    // Bits needed for the weight spread, the cost driver of radix-based structures
+    public int getWeightRangeBits() {
+        long range = (long) maxWeight - minWeight;
+        return 64 - Long.numberOfLeadingZeros(range);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GraphStatistics{V=%d, E=%d, density=%.4f, weights=[%d, %d], components=%d}",
+                vertexCount, edgeCount, getDensity(), minWeight, maxWeight, componentCount);
+    }
+}
@@ -0,0 +1,29 @@
+package domain.services;
+
+public enum HeapType {
+    BINARY("binary heap", "O(E log V)"),
+    QUATERNARY("4-ary heap", "O(E log4 V)"),
+    PAIRING("pairing heap", "O(E + V log V) amortized"),
+    RADIX("radix heap", "O(E + V log W)");
+
+    private final String displayName;
+    private final String complexity;
+
+    HeapType(String displayName, String complexity) {
+        this.displayName = displayName;
+        this.complexity = complexity;
+    }
+
+    public IndexedMinPriorityQueue create(int capacity) {
+        switch (this) {
+            case BINARY: return new DaryIndexedHeap(capacity, 2);
+            case QUATERNARY: return new DaryIndexedHeap(capacity, 4);
+            case PAIRING: return new PairingIndexedHeap(capacity);
+            case RADIX: return new RadixIndexedHeap(capacity);
+            default: throw new IllegalStateException("Unknown heap type: " + this);
+        }
+    }
+
+    public String getDisplayName() { return displayName; }
+    public String getComplexity() { return complexity; }
+}
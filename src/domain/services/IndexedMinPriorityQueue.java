@@ -0,0 +1,12 @@
+package domain.services;
+
+// Min-priority queue over vertex indices 0..capacity-1 with decrease-key
+public interface IndexedMinPriorityQueue {
+    void insert(int index, int key);
+    void decreaseKey(int index, int key);
+    int pollMin();
+    boolean contains(int index);
+    int keyOf(int index);
+    boolean isEmpty();
+    int size();
+}
@@ -0,0 +1,72 @@
+package domain.services;
+
+public class IntDisjointSet {
+    private final int[] parent;
+    private final int[] size;
+    private int setCount;
+
+    // Plain counters: an instance is used by one thread at a time
+    private long findCount;
+    private long unionCount;
+    private long compressionSteps;
+
+    public IntDisjointSet(int elementCount) {
+        this.parent = new int[elementCount];
+        this.size = new int[elementCount];
+        for (int i = 0; i < elementCount; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        this.setCount = elementCount;
+    }
+
+    public int find(int element) {
+        findCount++;
+        while (parent[element] != element) {
+            parent[element] = parent[parent[element]]; // Path halving
+            element = parent[element];
+            compressionSteps++;
+        }
+        return element;
+    }
+
+    // Returns false if both elements were already in the same set
+    public boolean union(int element1, int element2) {
+        int root1 = find(element1);
+        int root2 = find(element2);
+        if (root1 == root2) {
+            return false;
+        }
+        linkRoots(root1, root2);
+        return true;
+    }
+
+    // Merges two distinct roots the caller already holds from find, without finding them again
+    public void linkRoots(int root1, int root2) {
+        if (parent[root1] != root1 || parent[root2] != root2 || root1 == root2) {
+            throw new IllegalArgumentException("Not two distinct roots: " + root1 + ", " + root2);
+        }
+
+        // Union by size
+        if (size[root1] < size[root2]) {
+            int tmp = root1;
+            root1 = root2;
+            root2 = tmp;
+        }
+        parent[root2] = root1;
+        size[root1] += size[root2];
+        setCount--;
+        unionCount++;
+    }
+
+    public boolean connected(int element1, int element2) {
+        return find(element1) == find(element2);
+    }
+
+    public int getSetSize(int element) { return size[find(element)]; }
+    public int getSetCount() { return setCount; }
+    public int getElementCount() { return parent.length; }
+    public long getFindCount() { return findCount; }
+    public long getUnionCount() { return unionCount; }
+    public long getCompressionSteps() { return compressionSteps; }
+}
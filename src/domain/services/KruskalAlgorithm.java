@@ -4,67 +4,297 @@ import domain.models.*;
 import java.util.*;
 
 public class KruskalAlgorithm implements MSTAlgorithm {
-    private int operationsCount;
+    public enum SortMode {
+        // Boxed List<Edge> sorted with a Comparator
+        COMPARATOR,
+        // Packed (weight, index) long keys, LSD radix sort
+        RADIX,
+        // Packed (weight, index) long keys, Arrays.parallelSort
+        PARALLEL
+    }
+
+    private final SortMode sortMode;
+
+    public KruskalAlgorithm(SortMode sortMode) {
+        this.sortMode = sortMode;
+    }
+
+    public KruskalAlgorithm() {
+        this(SortMode.COMPARATOR);
+    }
 
     @Override
     public MSTResult findMST(Graph graph) {
-        operationsCount = 0;
+        if (sortMode != SortMode.COMPARATOR) {
+            return findMSTPacked(graph);
+        }
+
+        MSTMetrics metrics = new MSTMetrics(getAlgorithmName());
         long startTime = System.nanoTime();
 
         List<Edge> mstEdges = new ArrayList<>();
         int totalCost = 0;
 
         // Get unique edges (avoid duplicates in undirected graph)
+        metrics.beginPhase(MSTMetrics.Phase.DEDUPE);
         List<Edge> uniqueEdges = getUniqueEdges(graph);
-        operationsCount += uniqueEdges.size();
 
         // Sort edges by weight
+        metrics.beginPhase(MSTMetrics.Phase.SORT);
         uniqueEdges.sort(Comparator.comparingInt(Edge::getWeight));
-        operationsCount += (int) (uniqueEdges.size() * Math.log(uniqueEdges.size())); // Sort operations
 
-        DisjointSet disjointSet = new DisjointSet();
-
-        // Initialize disjoint sets
+        // Initialize disjoint sets over dense vertex indices
+        metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
+        Map<Vertex, Integer> vertexIndex = new HashMap<>();
         for (Vertex vertex : graph.getVertices()) {
-            disjointSet.makeSet(vertex);
-            operationsCount++;
+            vertexIndex.put(vertex, vertexIndex.size());
         }
+        for (Edge edge : uniqueEdges) {
+            vertexIndex.putIfAbsent(edge.getFrom(), vertexIndex.size());
+            vertexIndex.putIfAbsent(edge.getTo(), vertexIndex.size());
+        }
+        IntDisjointSet disjointSet = new IntDisjointSet(vertexIndex.size());
 
         // Process edges in sorted order
+        long scanned = 0;
         for (Edge edge : uniqueEdges) {
-            operationsCount++;
-
             if (mstEdges.size() == graph.getVertexCount() - 1) {
                 break; // MST complete
             }
+            scanned++;
 
-            Vertex fromRoot = disjointSet.find(edge.getFrom());
-            Vertex toRoot = disjointSet.find(edge.getTo());
-            operationsCount += 2;
+            int fromRoot = disjointSet.find(vertexIndex.get(edge.getFrom()));
+            int toRoot = disjointSet.find(vertexIndex.get(edge.getTo()));
 
-            if (!fromRoot.equals(toRoot)) {
+            if (fromRoot != toRoot) {
                 mstEdges.add(edge);
                 totalCost += edge.getWeight();
-                disjointSet.union(edge.getFrom(), edge.getTo());
-                operationsCount += 3;
+                disjointSet.linkRoots(fromRoot, toRoot);
+            }
+        }
+
+        recordMainLoop(metrics, disjointSet, scanned, mstEdges.size());
+        metrics.complete(graph.getVertexCount(), uniqueEdges.size());
+        long endTime = System.nanoTime();
+        return new MSTResult(mstEdges, totalCost, metrics, endTime - startTime);
+    }
+
+    public MSTResult findMST(CompactGraph graph) {
+        MSTMetrics metrics = new MSTMetrics(getAlgorithmName());
+        long startTime = System.nanoTime();
+
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+        List<Edge> mstEdges = new ArrayList<>(Math.max(0, vertexCount - 1));
+        int totalCost = 0;
+
+        // Sort (weight, edge index) keys instead of Edge objects
+        metrics.beginPhase(MSTMetrics.Phase.SORT);
+        long[] keys = new long[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            keys[e] = EdgeKeys.pack(graph.getWeight(e), e);
+        }
+        sortKeys(keys);
+
+        metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
+        IntDisjointSet disjointSet = new IntDisjointSet(vertexCount);
+
+        long scanned = 0;
+        for (long key : keys) {
+            if (mstEdges.size() == vertexCount - 1) {
+                break; // MST complete
+            }
+            scanned++;
+
+            int edge = EdgeKeys.index(key);
+            int fromRoot = disjointSet.find(graph.getSource(edge));
+            int toRoot = disjointSet.find(graph.getDestination(edge));
+
+            if (fromRoot != toRoot) {
+                mstEdges.add(graph.toEdge(edge));
+                totalCost += graph.getWeight(edge);
+                disjointSet.linkRoots(fromRoot, toRoot);
+            }
+        }
+
+        recordMainLoop(metrics, disjointSet, scanned, mstEdges.size());
+        metrics.complete(vertexCount, edgeCount);
+        long endTime = System.nanoTime();
+        return new MSTResult(mstEdges, totalCost, metrics, endTime - startTime);
+    }
+
+    // Keys and sort scratch live in a temporary off-heap arena; on-heap state is the O(V) union-find and the result
+    public MSTResult findMST(OffHeapGraph graph) {
+        MSTMetrics metrics = new MSTMetrics(getAlgorithmName() + " [off-heap]");
+        long startTime = System.nanoTime();
+
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+        List<Edge> mstEdges = new ArrayList<>(Math.max(0, vertexCount - 1));
+        int totalCost = 0;
+        IntDisjointSet disjointSet = new IntDisjointSet(vertexCount);
+        long scanned = 0;
+
+        OffHeapArena graphArena = graph.getArena();
+        try (OffHeapArena scratch = new OffHeapArena(graphArena.getBacking(), graphArena.getTempDirectory())) {
+            metrics.beginPhase(MSTMetrics.Phase.SORT);
+            OffHeapLongArray keys = scratch.allocateLongs(edgeCount);
+            for (int e = 0; e < edgeCount; e++) {
+                keys.set(e, EdgeKeys.pack(graph.getWeight(e), e));
+            }
+            RadixSort.sort(keys, scratch.allocateLongs(edgeCount), edgeCount);
+
+            metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
+            for (long i = 0; i < edgeCount; i++) {
+                if (mstEdges.size() == vertexCount - 1) {
+                    break; // MST complete
+                }
+                scanned++;
+
+                long key = keys.get(i);
+                int edge = EdgeKeys.index(key);
+                int fromRoot = disjointSet.find(graph.getSource(edge));
+                int toRoot = disjointSet.find(graph.getDestination(edge));
+
+                if (fromRoot != toRoot) {
+                    mstEdges.add(graph.toEdge(edge));
+                    totalCost += EdgeKeys.weight(key);
+                    disjointSet.linkRoots(fromRoot, toRoot);
+                }
+            }
+            metrics.endPhase();
+        }
+
+        recordMainLoop(metrics, disjointSet, scanned, mstEdges.size());
+        metrics.complete(vertexCount, edgeCount);
+        long endTime = System.nanoTime();
+        return new MSTResult(mstEdges, totalCost, metrics, endTime - startTime);
+    }
+
+    // Integer-weight path: no per-edge objects beyond the Edge references already held by the graph
+    private MSTResult findMSTPacked(Graph graph) {
+        MSTMetrics metrics = new MSTMetrics(getAlgorithmName());
+        long startTime = System.nanoTime();
+
+        metrics.beginPhase(MSTMetrics.Phase.DEDUPE);
+        Map<String, Integer> vertexIndex = new HashMap<>();
+        for (Vertex vertex : graph.getVertices()) {
+            vertexIndex.put(vertex.getId(), vertexIndex.size());
+        }
+
+        // Dedupe by (min, max) vertex-index pair, keeping the lightest copy: this drops the reverse copy of every
+        // undirected edge, and parallel edges give the same tree whatever order they arrive in
+        List<Edge> edges = graph.getEdges();
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        int[] edgeRefs = new int[edges.size()];
+        long[] keys = new long[edges.size()];
+        LongIntHashMap slotByPair = new LongIntHashMap(edges.size() / 2);
+        int uniqueCount = 0;
+
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            int u = indexOf(edge.getFrom(), vertexIndex);
+            int v = indexOf(edge.getTo(), vertexIndex);
+            long pair = ((long) Math.min(u, v) << 32) | Math.max(u, v);
+            int slot = slotByPair.putIfAbsent(pair, uniqueCount);
+            if (slot < 0) {
+                slot = uniqueCount++;
+            } else if (edge.getWeight() >= edges.get(edgeRefs[slot]).getWeight()) {
+                continue;
+            }
+            from[slot] = u;
+            to[slot] = v;
+            edgeRefs[slot] = i;
+            keys[slot] = EdgeKeys.pack(edge.getWeight(), slot);
+        }
+
+        metrics.beginPhase(MSTMetrics.Phase.SORT);
+        keys = Arrays.copyOf(keys, uniqueCount);
+        sortKeys(keys);
+
+        metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
+        int vertexCount = graph.getVertexCount();
+        List<Edge> mstEdges = new ArrayList<>(Math.max(0, vertexCount - 1));
+        int totalCost = 0;
+        IntDisjointSet disjointSet = new IntDisjointSet(vertexIndex.size());
+
+        long scanned = 0;
+        for (long key : keys) {
+            if (mstEdges.size() == vertexCount - 1) {
+                break; // MST complete
+            }
+            scanned++;
+
+            int edge = EdgeKeys.index(key);
+            int fromRoot = disjointSet.find(from[edge]);
+            int toRoot = disjointSet.find(to[edge]);
+
+            if (fromRoot != toRoot) {
+                mstEdges.add(edges.get(edgeRefs[edge]));
+                totalCost += EdgeKeys.weight(key);
+                disjointSet.linkRoots(fromRoot, toRoot);
             }
         }
 
+        recordMainLoop(metrics, disjointSet, scanned, mstEdges.size());
+        metrics.complete(vertexCount, uniqueCount);
         long endTime = System.nanoTime();
-        return new MSTResult(mstEdges, totalCost, operationsCount, endTime - startTime);
+        return new MSTResult(mstEdges, totalCost, metrics, endTime - startTime);
+    }
+
+    static void recordMainLoop(MSTMetrics metrics, IntDisjointSet disjointSet, long scanned, int accepted) {
+        metrics.add(MSTMetrics.Counter.EDGES_SCANNED, scanned);
+        metrics.add(MSTMetrics.Counter.EDGES_REJECTED, scanned - accepted);
+        metrics.add(MSTMetrics.Counter.FINDS, disjointSet.getFindCount());
+        metrics.add(MSTMetrics.Counter.UNIONS, disjointSet.getUnionCount());
+        metrics.add(MSTMetrics.Counter.PATH_COMPRESSION_STEPS, disjointSet.getCompressionSteps());
     }
 
+    private int indexOf(Vertex vertex, Map<String, Integer> vertexIndex) {
+        Integer index = vertexIndex.get(vertex.getId());
+        if (index == null) {
+            index = vertexIndex.size();
+            vertexIndex.put(vertex.getId(), index);
+        }
+        return index;
+    }
+
+    private void sortKeys(long[] keys) {
+        switch (sortMode) {
+            case RADIX:
+                RadixSort.sort(keys);
+                break;
+            case PARALLEL:
+                Arrays.parallelSort(keys);
+                break;
+            default:
+                Arrays.sort(keys);
+        }
+    }
+
+    public SortMode getSortMode() {
+        return sortMode;
+    }
+
+    // One edge per unordered vertex pair, the lightest copy (the first one among equal weights)
     private List<Edge> getUniqueEdges(Graph graph) {
-        Set<String> edgeKeys = new HashSet<>();
+        Map<String, Integer> slotByKey = new HashMap<>();
         List<Edge> uniqueEdges = new ArrayList<>();
 
         for (Edge edge : graph.getEdges()) {
             String key1 = edge.getFrom().getId() + "-" + edge.getTo().getId();
             String key2 = edge.getTo().getId() + "-" + edge.getFrom().getId();
 
-            if (!edgeKeys.contains(key1) && !edgeKeys.contains(key2)) {
+            Integer slot = slotByKey.get(key1);
+            if (slot == null) {
+                slot = slotByKey.get(key2);
+            }
+            if (slot == null) {
+                slotByKey.put(key1, uniqueEdges.size());
                 uniqueEdges.add(edge);
-                edgeKeys.add(key1);
+            } else if (edge.getWeight() < uniqueEdges.get(slot).getWeight()) {
+                uniqueEdges.set(slot, edge);
             }
         }
         return uniqueEdges;
@@ -72,11 +302,13 @@ public class KruskalAlgorithm implements MSTAlgorithm {
 
     @Override
     public String getAlgorithmName() {
-        return "Kruskal's Algorithm";
+        return sortMode == SortMode.COMPARATOR
+                ? "Kruskal's Algorithm"
+                : "Kruskal's Algorithm (" + sortMode.name().toLowerCase() + " sort)";
     }
 
     @Override
     public String getAlgorithmComplexity() {
-        return "O(E log E) with union-find";
+        return sortMode == SortMode.RADIX ? "O(E) radix sort + near-linear union-find" : "O(E log E) with union-find";
     }
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package domain.services;
+
+import java.util.Arrays;
+
+// Link-cut tree over int nodes with path-maximum queries; all operations are O(log n) amortized
+public class LinkCutTree {
+    private static final int NIL = -1;
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] reversed;
+    private long[] value;
+    private int[] maxNode;
+    private int capacity;
+    // Reused by pushDownFrom so splaying does not allocate
+    private int[] pathStack = new int[16];
+
+    public LinkCutTree(int initialCapacity) {
+        this.capacity = 0;
+        this.left = new int[0];
+        this.right = new int[0];
+        this.parent = new int[0];
+        this.reversed = new boolean[0];
+        this.value = new long[0];
+        this.maxNode = new int[0];
+        ensureCapacity(Math.max(1, initialCapacity));
+    }
+
+    public void ensureCapacity(int required) {
+        if (required <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(required, capacity * 2);
+        left = grow(left, newCapacity);
+        right = grow(right, newCapacity);
+        parent = grow(parent, newCapacity);
+        reversed = Arrays.copyOf(reversed, newCapacity);
+        value = Arrays.copyOf(value, newCapacity);
+        maxNode = Arrays.copyOf(maxNode, newCapacity);
+        for (int i = capacity; i < newCapacity; i++) {
+            value[i] = Long.MIN_VALUE;
+            maxNode[i] = i;
+        }
+        capacity = newCapacity;
+    }
+
+    // Resets a node to an isolated tree carrying the given value
+    public void reset(int node, long nodeValue) {
+        left[node] = NIL;
+        right[node] = NIL;
+        parent[node] = NIL;
+        reversed[node] = false;
+        value[node] = nodeValue;
+        maxNode[node] = node;
+    }
+
+    public long getValue(int node) {
+        return value[node];
+    }
+
+    public void setValue(int node, long nodeValue) {
+        access(node);
+        value[node] = nodeValue;
+        pull(node);
+    }
+
+    public void link(int child, int newParent) {
+        makeRoot(child);
+        parent[child] = newParent;
+    }
+
+    // Removes the tree edge between two adjacent nodes
+    public void cut(int a, int b) {
+        makeRoot(a);
+        access(b);
+        if (left[b] != a || right[a] != NIL) {
+            throw new IllegalStateException("Nodes " + a + " and " + b + " are not adjacent");
+        }
+        left[b] = NIL;
+        parent[a] = NIL;
+        pull(b);
+    }
+
+    public boolean connected(int a, int b) {
+        return a == b || findRoot(a) == findRoot(b);
+    }
+
+    // Node with the largest value on the tree path between a and b (which must be connected)
+    public int pathMax(int a, int b) {
+        makeRoot(a);
+        access(b);
+        return maxNode[b];
+    }
+
+    public int findRoot(int node) {
+        access(node);
+        int root = node;
+        push(root);
+        while (left[root] != NIL) {
+            root = left[root];
+            push(root);
+        }
+        splay(root);
+        return root;
+    }
+
+    private void makeRoot(int node) {
+        access(node);
+        reversed[node] ^= true;
+        push(node);
+    }
+
+    // Makes the root-to-node path preferred and leaves node at the root of its splay tree
+    private void access(int node) {
+        int last = NIL;
+        for (int x = node; x != NIL; x = parent[x]) {
+            splay(x);
+            right[x] = last;
+            pull(x);
+            last = x;
+        }
+        splay(node);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void splay(int x) {
+        pushDownFrom(x);
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                boolean zigZig = (left[g] == p) == (left[p] == x);
+                rotate(zigZig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    // Pushes pending reversals from the splay root down to x, iteratively
+    private void pushDownFrom(int x) {
+        int depth = 0;
+        for (int y = x; ; y = parent[y]) {
+            if (depth == pathStack.length) pathStack = Arrays.copyOf(pathStack, depth * 2);
+            pathStack[depth++] = y;
+            if (isSplayRoot(y)) break;
+        }
+        while (depth > 0) {
+            push(pathStack[--depth]);
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        boolean pWasRoot = isSplayRoot(p);
+
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NIL) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NIL) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!pWasRoot) {
+            if (left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        pull(p);
+        pull(x);
+    }
+
+    private void push(int x) {
+        if (reversed[x]) {
+            int tmp = left[x];
+            left[x] = right[x];
+            right[x] = tmp;
+            if (left[x] != NIL) reversed[left[x]] ^= true;
+            if (right[x] != NIL) reversed[right[x]] ^= true;
+            reversed[x] = false;
+        }
+    }
+
+    private void pull(int x) {
+        int best = x;
+        if (left[x] != NIL && value[maxNode[left[x]]] > value[best]) best = maxNode[left[x]];
+        if (right[x] != NIL && value[maxNode[right[x]]] > value[best]) best = maxNode[right[x]];
+        maxNode[x] = best;
+    }
+
+    private static int[] grow(int[] array, int newCapacity) {
+        int oldLength = array.length;
+        int[] grown = Arrays.copyOf(array, newCapacity);
+        Arrays.fill(grown, oldLength, newCapacity, NIL);
+        return grown;
+    }
+}
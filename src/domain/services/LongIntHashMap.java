@@ -0,0 +1,82 @@
+package domain.services;
+
+import java.util.Arrays;
+
+// Open-addressing map from non-negative longs to ints, no boxing
+final class LongIntHashMap {
+    private static final long EMPTY = -1L;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // Returns the value already mapped to the key, or -1 after storing the given value
+    int putIfAbsent(long key, int value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("LongIntHashMap only stores non-negative keys");
+        }
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return -1;
+    }
+
+    // Value mapped to the key, or -1 if there is none
+    int get(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    int size() { return size; }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        return (int) value;
+    }
+}
@@ -0,0 +1,45 @@
+package domain.services;
+
+import java.util.Arrays;
+
+class LongMinHeap {
+    private long[] heap;
+    private int size;
+
+    LongMinHeap(int initialCapacity) {
+        this.heap = new long[Math.max(1, initialCapacity)];
+    }
+
+    void add(long value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    long poll() {
+        long min = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return min;
+    }
+
+    boolean isEmpty() { return size == 0; }
+    int size() { return size; }
+}
@@ -0,0 +1,377 @@
+package domain.services;
+
+import domain.models.*;
+
+import java.util.*;
+
+// Minimum spanning arborescence of a directed graph: Tarjan's O(E log V) Chu-Liu/Edmonds with lazily offset
+// skew heaps of incoming edges and a rollback union-find for cycle contraction; contracted cycles are expanded
+// afterwards to recover the chosen edges.
+// Without a fixed root, a virtual root with a very expensive edge to every vertex is added: the result then uses
+// as few roots as possible (a minimum branching forest when no single vertex reaches all others).
+// Undirected input is read as a pair of opposite arcs per edge, which yields an ordinary MST.
+public class MinimumArborescenceAlgorithm implements MSTAlgorithm {
+    private final String rootId;
+
+    public MinimumArborescenceAlgorithm(String rootId) {
+        this.rootId = rootId;
+    }
+
+    public MinimumArborescenceAlgorithm() {
+        this(null);
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(CompactGraph.from(graph));
+    }
+
+    public MSTResult findMST(CompactGraph graph) {
+        MSTMetrics metrics = new MSTMetrics(getAlgorithmName());
+        long startTime = System.nanoTime();
+
+        int vertexCount = graph.getVertexCount();
+        int root = -1;
+        if (rootId != null) {
+            root = graph.indexOf(rootId);
+            if (root < 0) {
+                throw new IllegalArgumentException("Root vertex " + rootId + " is not in the graph");
+            }
+        }
+
+        // Arcs: the graph's edges (both directions if undirected), then one arc from the virtual root per vertex
+        metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
+        int virtualRoot = vertexCount;
+        int arcCapacity = graph.getEdgeCount() * (graph.isDirected() ? 1 : 2) + vertexCount;
+        Arcs arcs = new Arcs(arcCapacity);
+        long absoluteSum = 0;
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            int u = graph.getSource(e);
+            int v = graph.getDestination(e);
+            int weight = graph.getWeight(e);
+            absoluteSum += Math.abs((long) weight);
+            if (v != root) arcs.add(u, v, weight, e);
+            if (!graph.isDirected() && u != root) arcs.add(v, u, weight, e);
+        }
+        // Heavier than any difference between two sets of real arcs, so every extra root costs more than it saves
+        long rootArcWeight = 2 * absoluteSum + 1;
+        for (int v = 0; v < vertexCount; v++) {
+            if (root < 0 || v == root) {
+                arcs.add(virtualRoot, v, root < 0 ? rootArcWeight : 0, -1);
+            }
+        }
+
+        int[] incoming = new Contraction(vertexCount + 1, arcs, metrics).solve(virtualRoot);
+        metrics.endPhase();
+
+        // Every vertex keeps exactly one incoming arc; arcs from the virtual root mark the roots
+        List<Edge> treeEdges = new ArrayList<>(Math.max(0, vertexCount - 1));
+        int[] parent = new int[vertexCount];
+        long totalCost = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            int arc = incoming[v];
+            parent[v] = arcs.from[arc];
+            if (arcs.from[arc] == virtualRoot) {
+                continue;
+            }
+            int edge = arcs.edge[arc];
+            treeEdges.add(graph.toEdge(edge, arcs.from[arc]));
+            totalCost += arcs.weight[arc];
+        }
+
+        metrics.complete(vertexCount, graph.getEdgeCount());
+        long endTime = System.nanoTime();
+        return new MSTResult(treeEdges, (int) totalCost, metrics, endTime - startTime)
+                .withComponents(components(parent, virtualRoot, arcs, incoming));
+    }
+
+    // One component per root, largest first, in the same shape as MinimumSpanningForest reports
+    private static List<SpanningComponent> components(int[] parent, int virtualRoot, Arcs arcs, int[] incoming) {
+        int vertexCount = parent.length;
+        int[] rootOf = new int[vertexCount];
+        Arrays.fill(rootOf, -1);
+        int[] stack = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            int size = 0;
+            int u = v;
+            while (rootOf[u] < 0 && parent[u] != virtualRoot) {
+                stack[size++] = u;
+                u = parent[u];
+            }
+            int root = rootOf[u] >= 0 ? rootOf[u] : u;
+            rootOf[u] = root;
+            while (size > 0) {
+                rootOf[stack[--size]] = root;
+            }
+        }
+
+        Map<Integer, long[]> byRoot = new LinkedHashMap<>();
+        for (int v = 0; v < vertexCount; v++) {
+            long[] totals = byRoot.computeIfAbsent(rootOf[v], r -> new long[3]);
+            totals[0]++;
+            if (parent[v] != virtualRoot) {
+                totals[1]++;
+                totals[2] += arcs.weight[incoming[v]];
+            }
+        }
+        List<SpanningComponent> components = new ArrayList<>(byRoot.size());
+        for (long[] totals : byRoot.values()) {
+            components.add(new SpanningComponent((int) totals[0], (int) totals[1], totals[2]));
+        }
+        components.sort(Comparator.comparingInt(SpanningComponent::getVertexCount).reversed());
+        return components;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return rootId == null
+                ? "Minimum Arborescence (Tarjan)"
+                : "Minimum Arborescence (Tarjan, root " + rootId + ")";
+    }
+
+    @Override
+    public String getAlgorithmComplexity() {
+        return "O(E log V) with skew heaps and a rollback union-find";
+    }
+
+    private static final class Arcs {
+        final int[] from;
+        final int[] to;
+        final long[] weight;
+        // Graph edge behind the arc, -1 for virtual-root arcs
+        final int[] edge;
+        int size;
+
+        Arcs(int capacity) {
+            from = new int[capacity];
+            to = new int[capacity];
+            weight = new long[capacity];
+            edge = new int[capacity];
+        }
+
+        void add(int u, int v, long w, int graphEdge) {
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            edge[size] = graphEdge;
+            size++;
+        }
+    }
+
+    private static final class Contraction {
+        private final int nodeCount;
+        private final Arcs arcs;
+        private final MSTMetrics metrics;
+
+        // Skew heap over arc ids, ordered by weight minus the lazily propagated offsets
+        private final long[] key;
+        private final long[] offset;
+        private final int[] left;
+        private final int[] right;
+        private final int[] heap;
+
+        // Union-find without path compression so contractions can be undone in reverse order
+        private final int[] parent;
+        private final int[] size;
+        private final int[] history;
+        private int historySize;
+
+        private long pushes;
+        private long polls;
+        private long finds;
+        private long unions;
+
+        Contraction(int nodeCount, Arcs arcs, MSTMetrics metrics) {
+            this.nodeCount = nodeCount;
+            this.arcs = arcs;
+            this.metrics = metrics;
+            this.key = Arrays.copyOf(arcs.weight, arcs.size);
+            this.offset = new long[arcs.size];
+            this.left = new int[arcs.size];
+            this.right = new int[arcs.size];
+            Arrays.fill(left, -1);
+            Arrays.fill(right, -1);
+            this.heap = new int[nodeCount];
+            Arrays.fill(heap, -1);
+            this.parent = new int[nodeCount];
+            this.size = new int[nodeCount];
+            for (int v = 0; v < nodeCount; v++) {
+                parent[v] = v;
+                size[v] = 1;
+            }
+            this.history = new int[nodeCount];
+        }
+
+        // Returns the chosen incoming arc of every node except the root
+        int[] solve(int root) {
+            for (int arc = 0; arc < arcs.size; arc++) {
+                heap[arcs.to[arc]] = merge(heap[arcs.to[arc]], arc);
+                pushes++;
+            }
+
+            int[] seen = new int[nodeCount];
+            Arrays.fill(seen, -1);
+            seen[root] = root;
+            int[] path = new int[nodeCount];
+            int[] queue = new int[nodeCount];
+            int[] incoming = new int[nodeCount];
+            Arrays.fill(incoming, -1);
+            List<Cycle> cycles = new ArrayList<>();
+
+            for (int start = 0; start < nodeCount; start++) {
+                int u = start;
+                int length = 0;
+                // Follow cheapest incoming arcs until reaching an already settled node or closing a cycle
+                while (seen[u] < 0) {
+                    if (heap[u] < 0) {
+                        throw new IllegalArgumentException("Not every vertex is reachable from the root");
+                    }
+                    int arc = top(heap[u]);
+                    long reduced = key[arc];
+                    offset[heap[u]] -= reduced;
+                    heap[u] = pop(heap[u]);
+                    queue[length] = arc;
+                    path[length++] = u;
+                    seen[u] = start;
+                    u = find(arcs.from[arc]);
+
+                    if (seen[u] == start) {
+                        // Contract the cycle into one node whose heap holds every member's remaining arcs
+                        int merged = -1;
+                        int end = length;
+                        int time = historySize;
+                        int w;
+                        do {
+                            w = path[--length];
+                            merged = merge(merged, heap[w]);
+                        } while (join(u, w));
+                        u = find(u);
+                        heap[u] = merged;
+                        seen[u] = -1;
+                        cycles.add(new Cycle(u, time, Arrays.copyOfRange(queue, length, end)));
+                    }
+                }
+                for (int i = 0; i < length; i++) {
+                    incoming[find(arcs.to[queue[i]])] = queue[i];
+                }
+            }
+
+            // Expand cycles, latest first: every member takes its cycle arc except the one the cycle was entered by
+            for (int c = cycles.size() - 1; c >= 0; c--) {
+                Cycle cycle = cycles.get(c);
+                rollback(cycle.time);
+                int entry = incoming[cycle.node];
+                for (int arc : cycle.arcs) {
+                    incoming[find(arcs.to[arc])] = arc;
+                }
+                incoming[find(arcs.to[entry])] = entry;
+            }
+
+            metrics.add(MSTMetrics.Counter.HEAP_PUSHES, pushes);
+            metrics.add(MSTMetrics.Counter.HEAP_POLLS, polls);
+            metrics.add(MSTMetrics.Counter.FINDS, finds);
+            metrics.add(MSTMetrics.Counter.UNIONS, unions);
+            metrics.add(MSTMetrics.Counter.EDGES_SCANNED, polls);
+            return incoming;
+        }
+
+        private void propagate(int node) {
+            long delta = offset[node];
+            if (delta != 0) {
+                key[node] += delta;
+                if (left[node] >= 0) offset[left[node]] += delta;
+                if (right[node] >= 0) offset[right[node]] += delta;
+                offset[node] = 0;
+            }
+        }
+
+        private int top(int node) {
+            propagate(node);
+            return node;
+        }
+
+        private int pop(int node) {
+            propagate(node);
+            polls++;
+            return merge(left[node], right[node]);
+        }
+
+        // Top-down skew heap merge, iterative so long right spines cannot overflow the stack
+        private int merge(int a, int b) {
+            if (a < 0) return b;
+            if (b < 0) return a;
+            propagate(a);
+            propagate(b);
+            if (key[a] > key[b]) {
+                int tmp = a;
+                a = b;
+                b = tmp;
+            }
+            int root = a;
+            int node = a;
+            int other = b;
+            while (true) {
+                int next = right[node];
+                right[node] = left[node];
+                if (next < 0) {
+                    left[node] = other;
+                    return root;
+                }
+                propagate(next);
+                if (key[next] > key[other]) {
+                    int tmp = next;
+                    next = other;
+                    other = tmp;
+                }
+                left[node] = next;
+                node = next;
+            }
+        }
+
+        private int find(int node) {
+            finds++;
+            while (parent[node] != node) {
+                node = parent[node];
+            }
+            return node;
+        }
+
+        private boolean join(int a, int b) {
+            a = find(a);
+            b = find(b);
+            if (a == b) {
+                return false;
+            }
+            if (size[a] < size[b]) {
+                int tmp = a;
+                a = b;
+                b = tmp;
+            }
+            parent[b] = a;
+            size[a] += size[b];
+            history[historySize++] = b;
+            unions++;
+            return true;
+        }
+
+        private void rollback(int time) {
+            while (historySize > time) {
+                int b = history[--historySize];
+                size[parent[b]] -= size[b];
+                parent[b] = b;
+            }
+        }
+    }
+
+    private static final class Cycle {
+        final int node;
+        final int time;
+        final int[] arcs;
+
+        Cycle(int node, int time, int[] arcs) {
+            this.node = node;
+            this.time = time;
+            this.arcs = arcs;
+        }
+    }
+}
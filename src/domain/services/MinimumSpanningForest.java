@@ -0,0 +1,174 @@
+package domain.services;
+
+import domain.models.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+// Splits the graph into connected components with a union-find pre-pass and runs Prim on each component
+// in parallel, so disconnected inputs yield a full minimum spanning forest instead of one partial tree.
+// Runs on a caller-supplied pool, or on a private one that close() shuts down.
+public class MinimumSpanningForest implements MSTAlgorithm, AutoCloseable {
+    private static final MSTMetrics.Counter[] COUNTERS = MSTMetrics.Counter.values();
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final PrimAlgorithm componentAlgorithm = new PrimAlgorithm();
+
+    public MinimumSpanningForest(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.ownsPool = false;
+    }
+
+    public MinimumSpanningForest(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, got " + parallelism);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.ownsPool = true;
+    }
+
+    public MinimumSpanningForest() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(CompactGraph.from(graph));
+    }
+
+    public MSTResult findMST(CompactGraph graph) {
+        MSTMetrics metrics = new MSTMetrics(getAlgorithmName());
+        long startTime = System.nanoTime();
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+
+        // One Prim run over the whole graph first: a connected graph is done with no labelling pass, bucketing,
+        // subgraph copy or fork/join hop, so its time is comparable with a plain Kruskal run. When the run does not
+        // span every vertex, its work stays in the metrics and the graph is split into components below.
+        if (vertexCount > 0) {
+            metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
+            MSTResult whole = componentAlgorithm.findMST(graph);
+            metrics.endPhase();
+            addCounters(metrics, whole);
+            if (whole.getMstEdges().size() == vertexCount - 1) {
+                metrics.complete(vertexCount, edgeCount);
+                long endTime = System.nanoTime();
+                return new MSTResult(whole.getMstEdges(), whole.getTotalCost(), metrics, endTime - startTime)
+                        .withComponents(List.of(new SpanningComponent(vertexCount, vertexCount - 1, whole.getTotalCost())));
+            }
+        }
+
+        metrics.beginPhase(MSTMetrics.Phase.COMPONENTS);
+        IntDisjointSet disjointSet = new IntDisjointSet(vertexCount);
+        for (int e = 0; e < edgeCount; e++) {
+            disjointSet.union(graph.getSource(e), graph.getDestination(e));
+        }
+        metrics.add(MSTMetrics.Counter.FINDS, disjointSet.getFindCount());
+        metrics.add(MSTMetrics.Counter.UNIONS, disjointSet.getUnionCount());
+        metrics.add(MSTMetrics.Counter.PATH_COMPRESSION_STEPS, disjointSet.getCompressionSteps());
+
+        // Components are numbered in order of their lowest vertex index
+        int[] componentOf = new int[vertexCount];
+        int[] componentByRoot = new int[vertexCount];
+        Arrays.fill(componentByRoot, -1);
+        int componentCount = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            int root = disjointSet.find(v);
+            if (componentByRoot[root] < 0) {
+                componentByRoot[root] = componentCount++;
+            }
+            componentOf[v] = componentByRoot[root];
+        }
+
+        // Bucket vertices and edges by component (counting sort), remembering each vertex's local index
+        int[] vertexStart = new int[componentCount + 1];
+        int[] edgeStart = new int[componentCount + 1];
+        for (int v = 0; v < vertexCount; v++) vertexStart[componentOf[v] + 1]++;
+        for (int e = 0; e < edgeCount; e++) edgeStart[componentOf[graph.getSource(e)] + 1]++;
+        for (int c = 0; c < componentCount; c++) {
+            vertexStart[c + 1] += vertexStart[c];
+            edgeStart[c + 1] += edgeStart[c];
+        }
+        int[] vertexOrder = new int[vertexCount];
+        int[] edgeOrder = new int[edgeCount];
+        int[] localIndex = new int[vertexCount];
+        int[] cursor = Arrays.copyOf(vertexStart, componentCount);
+        for (int v = 0; v < vertexCount; v++) {
+            int slot = cursor[componentOf[v]]++;
+            vertexOrder[slot] = v;
+            localIndex[v] = slot - vertexStart[componentOf[v]];
+        }
+        cursor = Arrays.copyOf(edgeStart, componentCount);
+        for (int e = 0; e < edgeCount; e++) {
+            edgeOrder[cursor[componentOf[graph.getSource(e)]]++] = e;
+        }
+
+        // Largest components first, so one big island does not start last and dominate the wall time
+        Integer[] bySize = new Integer[componentCount];
+        for (int c = 0; c < componentCount; c++) bySize[c] = c;
+        Arrays.sort(bySize, (a, b) -> Integer.compare(edgeStart[b + 1] - edgeStart[b], edgeStart[a + 1] - edgeStart[a]));
+
+        metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
+        MSTResult[] results = new MSTResult[componentCount];
+        int grain = Math.max(1, componentCount / (pool.getParallelism() * 8));
+        ParallelLoops.forRange(pool, 0, componentCount, grain, i -> {
+            int c = bySize[i];
+            int[] vertices = Arrays.copyOfRange(vertexOrder, vertexStart[c], vertexStart[c + 1]);
+            if (vertices.length == 1) {
+                return; // An isolated vertex is a tree of its own
+            }
+            int[] edges = Arrays.copyOfRange(edgeOrder, edgeStart[c], edgeStart[c + 1]);
+            results[c] = componentAlgorithm.findMST(graph.subgraph(vertices, edges, localIndex));
+        });
+        metrics.endPhase();
+
+        List<Edge> mstEdges = new ArrayList<>(Math.max(0, vertexCount - componentCount));
+        List<SpanningComponent> components = new ArrayList<>(componentCount);
+        long totalCost = 0;
+        for (int c = 0; c < componentCount; c++) {
+            MSTResult result = results[c];
+            int size = vertexStart[c + 1] - vertexStart[c];
+            if (result == null) {
+                components.add(new SpanningComponent(size, 0, 0));
+                continue;
+            }
+            mstEdges.addAll(result.getMstEdges());
+            components.add(new SpanningComponent(size, result.getMstEdges().size(), result.getTotalCost()));
+            totalCost += result.getTotalCost();
+            addCounters(metrics, result);
+        }
+
+        metrics.complete(vertexCount, edgeCount);
+        long endTime = System.nanoTime();
+        return new MSTResult(mstEdges, (int) totalCost, metrics, endTime - startTime).withComponents(components);
+    }
+
+    private static void addCounters(MSTMetrics metrics, MSTResult result) {
+        if (result.getMetrics() != null) {
+            for (MSTMetrics.Counter counter : COUNTERS) {
+                metrics.add(counter, result.getMetrics().get(counter));
+            }
+        }
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Prim's Minimum Spanning Forest (parallelism " + pool.getParallelism() + ")";
+    }
+
+    @Override
+    public String getAlgorithmComplexity() {
+        return "O(E log V) total, components solved in parallel";
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+}
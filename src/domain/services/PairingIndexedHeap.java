@@ -0,0 +1,131 @@
+package domain.services;
+
+import java.util.Arrays;
+
+public class PairingIndexedHeap implements IndexedMinPriorityQueue {
+    private static final int NONE = -1;
+
+    private final int[] keys;
+    private final int[] child;
+    private final int[] sibling;
+    // Previous sibling, or the parent for a leftmost child
+    private final int[] prev;
+    private final boolean[] inHeap;
+    private final int[] pairs;
+    private int root = NONE;
+    private int size;
+
+    public PairingIndexedHeap(int capacity) {
+        this.keys = new int[capacity];
+        this.child = new int[capacity];
+        this.sibling = new int[capacity];
+        this.prev = new int[capacity];
+        this.inHeap = new boolean[capacity];
+        this.pairs = new int[capacity];
+        Arrays.fill(child, NONE);
+        Arrays.fill(sibling, NONE);
+        Arrays.fill(prev, NONE);
+    }
+
+    @Override
+    public void insert(int index, int key) {
+        if (inHeap[index]) {
+            throw new IllegalArgumentException("Index already in heap: " + index);
+        }
+        keys[index] = key;
+        child[index] = NONE;
+        sibling[index] = NONE;
+        prev[index] = NONE;
+        inHeap[index] = true;
+        root = link(root, index);
+        size++;
+    }
+
+    @Override
+    public void decreaseKey(int index, int key) {
+        if (key > keys[index]) {
+            throw new IllegalArgumentException("New key is greater than current key");
+        }
+        keys[index] = key;
+        if (index == root) {
+            return;
+        }
+        detach(index);
+        root = link(root, index);
+    }
+
+    @Override
+    public int pollMin() {
+        int min = root;
+        inHeap[min] = false;
+        size--;
+
+        // First pass: link children pairwise from left to right
+        int count = 0;
+        int current = child[min];
+        while (current != NONE) {
+            int first = current;
+            int second = sibling[first];
+            current = second == NONE ? NONE : sibling[second];
+            sibling[first] = NONE;
+            prev[first] = NONE;
+            if (second != NONE) {
+                sibling[second] = NONE;
+                prev[second] = NONE;
+            }
+            pairs[count++] = link(first, second);
+        }
+
+        // Second pass: fold the pairs from right to left
+        int newRoot = NONE;
+        for (int i = count - 1; i >= 0; i--) {
+            newRoot = link(pairs[i], newRoot);
+        }
+        root = newRoot;
+        child[min] = NONE;
+        return min;
+    }
+
+    private void detach(int index) {
+        int before = prev[index];
+        if (child[before] == index) {
+            child[before] = sibling[index];
+        } else {
+            sibling[before] = sibling[index];
+        }
+        if (sibling[index] != NONE) {
+            prev[sibling[index]] = before;
+        }
+        sibling[index] = NONE;
+        prev[index] = NONE;
+    }
+
+    private int link(int a, int b) {
+        if (a == NONE) return b;
+        if (b == NONE) return a;
+        if (keys[b] < keys[a]) {
+            int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        sibling[b] = child[a];
+        if (child[a] != NONE) {
+            prev[child[a]] = b;
+        }
+        prev[b] = a;
+        child[a] = b;
+        return a;
+    }
+
+    @Override
+    public boolean contains(int index) { return inHeap[index]; }
+
+    @Override
+    public int keyOf(int index) { return keys[index]; }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public int size() { return size; }
+}
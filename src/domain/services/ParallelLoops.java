@@ -0,0 +1,147 @@
+package domain.services;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+
+// Fork/join helpers shared by the parallel MST engines
+final class ParallelLoops {
+    static final int DEFAULT_GRAIN = 4096;
+
+    private ParallelLoops() {}
+
+    static void forRange(ForkJoinPool pool, int from, int to, IntConsumer body) {
+        forRange(pool, from, to, DEFAULT_GRAIN, body);
+    }
+
+    static void forRange(ForkJoinPool pool, int from, int to, int grain, IntConsumer body) {
+        if (to - from <= grain) {
+            for (int i = from; i < to; i++) {
+                body.accept(i);
+            }
+            return;
+        }
+        pool.invoke(new RangeTask(from, to, grain, body));
+    }
+
+    // Stable parallel filter: returns the elements of values[0..length) that satisfy keep, in original order
+    static int[] filter(ForkJoinPool pool, int[] values, int length, IntPredicate keep) {
+        int chunks = chunkCount(pool, length);
+        int chunkSize = (length + chunks - 1) / chunks;
+        int[] counts = new int[chunks + 1];
+        boolean[] kept = new boolean[length];
+
+        forRange(pool, 0, chunks, 1, chunk -> {
+            int end = Math.min(length, (chunk + 1) * chunkSize);
+            int count = 0;
+            for (int i = chunk * chunkSize; i < end; i++) {
+                if (keep.test(values[i])) {
+                    kept[i] = true;
+                    count++;
+                }
+            }
+            counts[chunk + 1] = count;
+        });
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            counts[chunk + 1] += counts[chunk];
+        }
+
+        int[] result = new int[counts[chunks]];
+        forRange(pool, 0, chunks, 1, chunk -> {
+            int end = Math.min(length, (chunk + 1) * chunkSize);
+            int out = counts[chunk];
+            for (int i = chunk * chunkSize; i < end; i++) {
+                if (kept[i]) {
+                    result[out++] = values[i];
+                }
+            }
+        });
+        return result;
+    }
+
+    // Stable parallel partition of values[from..to): elements matching left first, then the rest.
+    // Uses scratch[from..to) as the staging area and returns the number of left elements.
+    static int partition(ForkJoinPool pool, long[] values, long[] scratch, int from, int to, LongPredicate left) {
+        return scatter(pool, values, scratch, from, to, left, true);
+    }
+
+    // Stable parallel filter of values[from..to) in place; returns the number of kept elements
+    static int filter(ForkJoinPool pool, long[] values, long[] scratch, int from, int to, LongPredicate keep) {
+        return scatter(pool, values, scratch, from, to, keep, false);
+    }
+
+    private static int scatter(ForkJoinPool pool, long[] values, long[] scratch, int from, int to,
+                               LongPredicate left, boolean keepRight) {
+        int length = to - from;
+        int chunks = chunkCount(pool, length);
+        int chunkSize = (length + chunks - 1) / chunks;
+        int[] leftCounts = new int[chunks + 1];
+
+        forRange(pool, 0, chunks, 1, chunk -> {
+            int end = Math.min(to, from + (chunk + 1) * chunkSize);
+            int count = 0;
+            for (int i = from + chunk * chunkSize; i < end; i++) {
+                if (left.test(values[i])) count++;
+            }
+            leftCounts[chunk + 1] = count;
+        });
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            leftCounts[chunk + 1] += leftCounts[chunk];
+        }
+        int leftTotal = leftCounts[chunks];
+
+        forRange(pool, 0, chunks, 1, chunk -> {
+            int start = from + chunk * chunkSize;
+            int end = Math.min(to, start + chunkSize);
+            int leftOut = from + leftCounts[chunk];
+            // Right elements before this chunk = elements before it minus left elements before it
+            int rightOut = from + leftTotal + (start - from) - leftCounts[chunk];
+            for (int i = start; i < end; i++) {
+                if (left.test(values[i])) {
+                    scratch[leftOut++] = values[i];
+                } else if (keepRight) {
+                    scratch[rightOut++] = values[i];
+                }
+            }
+        });
+
+        int copied = keepRight ? length : leftTotal;
+        System.arraycopy(scratch, from, values, from, copied);
+        return leftTotal;
+    }
+
+    static int chunkCount(ForkJoinPool pool, int length) {
+        int byGrain = (length + DEFAULT_GRAIN - 1) / DEFAULT_GRAIN;
+        return Math.max(1, Math.min(byGrain, pool.getParallelism() * 4));
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final IntConsumer body;
+
+        RangeTask(int from, int to, int grain, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, grain, body), new RangeTask(mid, to, grain, body));
+        }
+    }
+}
@@ -4,58 +4,202 @@ import domain.models.*;
 import java.util.*;
 
 public class PrimAlgorithm implements MSTAlgorithm {
-    private int operationsCount;
-
     @Override
     public MSTResult findMST(Graph graph) {
-        operationsCount = 0;
+        MSTMetrics metrics = new MSTMetrics(getAlgorithmName());
         long startTime = System.nanoTime();
 
         if (graph.getVertexCount() == 0) {
-            return new MSTResult(Collections.emptyList(), 0, 0, 0);
+            metrics.complete(0, 0);
+            return new MSTResult(Collections.emptyList(), 0, metrics, 0);
         }
 
+        metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
         Set<Vertex> visited = new HashSet<>();
         List<Edge> mstEdges = new ArrayList<>();
         int totalCost = 0;
+        long pushes = 0;
+        long polls = 0;
+        long scanned = 0;
+        long rejected = 0;
 
         // Use priority queue for efficient minimum edge selection
         PriorityQueue<Edge> minHeap = new PriorityQueue<>(Comparator.comparingInt(Edge::getWeight));
-        operationsCount++; // Priority queue creation
 
         // Start with first vertex
         Vertex start = graph.getVertices().iterator().next();
         visited.add(start);
-        operationsCount++;
 
         // Add all edges from start vertex
-        minHeap.addAll(graph.getEdgesFromVertex(start));
-        operationsCount += graph.getEdgesFromVertex(start).size();
+        List<Edge> startEdges = graph.getEdgesFromVertex(start);
+        minHeap.addAll(startEdges);
+        pushes += startEdges.size();
+        scanned += startEdges.size();
 
         while (!minHeap.isEmpty() && visited.size() < graph.getVertexCount()) {
             Edge minEdge = minHeap.poll();
-            operationsCount++;
+            polls++;
 
             Vertex nextVertex = getUnvisitedVertex(minEdge, visited);
             if (nextVertex != null) {
                 visited.add(nextVertex);
                 mstEdges.add(minEdge);
                 totalCost += minEdge.getWeight();
-                operationsCount += 3;
 
                 // Add edges from the new vertex
                 for (Edge edge : graph.getEdgesFromVertex(nextVertex)) {
+                    scanned++;
                     if (!visited.contains(edge.getTo())) {
                         minHeap.add(edge);
-                        operationsCount++;
+                        pushes++;
+                    } else {
+                        rejected++;
+                    }
+                }
+            } else {
+                rejected++; // Both endpoints already in the tree
+            }
+        }
+
+        recordCounters(metrics, pushes, polls, scanned, rejected);
+        metrics.complete(graph.getVertexCount(), graph.getEdgeCount());
+        long endTime = System.nanoTime();
+        return new MSTResult(mstEdges, totalCost, metrics, endTime - startTime);
+    }
+
+    public MSTResult findMST(CompactGraph graph) {
+        MSTMetrics metrics = new MSTMetrics(getAlgorithmName());
+        long startTime = System.nanoTime();
+
+        int vertexCount = graph.getVertexCount();
+        if (vertexCount == 0) {
+            metrics.complete(0, 0);
+            return new MSTResult(Collections.emptyList(), 0, metrics, 0);
+        }
+
+        metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
+        boolean[] visited = new boolean[vertexCount];
+        List<Edge> mstEdges = new ArrayList<>(vertexCount - 1);
+        int totalCost = 0;
+        long polls = 0;
+        long rejected = 0;
+
+        // Heap entries are (weight, adjacency slot) packed into a long
+        LongMinHeap minHeap = new LongMinHeap(vertexCount);
+
+        visited[0] = true;
+        int visitedCount = 1;
+        long pushes = pushAdjacentEdges(graph, 0, visited, minHeap);
+        long scanned = graph.getDegree(0);
+
+        while (!minHeap.isEmpty() && visitedCount < vertexCount) {
+            int slot = EdgeKeys.index(minHeap.poll());
+            polls++;
+
+            int nextVertex = graph.getAdjacentVertex(slot);
+            if (!visited[nextVertex]) {
+                int edge = graph.getAdjacentEdge(slot);
+                visited[nextVertex] = true;
+                visitedCount++;
+                mstEdges.add(graph.toEdge(edge, graph.getSource(edge) == nextVertex
+                        ? graph.getDestination(edge) : graph.getSource(edge)));
+                totalCost += graph.getWeight(edge);
+
+                pushes += pushAdjacentEdges(graph, nextVertex, visited, minHeap);
+                scanned += graph.getDegree(nextVertex);
+            } else {
+                rejected++;
+            }
+        }
+
+        // Adjacent edges that were not pushed led back into the tree
+        recordCounters(metrics, pushes, polls, scanned, rejected + scanned - pushes);
+        metrics.complete(vertexCount, graph.getEdgeCount());
+        long endTime = System.nanoTime();
+        return new MSTResult(mstEdges, totalCost, metrics, endTime - startTime);
+    }
+
+    // Eager variant so the heap holds at most V entries on-heap while the adjacency stays off-heap.
+    // Every unvisited vertex starts a new tree, so the result is a spanning forest.
+    public MSTResult findMST(OffHeapGraph graph) {
+        MSTMetrics metrics = new MSTMetrics(getAlgorithmName() + " [off-heap]");
+        long startTime = System.nanoTime();
+        graph.buildAdjacency();
+
+        metrics.beginPhase(MSTMetrics.Phase.MAIN_LOOP);
+        int vertexCount = graph.getVertexCount();
+        boolean[] inTree = new boolean[vertexCount];
+        int[] bestEdge = new int[vertexCount];
+        Arrays.fill(bestEdge, -1);
+        IndexedMinPriorityQueue heap = new DaryIndexedHeap(vertexCount, 4);
+        List<Edge> mstEdges = new ArrayList<>(Math.max(0, vertexCount - 1));
+        int totalCost = 0;
+        long pushes = 0;
+        long polls = 0;
+        long scanned = 0;
+        long rejected = 0;
+
+        for (int root = 0; root < vertexCount; root++) {
+            if (inTree[root]) continue;
+            heap.insert(root, Integer.MIN_VALUE);
+            pushes++;
+
+            while (!heap.isEmpty()) {
+                int vertex = heap.pollMin();
+                polls++;
+                inTree[vertex] = true;
+                if (bestEdge[vertex] >= 0) {
+                    int edge = bestEdge[vertex];
+                    int other = graph.getSource(edge) == vertex ? graph.getDestination(edge) : graph.getSource(edge);
+                    mstEdges.add(graph.toEdge(edge, other));
+                    totalCost += graph.getWeight(edge);
+                }
+
+                long end = graph.getAdjacencyEnd(vertex);
+                for (long slot = graph.getAdjacencyStart(vertex); slot < end; slot++) {
+                    scanned++;
+                    int next = graph.getAdjacentVertex(slot);
+                    int edge = graph.getAdjacentEdge(slot);
+                    int weight = graph.getWeight(edge);
+                    if (inTree[next]) {
+                        rejected++;
+                    } else if (!heap.contains(next)) {
+                        bestEdge[next] = edge;
+                        heap.insert(next, weight);
+                        pushes++;
+                    } else if (weight < heap.keyOf(next)) {
+                        bestEdge[next] = edge;
+                        heap.decreaseKey(next, weight);
+                    } else {
+                        rejected++;
                     }
                 }
-                operationsCount += graph.getEdgesFromVertex(nextVertex).size();
             }
         }
 
+        recordCounters(metrics, pushes, polls, scanned, rejected);
+        metrics.complete(vertexCount, graph.getEdgeCount());
         long endTime = System.nanoTime();
-        return new MSTResult(mstEdges, totalCost, operationsCount, endTime - startTime);
+        return new MSTResult(mstEdges, totalCost, metrics, endTime - startTime);
+    }
+
+    // Returns the number of edges pushed
+    private int pushAdjacentEdges(CompactGraph graph, int vertex, boolean[] visited, LongMinHeap minHeap) {
+        int pushed = 0;
+        for (int slot = graph.getAdjacencyStart(vertex); slot < graph.getAdjacencyEnd(vertex); slot++) {
+            if (!visited[graph.getAdjacentVertex(slot)]) {
+                minHeap.add(EdgeKeys.pack(graph.getWeight(graph.getAdjacentEdge(slot)), slot));
+                pushed++;
+            }
+        }
+        return pushed;
+    }
+
+    private static void recordCounters(MSTMetrics metrics, long pushes, long polls, long scanned, long rejected) {
+        metrics.add(MSTMetrics.Counter.HEAP_PUSHES, pushes);
+        metrics.add(MSTMetrics.Counter.HEAP_POLLS, polls);
+        metrics.add(MSTMetrics.Counter.EDGES_SCANNED, scanned);
+        metrics.add(MSTMetrics.Counter.EDGES_REJECTED, rejected);
     }
 
     private Vertex getUnvisitedVertex(Edge edge, Set<Vertex> visited) {
@@ -0,0 +1,136 @@
+package domain.services;
+
+import java.util.Arrays;
+
+// Monotone radix heap for non-negative int keys. Prim's keys are not monotone, so keys that fall
+// below the last extracted minimum are parked in a small binary overflow heap that is always drained first.
+public class RadixIndexedHeap implements IndexedMinPriorityQueue {
+    private static final int NONE = -1;
+    private static final int BUCKETS = 32;
+
+    private final int[] keys;
+    private final int[] bucketOf;
+    private final int[] next;
+    private final int[] prev;
+    private final int[] head = new int[BUCKETS];
+    private final DaryIndexedHeap overflow;
+    private int last;
+    private int radixSize;
+
+    public RadixIndexedHeap(int capacity) {
+        this.keys = new int[capacity];
+        this.bucketOf = new int[capacity];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.overflow = new DaryIndexedHeap(capacity, 2);
+        Arrays.fill(bucketOf, NONE);
+        Arrays.fill(head, NONE);
+    }
+
+    @Override
+    public void insert(int index, int key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Radix heap requires non-negative keys, got " + key);
+        }
+        if (contains(index)) {
+            throw new IllegalArgumentException("Index already in heap: " + index);
+        }
+        place(index, key);
+    }
+
+    @Override
+    public void decreaseKey(int index, int key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Radix heap requires non-negative keys, got " + key);
+        }
+        if (overflow.contains(index)) {
+            overflow.decreaseKey(index, key);
+            return;
+        }
+        if (key > keys[index]) {
+            throw new IllegalArgumentException("New key is greater than current key");
+        }
+        unlink(index);
+        place(index, key);
+    }
+
+    @Override
+    public int pollMin() {
+        if (!overflow.isEmpty()) {
+            return overflow.pollMin();
+        }
+        if (head[0] == NONE) {
+            int bucket = 1;
+            while (head[bucket] == NONE) bucket++;
+
+            int min = Integer.MAX_VALUE;
+            for (int i = head[bucket]; i != NONE; i = next[i]) {
+                min = Math.min(min, keys[i]);
+            }
+            last = min;
+
+            // Every key in the bucket now lands in a strictly lower bucket
+            int i = head[bucket];
+            head[bucket] = NONE;
+            while (i != NONE) {
+                int following = next[i];
+                radixSize--;
+                push(i, bucketFor(keys[i]));
+                i = following;
+            }
+        }
+        int min = head[0];
+        unlink(min);
+        return min;
+    }
+
+    private void place(int index, int key) {
+        keys[index] = key;
+        if (key < last) {
+            overflow.insert(index, key);
+        } else {
+            push(index, bucketFor(key));
+        }
+    }
+
+    private int bucketFor(int key) {
+        return key == last ? 0 : BUCKETS - Integer.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void push(int index, int bucket) {
+        bucketOf[index] = bucket;
+        prev[index] = NONE;
+        next[index] = head[bucket];
+        if (head[bucket] != NONE) {
+            prev[head[bucket]] = index;
+        }
+        head[bucket] = index;
+        radixSize++;
+    }
+
+    private void unlink(int index) {
+        int bucket = bucketOf[index];
+        if (prev[index] != NONE) {
+            next[prev[index]] = next[index];
+        } else {
+            head[bucket] = next[index];
+        }
+        if (next[index] != NONE) {
+            prev[next[index]] = prev[index];
+        }
+        bucketOf[index] = NONE;
+        radixSize--;
+    }
+
+    @Override
+    public boolean contains(int index) { return bucketOf[index] != NONE || overflow.contains(index); }
+
+    @Override
+    public int keyOf(int index) { return overflow.contains(index) ? overflow.keyOf(index) : keys[index]; }
+
+    @Override
+    public boolean isEmpty() { return size() == 0; }
+
+    @Override
+    public int size() { return radixSize + overflow.size(); }
+}
@@ -0,0 +1,109 @@
+package domain.services;
+
+import domain.models.OffHeapLongArray;
+
+// LSD radix sort for long keys, 8 bits per pass; passes where every key shares the digit are skipped
+public final class RadixSort {
+    private static final int BITS = 8;
+    private static final int BUCKETS = 1 << BITS;
+    private static final int PASSES = Long.SIZE / BITS;
+
+    private RadixSort() {}
+
+    public static void sort(long[] values) {
+        sort(values, values.length);
+    }
+
+    public static void sort(long[] values, int length) {
+        if (length < 2) {
+            return;
+        }
+
+        int[][] counts = new int[PASSES][BUCKETS];
+        for (int i = 0; i < length; i++) {
+            long value = values[i];
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][digit(value, pass)]++;
+            }
+        }
+
+        long[] source = values;
+        long[] target = new long[length];
+        for (int pass = 0; pass < PASSES; pass++) {
+            int[] count = counts[pass];
+            if (count[digit(source[0], pass)] == length) {
+                continue;
+            }
+
+            int offset = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                int bucketCount = count[bucket];
+                count[bucket] = offset;
+                offset += bucketCount;
+            }
+            for (int i = 0; i < length; i++) {
+                long value = source[i];
+                target[count[digit(value, pass)]++] = value;
+            }
+
+            long[] tmp = source;
+            source = target;
+            target = tmp;
+        }
+
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, length);
+        }
+    }
+
+    // Same algorithm for off-heap keys; scratch must hold at least length values
+    public static void sort(OffHeapLongArray values, OffHeapLongArray scratch, long length) {
+        if (length < 2) {
+            return;
+        }
+
+        long[][] counts = new long[PASSES][BUCKETS];
+        for (long i = 0; i < length; i++) {
+            long value = values.get(i);
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][digit(value, pass)]++;
+            }
+        }
+
+        OffHeapLongArray source = values;
+        OffHeapLongArray target = scratch;
+        for (int pass = 0; pass < PASSES; pass++) {
+            long[] count = counts[pass];
+            if (count[digit(source.get(0), pass)] == length) {
+                continue;
+            }
+
+            long offset = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                long bucketCount = count[bucket];
+                count[bucket] = offset;
+                offset += bucketCount;
+            }
+            for (long i = 0; i < length; i++) {
+                long value = source.get(i);
+                target.set(count[digit(value, pass)]++, value);
+            }
+
+            OffHeapLongArray tmp = source;
+            source = target;
+            target = tmp;
+        }
+
+        if (source != values) {
+            for (long i = 0; i < length; i++) {
+                values.set(i, source.get(i));
+            }
+        }
+    }
+
+    private static int digit(long value, int pass) {
+        int digit = (int) (value >>> (pass * BITS)) & (BUCKETS - 1);
+        // Flip the sign bit in the most significant digit so negative keys sort first
+        return pass == PASSES - 1 ? digit ^ (BUCKETS >>> 1) : digit;
+    }
+}
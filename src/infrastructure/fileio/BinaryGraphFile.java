@@ -0,0 +1,186 @@
+package infrastructure.fileio;
+
+import domain.models.CompactGraph;
+import domain.models.EdgeStream;
+import domain.models.Graph;
+import domain.models.OffHeapArena;
+import domain.models.OffHeapGraph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Memory-mapped binary graph file, little-endian:
+ *   file header   int magic "MSTG", int version, int graphCount, int reserved, long tableOffset, long reserved
+ *   per graph     int graphId, int flags, int vertexCount, int edgeCount, long idBytes, long reserved,
+ *                 int[vertexCount + 1] id offsets, UTF-8 id bytes, padding to 4 bytes,
+ *                 int[edgeCount] sources, int[edgeCount] destinations, int[edgeCount] weights
+ *   table         long[graphCount] section offsets
+ */
+public class BinaryGraphFile implements Closeable {
+    static final int MAGIC = 0x4D535447;
+    static final int VERSION = 1;
+    static final int FLAG_DIRECTED = 1;
+
+    private static final int FILE_HEADER_BYTES = 32;
+    private static final int SECTION_HEADER_BYTES = 32;
+
+    private final FileChannel channel;
+    private final long[] sectionOffsets;
+
+    private BinaryGraphFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        ByteBuffer header = map(0, FILE_HEADER_BYTES);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a binary graph file");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary graph file version " + version);
+        }
+        int graphCount = header.getInt();
+        header.getInt();
+        long tableOffset = header.getLong();
+
+        this.sectionOffsets = new long[graphCount];
+        map(tableOffset, (long) graphCount * Long.BYTES).asLongBuffer().get(sectionOffsets);
+    }
+
+    public static BinaryGraphFile open(Path path) throws IOException {
+        return new BinaryGraphFile(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    public static boolean isBinaryGraphFile(Path path) {
+        return path.getFileName().toString().endsWith(".mstg");
+    }
+
+    public int getGraphCount() {
+        return sectionOffsets.length;
+    }
+
+    public Section getGraph(int index) throws IOException {
+        return new Section(sectionOffsets[index]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Mappings stay valid after the channel is closed
+        channel.close();
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    public final class Section implements EdgeStream {
+        private final int graphId;
+        private final boolean directed;
+        private final int vertexCount;
+        private final int edgeCount;
+        private final IntBuffer idOffsets;
+        private final ByteBuffer idBytes;
+        private final IntBuffer sources;
+        private final IntBuffer destinations;
+        private final IntBuffer weights;
+
+        private Section(long offset) throws IOException {
+            ByteBuffer header = map(offset, SECTION_HEADER_BYTES);
+            this.graphId = header.getInt();
+            this.directed = (header.getInt() & FLAG_DIRECTED) != 0;
+            this.vertexCount = header.getInt();
+            this.edgeCount = header.getInt();
+            long idByteCount = header.getLong();
+
+            long position = offset + SECTION_HEADER_BYTES;
+            this.idOffsets = map(position, (vertexCount + 1L) * Integer.BYTES).asIntBuffer();
+            position += (vertexCount + 1L) * Integer.BYTES;
+            this.idBytes = map(position, idByteCount);
+            position += idByteCount;
+            position += (4 - position % 4) % 4;
+
+            // Each edge array gets its own mapping so no single mapping exceeds the 2 GB buffer limit
+            long arrayBytes = (long) edgeCount * Integer.BYTES;
+            this.sources = map(position, arrayBytes).asIntBuffer();
+            this.destinations = map(position + arrayBytes, arrayBytes).asIntBuffer();
+            this.weights = map(position + 2 * arrayBytes, arrayBytes).asIntBuffer();
+        }
+
+        public int getGraphId() { return graphId; }
+        public boolean isDirected() { return directed; }
+        public int getVertexCount() { return vertexCount; }
+        public int getEdgeCount() { return edgeCount; }
+
+        // Zero-copy read-only views over the mapped edge arrays
+        public IntBuffer sources() { return sources.asReadOnlyBuffer(); }
+        public IntBuffer destinations() { return destinations.asReadOnlyBuffer(); }
+        public IntBuffer weights() { return weights.asReadOnlyBuffer(); }
+
+        @Override
+        public String getVertexId(int vertex) {
+            int start = idOffsets.get(vertex);
+            int end = idOffsets.get(vertex + 1);
+            byte[] bytes = new byte[end - start];
+            idBytes.duplicate().position(start).get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        public String[] getVertexIds() {
+            String[] ids = new String[vertexCount];
+            for (int v = 0; v < vertexCount; v++) {
+                ids[v] = getVertexId(v);
+            }
+            return ids;
+        }
+
+        // Streams straight from the mapping: the page cache holds the edges, not the heap
+        @Override
+        public void forEachEdge(EdgeVisitor visitor) throws IOException {
+            for (int e = 0; e < edgeCount; e++) {
+                visitor.visit(sources.get(e), destinations.get(e), weights.get(e));
+            }
+        }
+
+        public CompactGraph toCompactGraph() {
+            int[] sourceArray = new int[edgeCount];
+            int[] destinationArray = new int[edgeCount];
+            int[] weightArray = new int[edgeCount];
+            sources().get(sourceArray);
+            destinations().get(destinationArray);
+            weights().get(weightArray);
+            return CompactGraph.of(getVertexIds(), directed, sourceArray, destinationArray, weightArray);
+        }
+
+        // Copies the mapped edge arrays into off-heap storage owned by the arena, without on-heap edge arrays
+        public OffHeapGraph toOffHeapGraph(OffHeapArena arena) {
+            OffHeapGraph graph = new OffHeapGraph(getVertexIds(), edgeCount, arena);
+            for (int e = 0; e < edgeCount; e++) {
+                graph.addEdge(sources.get(e), destinations.get(e), weights.get(e));
+            }
+            graph.buildAdjacency();
+            return graph;
+        }
+
+        public Graph toGraph() {
+            String[] ids = getVertexIds();
+            Graph graph = new Graph(directed);
+            for (String id : ids) {
+                graph.addVertex(id);
+            }
+            for (int e = 0; e < edgeCount; e++) {
+                graph.addEdge(ids[sources.get(e)], ids[destinations.get(e)], weights.get(e));
+            }
+            return graph;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package infrastructure.fileio;
+
+import domain.models.CompactGraph;
+import domain.models.Graph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// Appends graphs to a binary graph file one at a time; see BinaryGraphFile for the layout
+public class BinaryGraphWriter implements Closeable {
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final List<Long> sectionOffsets = new ArrayList<>();
+    private boolean closed;
+
+    private BinaryGraphWriter(FileChannel channel) throws IOException {
+        this.channel = channel;
+        // Header is rewritten with the final graph count and table offset on close
+        writeFileHeader(0, 0L);
+    }
+
+    public static BinaryGraphWriter open(Path path) throws IOException {
+        return new BinaryGraphWriter(FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    public void write(int graphId, Graph graph) throws IOException {
+        write(graphId, CompactGraph.from(graph));
+    }
+
+    public void write(int graphId, CompactGraph graph) throws IOException {
+        SectionWriter section = beginGraph(graphId, graph.isDirected(), graph.getVertexCount(),
+                graph::getVertexId, graph.getEdgeCount());
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            section.addEdge(graph.getSource(e), graph.getDestination(e), graph.getWeight(e));
+        }
+        section.finish();
+    }
+
+    // Streams one graph whose sizes are known up front; edges never have to be held in memory
+    public SectionWriter beginGraph(int graphId, boolean directed, int vertexCount,
+                                    IntFunction<String> vertexIds, int edgeCount) throws IOException {
+        long stringBytes = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            stringBytes += vertexIds.apply(v).getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (stringBytes > Integer.MAX_VALUE) {
+            throw new IOException("Vertex id table exceeds 2 GB");
+        }
+
+        sectionOffsets.add(channel.position());
+
+        chunk.clear();
+        chunk.putInt(graphId);
+        chunk.putInt(directed ? BinaryGraphFile.FLAG_DIRECTED : 0);
+        chunk.putInt(vertexCount);
+        chunk.putInt(edgeCount);
+        chunk.putLong(stringBytes);
+        chunk.putLong(0L);
+
+        int offset = 0;
+        putInt(0);
+        for (int v = 0; v < vertexCount; v++) {
+            offset += vertexIds.apply(v).getBytes(StandardCharsets.UTF_8).length;
+            putInt(offset);
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            byte[] id = vertexIds.apply(v).getBytes(StandardCharsets.UTF_8);
+            int written = 0;
+            while (written < id.length) {
+                if (!chunk.hasRemaining()) flushChunk();
+                int length = Math.min(chunk.remaining(), id.length - written);
+                chunk.put(id, written, length);
+                written += length;
+            }
+        }
+
+        // Pad to 4 bytes so the int arrays can be viewed directly as IntBuffers
+        flushChunk();
+        long padding = (4 - channel.position() % 4) % 4;
+        for (int i = 0; i < padding; i++) {
+            chunk.put((byte) 0);
+        }
+        flushChunk();
+
+        return new SectionWriter(channel.position(), vertexCount, edgeCount);
+    }
+
+    public final class SectionWriter {
+        private final int vertexCount;
+        private final int edgeCount;
+        private final long end;
+        private final ArrayRegion sources;
+        private final ArrayRegion destinations;
+        private final ArrayRegion weights;
+        private int added;
+
+        private SectionWriter(long start, int vertexCount, int edgeCount) {
+            long arrayBytes = (long) edgeCount * Integer.BYTES;
+            this.vertexCount = vertexCount;
+            this.edgeCount = edgeCount;
+            this.end = start + 3 * arrayBytes;
+            this.sources = new ArrayRegion(start);
+            this.destinations = new ArrayRegion(start + arrayBytes);
+            this.weights = new ArrayRegion(start + 2 * arrayBytes);
+        }
+
+        public void addEdge(int from, int to, int weight) throws IOException {
+            if (added == edgeCount) {
+                throw new IllegalStateException("More edges than the declared " + edgeCount);
+            }
+            if (from < 0 || from >= vertexCount || to < 0 || to >= vertexCount) {
+                throw new IllegalArgumentException("Edge references a missing vertex");
+            }
+            sources.put(from);
+            destinations.put(to);
+            weights.put(weight);
+            added++;
+        }
+
+        public void finish() throws IOException {
+            if (added != edgeCount) {
+                throw new IllegalStateException("Declared " + edgeCount + " edges but wrote " + added);
+            }
+            sources.flush();
+            destinations.flush();
+            weights.flush();
+            channel.position(end);
+        }
+    }
+
+    // Buffered positional writes into one of the three edge arrays of a section
+    private final class ArrayRegion {
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        ArrayRegion(long position) {
+            this.position = position;
+        }
+
+        void put(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            long tableOffset = channel.position();
+            chunk.clear();
+            for (long sectionOffset : sectionOffsets) {
+                if (chunk.remaining() < Long.BYTES) flushChunk();
+                chunk.putLong(sectionOffset);
+            }
+            flushChunk();
+
+            channel.position(0);
+            writeFileHeader(sectionOffsets.size(), tableOffset);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeFileHeader(int graphCount, long tableOffset) throws IOException {
+        chunk.clear();
+        chunk.putInt(BinaryGraphFile.MAGIC);
+        chunk.putInt(BinaryGraphFile.VERSION);
+        chunk.putInt(graphCount);
+        chunk.putInt(0);
+        chunk.putLong(tableOffset);
+        chunk.putLong(0L);
+        flushChunk();
+    }
+
+    private void putInt(int value) throws IOException {
+        if (chunk.remaining() < Integer.BYTES) {
+            flushChunk();
+        }
+        chunk.putInt(value);
+    }
+
+    private void flushChunk() throws IOException {
+        chunk.flip();
+        while (chunk.hasRemaining()) {
+            channel.write(chunk);
+        }
+        chunk.clear();
+    }
+}
@@ -0,0 +1,69 @@
+package infrastructure.fileio;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Expands a batch input argument: a single file, a directory (its .json and .mstg files) or a glob such as
+// "data/nightly/*.json" or "data/**/*.mstg". Results are sorted so runs are reproducible.
+public final class InputFiles {
+    private InputFiles() {}
+
+    public static List<Path> resolve(String pattern) throws IOException {
+        int firstGlob = firstGlobCharacter(pattern);
+        if (firstGlob < 0) {
+            Path path = Paths.get(pattern);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    return sorted(files.filter(Files::isRegularFile).filter(InputFiles::isGraphFile));
+                }
+            }
+            if (!Files.isRegularFile(path)) {
+                throw new NoSuchFileException(pattern);
+            }
+            return List.of(path);
+        }
+
+        // Walk from the deepest directory without glob characters, no deeper than the pattern reaches
+        int separator = pattern.lastIndexOf('/', firstGlob);
+        Path base = Paths.get(separator < 0 ? "." : pattern.substring(0, Math.max(1, separator)));
+        String rest = pattern.substring(separator + 1);
+        int maxDepth = rest.contains("**") ? Integer.MAX_VALUE : (int) rest.chars().filter(c -> c == '/').count() + 1;
+
+        // Paths found under "." come back as "./x", so an unanchored pattern is matched with that prefix too
+        String anchored = separator < 0 ? "./" + pattern : pattern;
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + anchored);
+        // "**/" should also match zero directories, which the JDK glob does not do on its own
+        PathMatcher shallow = FileSystems.getDefault().getPathMatcher("glob:" + anchored.replace("**/", ""));
+        if (!Files.isDirectory(base)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(base, maxDepth)) {
+            return sorted(files.filter(Files::isRegularFile).filter(path -> matcher.matches(path) || shallow.matches(path)));
+        }
+    }
+
+    public static boolean isGraphFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(".json") || BinaryGraphFile.isBinaryGraphFile(path);
+    }
+
+    private static int firstGlobCharacter(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<Path> sorted(Stream<Path> paths) {
+        List<Path> result = new ArrayList<>();
+        paths.forEach(result::add);
+        result.sort(null);
+        return result;
+    }
+}
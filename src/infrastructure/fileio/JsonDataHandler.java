@@ -1,15 +1,15 @@
 package infrastructure.fileio;
 
-import domain.models.*;
+import domain.models.CompactGraph;
+import domain.models.Graph;
 import application.services.AnalysisResult;
 import application.services.GraphAnalysis;
 import infrastructure.logging.AnalysisLogger;
 
 import java.io.*;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.regex.*;
+import java.util.function.Consumer;
 
 public class JsonDataHandler {
     private final AnalysisLogger logger;
@@ -19,151 +19,73 @@ public class JsonDataHandler {
     }
 
     public List<Graph> loadGraphsFromFile(String filePath) throws IOException {
-        logger.info("Loading graphs from: " + filePath);
-        String content = new String(Files.readAllBytes(Paths.get(filePath)));
-        return parseGraphsFromJson(content);
-    }
-
-    public void saveAnalysisResults(AnalysisResult result, String filePath) throws IOException {
-        logger.info("Saving results to: " + filePath);
-        String json = convertToOutputJson(result);
-        Files.write(Paths.get(filePath), json.getBytes());
-    }
-
-    private List<Graph> parseGraphsFromJson(String json) {
         List<Graph> graphs = new ArrayList<>();
-
-        Pattern graphPattern = Pattern.compile(
-                "\\{\\s*\"id\"\\s*:\\s*(\\d+).*?\"nodes\"\\s*:\\s*\\[(.*?)\\].*?\"edges\"\\s*:\\s*\\[(.*?)\\]\\s*\\}",
-                Pattern.DOTALL
-        );
-
-        Matcher graphMatcher = graphPattern.matcher(json);
-
-        while (graphMatcher.find()) {
-            int graphId = Integer.parseInt(graphMatcher.group(1));
-            String nodesStr = graphMatcher.group(2);
-            String edgesStr = graphMatcher.group(3);
-
-            Graph graph = createGraphFromData(graphId, nodesStr, edgesStr);
-            graphs.add(graph);
-
-            logger.debug("Parsed graph " + graphId + " with " + graph.getVertexCount() + " vertices and " + graph.getEdgeCount() + " edges");
-        }
-
+        forEachGraph(filePath, graphs::add);
         return graphs;
     }
 
-    private Graph createGraphFromData(int graphId, String nodesStr, String edgesStr) {
-        Graph graph = new Graph(false); // Undirected for MST
-
-        // Parse nodes
-        List<String> nodeIds = parseStringArray(nodesStr);
-        for (String nodeId : nodeIds) {
-            graph.addVertex(nodeId);
+    // Streams graphs to the consumer as they are parsed; only one graph is held in memory at a time
+    public void forEachGraph(String filePath, Consumer<Graph> consumer) throws IOException {
+        logger.info("Loading graphs from: " + filePath);
+        if (BinaryGraphFile.isBinaryGraphFile(Paths.get(filePath))) {
+            forEachBinaryGraph(filePath, consumer);
+            return;
         }
-
-        // Parse edges
-        List<EdgeData> edgeDataList = parseEdges(edgesStr);
-        for (EdgeData edgeData : edgeDataList) {
-            graph.addEdge(edgeData.from, edgeData.to, edgeData.weight);
+        try (JsonGraphReader reader = JsonGraphReader.open(Paths.get(filePath))) {
+            while (reader.hasNext()) {
+                Graph graph = reader.next();
+                logger.debug(() -> "Parsed graph " + reader.getLastGraphId() + " with " + graph.getVertexCount() + " vertices and " + graph.getEdgeCount() + " edges");
+                consumer.accept(graph);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-
-        return graph;
     }
 
-    private List<String> parseStringArray(String arrayStr) {
-        List<String> result = new ArrayList<>();
-        Pattern pattern = Pattern.compile("\"([^\"]+)\"");
-        Matcher matcher = pattern.matcher(arrayStr);
-
-        while (matcher.find()) {
-            result.add(matcher.group(1));
-        }
-        return result;
+    public List<CompactGraph> loadCompactGraphsFromFile(String filePath) throws IOException {
+        List<CompactGraph> graphs = new ArrayList<>();
+        forEachCompactGraph(filePath, graphs::add);
+        return graphs;
     }
 
-    private List<EdgeData> parseEdges(String edgesStr) {
-        List<EdgeData> edges = new ArrayList<>();
-        Pattern edgePattern = Pattern.compile(
-                "\\{\\s*\"from\"\\s*:\\s*\"([^\"]+)\".*?\"to\"\\s*:\\s*\"([^\"]+)\".*?\"weight\"\\s*:\\s*(\\d+)\\s*\\}"
-        );
-
-        Matcher edgeMatcher = edgePattern.matcher(edgesStr);
-
-        while (edgeMatcher.find()) {
-            String from = edgeMatcher.group(1);
-            String to = edgeMatcher.group(2);
-            int weight = Integer.parseInt(edgeMatcher.group(3));
-            edges.add(new EdgeData(from, to, weight));
+    // Same as forEachGraph but as CSR snapshots: binary sections are copied straight from the mapping into int
+    // arrays, so no Vertex/Edge object graph is built for them
+    public void forEachCompactGraph(String filePath, Consumer<CompactGraph> consumer) throws IOException {
+        if (!BinaryGraphFile.isBinaryGraphFile(Paths.get(filePath))) {
+            forEachGraph(filePath, graph -> consumer.accept(CompactGraph.from(graph)));
+            return;
         }
-        return edges;
-    }
-
-    private String convertToOutputJson(AnalysisResult result) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{\n  \"results\": [\n");
-
-        List<GraphAnalysis> analyses = result.getGraphAnalyses();
-        for (int i = 0; i < analyses.size(); i++) {
-            GraphAnalysis analysis = analyses.get(i);
-            sb.append(convertGraphAnalysisToJson(analysis));
-            if (i < analyses.size() - 1) {
-                sb.append(",");
+        logger.info("Loading graphs from: " + filePath);
+        try (BinaryGraphFile file = BinaryGraphFile.open(Paths.get(filePath))) {
+            for (int i = 0; i < file.getGraphCount(); i++) {
+                BinaryGraphFile.Section section = file.getGraph(i);
+                logger.debug(() -> "Mapped graph " + section.getGraphId() + " with " + section.getVertexCount() + " vertices and " + section.getEdgeCount() + " edges");
+                consumer.accept(section.toCompactGraph());
             }
-            sb.append("\n");
         }
-
-        sb.append("  ]\n}");
-        return sb.toString();
     }
 
-    private String convertGraphAnalysisToJson(GraphAnalysis analysis) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("    {\n");
-        sb.append("      \"graph_id\": ").append(analysis.getGraphId()).append(",\n");
-        sb.append("      \"input_stats\": {\n");
-        sb.append("        \"vertices\": ").append(analysis.getGraph().getVertexCount()).append(",\n");
-        sb.append("        \"edges\": ").append(analysis.getGraph().getEdgeCount()).append("\n");
-        sb.append("      },\n");
-        sb.append("      \"prim\": ").append(convertMSTResultToJson(analysis.getPrimResult())).append(",\n");
-        sb.append("      \"kruskal\": ").append(convertMSTResultToJson(analysis.getKruskalResult())).append("\n");
-        sb.append("    }");
-        return sb.toString();
+    private void forEachBinaryGraph(String filePath, Consumer<Graph> consumer) throws IOException {
+        try (BinaryGraphFile file = BinaryGraphFile.open(Paths.get(filePath))) {
+            for (int i = 0; i < file.getGraphCount(); i++) {
+                BinaryGraphFile.Section section = file.getGraph(i);
+                logger.debug(() -> "Mapped graph " + section.getGraphId() + " with " + section.getVertexCount() + " vertices and " + section.getEdgeCount() + " edges");
+                consumer.accept(section.toGraph());
+            }
+        }
     }
 
-    private String convertMSTResultToJson(MSTResult result) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{\n");
-        sb.append("        \"mst_edges\": [\n");
-
-        List<Edge> edges = result.getMstEdges();
-        for (int i = 0; i < edges.size(); i++) {
-            Edge edge = edges.get(i);
-            sb.append("          {\"from\": \"").append(edge.getFrom().getId()).append("\", ");
-            sb.append("\"to\": \"").append(edge.getTo().getId()).append("\", ");
-            sb.append("\"weight\": ").append(edge.getWeight()).append("}");
-            if (i < edges.size() - 1) sb.append(",");
-            sb.append("\n");
+    public void saveAnalysisResults(AnalysisResult result, String filePath) throws IOException {
+        logger.info("Saving results to: " + filePath);
+        try (ResultWriter writer = ResultWriter.open(Paths.get(filePath), ResultWriter.OutputFormat.JSON, false)) {
+            for (GraphAnalysis analysis : result.getGraphAnalyses()) {
+                writer.write(analysis);
+            }
         }
-
-        sb.append("        ],\n");
-        sb.append("        \"total_cost\": ").append(result.getTotalCost()).append(",\n");
-        sb.append("        \"operations_count\": ").append(result.getOperationsCount()).append(",\n");
-        sb.append("        \"execution_time_ms\": ").append(String.format("%.2f", result.getExecutionTimeMs())).append("\n");
-        sb.append("      }");
-        return sb.toString();
     }
 
-    private static class EdgeData {
-        final String from;
-        final String to;
-        final int weight;
-
-        EdgeData(String from, String to, int weight) {
-            this.from = from;
-            this.to = to;
-            this.weight = weight;
-        }
+    public ResultWriter openResultWriter(String filePath, ResultWriter.OutputFormat format, boolean gzip) throws IOException {
+        logger.info("Streaming " + format + (gzip ? " (gzip)" : "") + " results to: " + filePath);
+        return ResultWriter.open(Paths.get(filePath), format, gzip);
     }
 }
\ No newline at end of file
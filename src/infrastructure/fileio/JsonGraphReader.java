@@ -0,0 +1,461 @@
+package infrastructure.fileio;
+
+import domain.models.Graph;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Single-pass streaming reader: yields one Graph at a time, so memory is bounded by the largest graph
+public class JsonGraphReader implements Iterator<Graph>, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int line = 1;
+    private int column;
+
+    private boolean inGraphsArray;
+    private boolean finished;
+    private Graph nextGraph;
+    private int lastGraphId;
+
+    public JsonGraphReader(ReadableByteChannel channel) {
+        this.reader = Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), BUFFER_SIZE);
+    }
+
+    public static JsonGraphReader open(Path path) throws IOException {
+        return new JsonGraphReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextGraph == null && !finished) {
+            try {
+                nextGraph = readNextGraph();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return nextGraph != null;
+    }
+
+    @Override
+    public Graph next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Graph graph = nextGraph;
+        nextGraph = null;
+        return graph;
+    }
+
+    // The "id" field of the graph most recently returned by next(), or 0 if it had none
+    public int getLastGraphId() {
+        return lastGraphId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Graph readNextGraph() throws IOException {
+        if (!inGraphsArray) {
+            if (!seekGraphsArray()) {
+                finished = true;
+                return null;
+            }
+            inGraphsArray = true;
+            if (peekSignificant() == ']') {
+                read();
+                finished = true;
+                return null;
+            }
+        } else {
+            int c = readSignificant();
+            if (c == ']') {
+                finished = true;
+                return null;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or ']' between graphs");
+            }
+        }
+        return readGraph();
+    }
+
+    // Accepts either a top-level array of graphs or an object with a "graphs" array in any field position
+    private boolean seekGraphsArray() throws IOException {
+        int c = readSignificant();
+        if (c == '[') {
+            return true;
+        }
+        if (c != '{') {
+            throw error("Expected '{' or '[' at document start");
+        }
+        if (peekSignificant() == '}') {
+            return false;
+        }
+        while (true) {
+            String field = readFieldName();
+            if (field.equals("graphs")) {
+                expect('[');
+                return true;
+            }
+            skipValue();
+            c = readSignificant();
+            if (c == '}') {
+                return false;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}' in top-level object");
+            }
+        }
+    }
+
+    private Graph readGraph() throws IOException {
+        expect('{');
+        int graphId = 0;
+        boolean directed = false;
+        List<String> nodes = new ArrayList<>();
+        List<EdgeData> edges = new ArrayList<>();
+
+        if (peekSignificant() != '}') {
+            while (true) {
+                String field = readFieldName();
+                switch (field) {
+                    case "id":
+                        graphId = readInt();
+                        break;
+                    case "directed":
+                        directed = readBoolean();
+                        break;
+                    case "nodes":
+                        readNodes(nodes);
+                        break;
+                    case "edges":
+                        readEdges(edges);
+                        break;
+                    default:
+                        skipValue();
+                }
+                if (readSeparator('}', "graph object")) break;
+            }
+        } else {
+            read();
+        }
+
+        // Fields may arrive in any order, so the graph is only assembled once the object is complete
+        Graph graph = new Graph(directed); // Undirected unless the graph says otherwise
+        for (String node : nodes) {
+            graph.addVertex(node);
+        }
+        for (EdgeData edge : edges) {
+            graph.addEdge(edge.from, edge.to, edge.weight);
+        }
+        lastGraphId = graphId;
+        return graph;
+    }
+
+    private void readNodes(List<String> nodes) throws IOException {
+        expect('[');
+        if (peekSignificant() == ']') {
+            read();
+            return;
+        }
+        while (true) {
+            nodes.add(readScalarAsString());
+            if (readSeparator(']', "nodes array")) return;
+        }
+    }
+
+    private void readEdges(List<EdgeData> edges) throws IOException {
+        expect('[');
+        if (peekSignificant() == ']') {
+            read();
+            return;
+        }
+        while (true) {
+            edges.add(readEdge());
+            if (readSeparator(']', "edges array")) return;
+        }
+    }
+
+    private EdgeData readEdge() throws IOException {
+        expect('{');
+        String from = null;
+        String to = null;
+        Integer weight = null;
+
+        if (peekSignificant() != '}') {
+            while (true) {
+                String field = readFieldName();
+                switch (field) {
+                    case "from":
+                        from = readScalarAsString();
+                        break;
+                    case "to":
+                        to = readScalarAsString();
+                        break;
+                    case "weight":
+                        weight = readInt();
+                        break;
+                    default:
+                        skipValue();
+                }
+                if (readSeparator('}', "edge object")) break;
+            }
+        } else {
+            read();
+        }
+
+        if (from == null || to == null || weight == null) {
+            throw error("Edge requires \"from\", \"to\" and \"weight\"");
+        }
+        return new EdgeData(from, to, weight);
+    }
+
+    // Tokens
+
+    private String readFieldName() throws IOException {
+        if (readSignificant() != '"') {
+            throw error("Expected field name");
+        }
+        String name = readStringBody();
+        expect(':');
+        return name;
+    }
+
+    private String readScalarAsString() throws IOException {
+        int c = peekSignificant();
+        if (c == '"') {
+            read();
+            return readStringBody();
+        }
+        if (c == '-' || (c >= '0' && c <= '9')) {
+            return readNumberToken();
+        }
+        throw error("Expected string or number");
+    }
+
+    private int readInt() throws IOException {
+        int c = peekSignificant();
+        if (c != '-' && (c < '0' || c > '9')) {
+            throw error("Expected number");
+        }
+        String token = readNumberToken();
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            double value = Double.parseDouble(token);
+            if (value != Math.rint(value) || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw error("Expected an integer but found " + token);
+            }
+            return (int) value;
+        }
+    }
+
+    private boolean readBoolean() throws IOException {
+        if (!Character.isLetter(peekSignificant())) {
+            throw error("Expected true or false");
+        }
+        StringBuilder sb = new StringBuilder();
+        while (Character.isLetter(peek())) {
+            sb.append((char) read());
+        }
+        switch (sb.toString()) {
+            case "true": return true;
+            case "false": return false;
+            default: throw error("Expected true or false but found " + sb);
+        }
+    }
+
+    private String readNumberToken() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int c = peek();
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                sb.append((char) read());
+            } else {
+                break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private String readStringBody() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw error("Unterminated string");
+            }
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c == '\\') {
+                int escaped = read();
+                switch (escaped) {
+                    case '"': case '\\': case '/': sb.append((char) escaped); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(read(), 16);
+                            if (digit < 0) {
+                                throw error("Invalid unicode escape");
+                            }
+                            code = code * 16 + digit;
+                        }
+                        sb.append((char) code);
+                        break;
+                    default:
+                        throw error("Invalid escape sequence");
+                }
+            } else {
+                sb.append((char) c);
+            }
+        }
+    }
+
+    // Skips any JSON value without materialising it
+    private void skipValue() throws IOException {
+        int c = peekSignificant();
+        switch (c) {
+            case '"':
+                read();
+                skipStringBody();
+                return;
+            case '{':
+            case '[':
+                skipContainer();
+                return;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumberToken();
+                    return;
+                }
+                while (Character.isLetter(peek())) {
+                    read(); // true, false, null
+                }
+        }
+    }
+
+    private void skipStringBody() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) throw error("Unterminated string");
+            if (c == '"') return;
+            if (c == '\\') read();
+        }
+    }
+
+    private void skipContainer() throws IOException {
+        int depth = 0;
+        do {
+            int c = read();
+            if (c == -1) throw error("Unexpected end of input");
+            if (c == '"') skipStringBody();
+            else if (c == '{' || c == '[') depth++;
+            else if (c == '}' || c == ']') depth--;
+        } while (depth > 0);
+    }
+
+    // Characters
+
+    private void expect(char expected) throws IOException {
+        if (readSignificant() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    // Consumes ',' (returns false) or the closing character (returns true)
+    private boolean readSeparator(char close, String context) throws IOException {
+        int c = readSignificant();
+        if (c == close) {
+            return true;
+        }
+        if (c != ',') {
+            throw error("Expected ',' or '" + close + "' in " + context);
+        }
+        return false;
+    }
+
+    private int readSignificant() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+        return c;
+    }
+
+    private int peekSignificant() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                read();
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        int count = reader.read(buffer, 0, buffer.length);
+        if (count <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = count;
+        return true;
+    }
+
+    private IOException error(String message) {
+        return new IOException(String.format("Malformed graph JSON at line %d, column %d: %s", line, column, message));
+    }
+
+    private static class EdgeData {
+        final String from;
+        final String to;
+        final int weight;
+
+        EdgeData(String from, String to, int weight) {
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package infrastructure.fileio;
+
+import application.services.GraphAnalysis;
+import domain.models.Edge;
+import domain.models.MSTMetrics;
+import domain.models.MSTResult;
+import domain.models.SpanningComponent;
+import domain.models.TimingDistribution;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+// Incremental result writer: each GraphAnalysis goes to the channel as soon as it is written
+public class ResultWriter implements Closeable {
+    public enum OutputFormat {
+        // Single pretty-printed {"results": [...]} document
+        JSON,
+        // One compact JSON object per line, flushed per record so consumers can tail the file
+        NDJSON
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer out;
+    private final OutputFormat format;
+    private final boolean pretty;
+    private int written;
+    private boolean closed;
+
+    public ResultWriter(Writer out, OutputFormat format) throws IOException {
+        this.out = out;
+        this.format = format;
+        this.pretty = format == OutputFormat.JSON;
+        if (format == OutputFormat.JSON) {
+            out.write("{\n  \"results\": [\n");
+        }
+    }
+
+    public static ResultWriter open(Path path, OutputFormat format, boolean gzip) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        OutputStream stream = Channels.newOutputStream(channel);
+        if (gzip) {
+            // Sync flush keeps every flushed record decodable by a reader tailing the file
+            stream = new GZIPOutputStream(stream, BUFFER_SIZE, true);
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return new ResultWriter(writer, format);
+    }
+
+    public synchronized void write(GraphAnalysis analysis) throws IOException {
+        if (format == OutputFormat.JSON) {
+            if (written > 0) {
+                out.write(",\n");
+            }
+            writeAnalysis(analysis);
+        } else {
+            writeAnalysis(analysis);
+            out.write('\n');
+            out.flush();
+        }
+        written++;
+    }
+
+    // A bare MST result object, for NDJSON consumers that ask for one result at a time
+    public synchronized void write(MSTResult result) throws IOException {
+        if (format != OutputFormat.NDJSON) {
+            throw new IllegalStateException("Bare results can only be written as NDJSON");
+        }
+        writeMSTResult(result);
+        out.write('\n');
+        out.flush();
+        written++;
+    }
+
+    public synchronized int getWrittenCount() {
+        return written;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (format == OutputFormat.JSON) {
+                if (written > 0) {
+                    out.write('\n');
+                }
+                out.write("  ]\n}");
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeAnalysis(GraphAnalysis analysis) throws IOException {
+        indent(2);
+        out.write('{');
+        field(3, "graph_id").write(String.valueOf(analysis.getGraphId()));
+        out.write(',');
+        field(3, "input_stats").write('{');
+        field(4, "vertices").write(String.valueOf(analysis.getGraph().getVertexCount()));
+        out.write(',');
+        field(4, "edges").write(String.valueOf(analysis.getGraph().getEdgeCount()));
+        if (analysis.getGraph().isDirected()) {
+            out.write(',');
+            field(4, "directed").write("true");
+        }
+        newline(3);
+        out.write('}');
+        // Auto mode carries one selected result (plus an optional cross-check) instead of prim and kruskal
+        writeResultField("prim", analysis.getPrimResult());
+        writeResultField("kruskal", analysis.getKruskalResult());
+        if (analysis.getSelectedAlgorithm() != null) {
+            out.write(',');
+            field(3, "selected_algorithm");
+            writeString(analysis.getSelectedAlgorithm());
+        }
+        writeResultField("selected", analysis.getSelectedResult());
+        if (analysis.getVerificationAlgorithm() != null) {
+            out.write(',');
+            field(3, "verification_algorithm");
+            writeString(analysis.getVerificationAlgorithm());
+        }
+        writeResultField("verification", analysis.getVerificationResult());
+        newline(2);
+        out.write('}');
+    }
+
+    private void writeResultField(String name, MSTResult result) throws IOException {
+        if (result == null) {
+            return;
+        }
+        out.write(',');
+        field(3, name);
+        writeMSTResult(result);
+    }
+
+    private void writeMSTResult(MSTResult result) throws IOException {
+        out.write('{');
+        field(4, "mst_edges").write('[');
+
+        List<Edge> edges = result.getMstEdges();
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            newline(5);
+            out.write("{\"from\"");
+            out.write(pretty ? ": " : ":");
+            writeString(edge.getFrom().getId());
+            out.write(pretty ? ", \"to\": " : ",\"to\":");
+            writeString(edge.getTo().getId());
+            out.write(pretty ? ", \"weight\": " : ",\"weight\":");
+            out.write(String.valueOf(edge.getWeight()));
+            out.write('}');
+            if (i < edges.size() - 1) out.write(',');
+        }
+
+        newline(4);
+        out.write("],");
+        field(4, "total_cost").write(String.valueOf(result.getTotalCost()));
+        out.write(',');
+        field(4, "operations_count").write(String.valueOf(result.getOperationsCount()));
+        out.write(',');
+        // Timing mode replaces the single cold measurement with the distribution over the measured runs
+        if (result.getTiming() != null) {
+            field(4, "timing");
+            writeTiming(result.getTiming());
+        } else {
+            field(4, "execution_time_ms").write(String.format(Locale.ROOT, "%.2f", result.getExecutionTimeMs()));
+        }
+        // A cache hit's time belongs to the run that filled the entry
+        if (result.isCached()) {
+            out.write(',');
+            field(4, "cached").write("true");
+        }
+        if (result.getComponents() != null) {
+            out.write(',');
+            field(4, "component_count").write(String.valueOf(result.getComponents().size()));
+            out.write(',');
+            field(4, "components");
+            writeComponents(result.getComponents());
+        }
+        if (result.getMetrics() != null) {
+            out.write(',');
+            field(4, "metrics");
+            writeMetrics(result.getMetrics());
+        }
+        newline(3);
+        out.write('}');
+    }
+
+    private void writeComponents(List<SpanningComponent> components) throws IOException {
+        out.write('[');
+        for (int i = 0; i < components.size(); i++) {
+            SpanningComponent component = components.get(i);
+            newline(5);
+            out.write(pretty ? "{\"vertices\": " : "{\"vertices\":");
+            out.write(String.valueOf(component.getVertexCount()));
+            out.write(pretty ? ", \"tree_edges\": " : ",\"tree_edges\":");
+            out.write(String.valueOf(component.getTreeEdgeCount()));
+            out.write(pretty ? ", \"total_cost\": " : ",\"total_cost\":");
+            out.write(String.valueOf(component.getTotalCost()));
+            out.write('}');
+            if (i < components.size() - 1) out.write(',');
+        }
+        newline(4);
+        out.write(']');
+    }
+
+    private void writeTiming(TimingDistribution timing) throws IOException {
+        out.write('{');
+        field(5, "warmup_iterations").write(String.valueOf(timing.getWarmupIterations()));
+        out.write(',');
+        field(5, "runs").write(String.valueOf(timing.getRuns()));
+        out.write(',');
+        field(5, "min_ms").write(milliseconds(timing.getMinNs()));
+        out.write(',');
+        field(5, "median_ms").write(milliseconds(timing.getMedianNs()));
+        out.write(',');
+        field(5, "p95_ms").write(milliseconds(timing.getP95Ns()));
+        out.write(',');
+        field(5, "p99_ms").write(milliseconds(timing.getP99Ns()));
+        out.write(',');
+        field(5, "max_ms").write(milliseconds(timing.getMaxNs()));
+        out.write(',');
+        field(5, "mean_ms").write(String.format(Locale.ROOT, "%.4f", timing.getMeanNs() / 1_000_000.0));
+        if (timing.hasAllocations()) {
+            out.write(',');
+            field(5, "allocated_bytes").write('{');
+            field(6, "min").write(String.valueOf(timing.getMinAllocatedBytes()));
+            out.write(',');
+            field(6, "median").write(String.valueOf(timing.getMedianAllocatedBytes()));
+            out.write(',');
+            field(6, "max").write(String.valueOf(timing.getMaxAllocatedBytes()));
+            newline(5);
+            out.write('}');
+        }
+        newline(4);
+        out.write('}');
+    }
+
+    private static String milliseconds(long nanos) {
+        return String.format(Locale.ROOT, "%.4f", nanos / 1_000_000.0);
+    }
+
+    private void writeMetrics(MSTMetrics metrics) throws IOException {
+        out.write('{');
+        field(5, "counters").write('{');
+        MSTMetrics.Counter[] counters = MSTMetrics.Counter.values();
+        for (int i = 0; i < counters.length; i++) {
+            field(6, counters[i].getKey()).write(String.valueOf(metrics.get(counters[i])));
+            if (i < counters.length - 1) out.write(',');
+        }
+        newline(5);
+        out.write("},");
+
+        // Only the phases the algorithm actually went through
+        field(5, "phases_ms").write('{');
+        boolean first = true;
+        for (MSTMetrics.Phase phase : MSTMetrics.Phase.values()) {
+            if (!metrics.hasPhase(phase)) continue;
+            if (!first) out.write(',');
+            field(6, phase.getKey()).write(String.format(Locale.ROOT, "%.3f", metrics.getPhaseTimeMs(phase)));
+            first = false;
+        }
+        newline(5);
+        out.write('}');
+        newline(4);
+        out.write('}');
+    }
+
+    private Writer field(int depth, String name) throws IOException {
+        newline(depth);
+        out.write('"');
+        out.write(name);
+        out.write(pretty ? "\": " : "\":");
+        return out;
+    }
+
+    private void newline(int depth) throws IOException {
+        if (pretty) {
+            out.write('\n');
+            indent(depth);
+        }
+    }
+
+    private void indent(int depth) throws IOException {
+        if (pretty) {
+            for (int i = 0; i < depth; i++) {
+                out.write("  ");
+            }
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,69 @@
+package infrastructure.fileio;
+
+import domain.services.AlgorithmSelector;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+// AlgorithmSelector coefficients fitted on a host, as a properties file: the parallelism they were fitted at and an
+// ns-per-unit / overhead pair per candidate, keyed by the candidate's stable key
+public class SelectorCalibrationFile {
+    public static final Path DEFAULT_PATH = Paths.get("data", "calibration", "selector.properties");
+
+    private SelectorCalibrationFile() {}
+
+    public static void write(Path file, AlgorithmSelector selector) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("parallelism", String.valueOf(selector.getParallelism()));
+        double[] nsPerUnit = selector.getNsPerUnit();
+        double[] overheadNs = selector.getOverheadNs();
+        for (AlgorithmSelector.Candidate candidate : AlgorithmSelector.Candidate.values()) {
+            properties.setProperty(candidate.getKey() + ".ns_per_unit", String.valueOf(nsPerUnit[candidate.ordinal()]));
+            properties.setProperty(candidate.getKey() + ".overhead_ns", String.valueOf(overheadNs[candidate.ordinal()]));
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, "AlgorithmSelector coefficients, fitted with --calibrate on "
+                    + Runtime.getRuntime().availableProcessors() + " processor(s)");
+        }
+    }
+
+    // Every candidate must be present, so a file from an older candidate set is rejected rather than half-applied
+    public static AlgorithmSelector read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        AlgorithmSelector.Candidate[] candidates = AlgorithmSelector.Candidate.values();
+        double[] nsPerUnit = new double[candidates.length];
+        double[] overheadNs = new double[candidates.length];
+        try {
+            int parallelism = Integer.parseInt(required(properties, "parallelism", file));
+            for (AlgorithmSelector.Candidate candidate : candidates) {
+                nsPerUnit[candidate.ordinal()] = Double.parseDouble(
+                        required(properties, candidate.getKey() + ".ns_per_unit", file));
+                overheadNs[candidate.ordinal()] = Double.parseDouble(
+                        required(properties, candidate.getKey() + ".overhead_ns", file));
+            }
+            return new AlgorithmSelector(parallelism, nsPerUnit, overheadNs);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid selector calibration " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String required(Properties properties, String key, Path file) throws IOException {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IOException("Selector calibration " + file + " has no " + key);
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,41 @@
+package infrastructure.generation;
+
+import infrastructure.fileio.BinaryGraphWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.IntFunction;
+
+// Writes the memory-mappable .mstg format through BinaryGraphWriter's streaming section API
+public class BinaryGraphSink implements GraphSink {
+    private final BinaryGraphWriter writer;
+    private BinaryGraphWriter.SectionWriter section;
+
+    public BinaryGraphSink(Path path) throws IOException {
+        this.writer = BinaryGraphWriter.open(path);
+    }
+
+    @Override
+    public void beginGraph(int graphId, int vertexCount, IntFunction<String> vertexIds, long edgeCount) throws IOException {
+        if (edgeCount > Integer.MAX_VALUE) {
+            throw new IOException("Binary graph format supports at most " + Integer.MAX_VALUE + " edges per graph");
+        }
+        section = writer.beginGraph(graphId, false, vertexCount, vertexIds, (int) edgeCount);
+    }
+
+    @Override
+    public void addEdge(int from, int to, int weight) throws IOException {
+        section.addEdge(from, to, weight);
+    }
+
+    @Override
+    public void endGraph() throws IOException {
+        section.finish();
+        section = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,58 @@
+package infrastructure.generation;
+
+import domain.models.CompactGraph;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// Collects generated graphs in memory as CSR snapshots, for callers that run algorithms on them right away
+public class CompactGraphSink implements GraphSink {
+    private final List<CompactGraph> graphs = new ArrayList<>();
+    private String[] vertexIds;
+    private int[] sources;
+    private int[] destinations;
+    private int[] weights;
+    private int edgeCount;
+
+    @Override
+    public void beginGraph(int graphId, int vertexCount, IntFunction<String> vertexIds, long edgeCount) throws IOException {
+        if (edgeCount > Integer.MAX_VALUE) {
+            throw new IOException("In-memory graphs support at most " + Integer.MAX_VALUE + " edges");
+        }
+        this.vertexIds = new String[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            this.vertexIds[v] = vertexIds.apply(v);
+        }
+        this.sources = new int[(int) edgeCount];
+        this.destinations = new int[(int) edgeCount];
+        this.weights = new int[(int) edgeCount];
+        this.edgeCount = 0;
+    }
+
+    @Override
+    public void addEdge(int from, int to, int weight) {
+        sources[edgeCount] = from;
+        destinations[edgeCount] = to;
+        weights[edgeCount] = weight;
+        edgeCount++;
+    }
+
+    @Override
+    public void endGraph() {
+        graphs.add(CompactGraph.of(vertexIds, false, sources, destinations, weights));
+        vertexIds = null;
+        sources = null;
+        destinations = null;
+        weights = null;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public List<CompactGraph> getGraphs() {
+        return graphs;
+    }
+}
@@ -0,0 +1,167 @@
+package infrastructure.generation;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+// Seeded, deterministic synthetic graphs. Every topology streams its edges straight into a GraphSink
+// and uses O(V) memory at most, so 10^8-edge inputs can be produced on an ordinary host.
+public class GraphGenerator {
+    public enum Topology { RANDOM, COMPLETE, GRID, POWER_LAW, DISCONNECTED }
+
+    private static final IntFunction<String> VERTEX_IDS = v -> "v" + v;
+
+    private final long seed;
+    private final int maxWeight;
+
+    public GraphGenerator(long seed, int maxWeight) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Max weight must be positive, got " + maxWeight);
+        }
+        this.seed = seed;
+        this.maxWeight = maxWeight;
+    }
+
+    // Connected: a random recursive spanning tree plus uniformly random extra edges. Extras may repeat a pair;
+    // weights are a hash of the pair, so repeats are exact duplicates and never change the MST cost.
+    public void random(int graphId, int vertexCount, long edgeCount, GraphSink sink) throws IOException {
+        requireTreeEdges(vertexCount, edgeCount);
+        long graphSeed = seedFor(graphId);
+        SplittableRandom random = new SplittableRandom(graphSeed);
+        sink.beginGraph(graphId, vertexCount, VERTEX_IDS, edgeCount);
+        writeRandomComponent(random, graphSeed, 0, vertexCount, edgeCount, sink);
+        sink.endGraph();
+    }
+
+    public void complete(int graphId, int vertexCount, GraphSink sink) throws IOException {
+        long graphSeed = seedFor(graphId);
+        sink.beginGraph(graphId, vertexCount, VERTEX_IDS, (long) vertexCount * (vertexCount - 1) / 2);
+        for (int u = 0; u < vertexCount; u++) {
+            for (int v = u + 1; v < vertexCount; v++) {
+                sink.addEdge(u, v, weight(graphSeed, u, v));
+            }
+        }
+        sink.endGraph();
+    }
+
+    // Road-network-like grid: vertex r * columns + c links to its right and lower neighbours
+    public void grid(int graphId, int rows, int columns, GraphSink sink) throws IOException {
+        long vertexCount = (long) rows * columns;
+        if (rows < 1 || columns < 1 || vertexCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid size " + rows + "x" + columns);
+        }
+        long graphSeed = seedFor(graphId);
+        long edgeCount = (long) rows * (columns - 1) + (long) columns * (rows - 1);
+        sink.beginGraph(graphId, (int) vertexCount, VERTEX_IDS, edgeCount);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                int vertex = r * columns + c;
+                if (c + 1 < columns) sink.addEdge(vertex, vertex + 1, weight(graphSeed, vertex, vertex + 1));
+                if (r + 1 < rows) sink.addEdge(vertex, vertex + columns, weight(graphSeed, vertex, vertex + columns));
+            }
+        }
+        sink.endGraph();
+    }
+
+    // Connected Chung-Lu graph: a spanning tree plus edges whose endpoints follow a power-law degree sequence
+    public void powerLaw(int graphId, int vertexCount, long edgeCount, double exponent, GraphSink sink) throws IOException {
+        requireTreeEdges(vertexCount, edgeCount);
+        if (exponent <= 2.0) {
+            throw new IllegalArgumentException("Power-law exponent must be greater than 2, got " + exponent);
+        }
+        long graphSeed = seedFor(graphId);
+        SplittableRandom random = new SplittableRandom(graphSeed);
+
+        // Expected degree of vertex i is proportional to (i + 1)^(-1 / (exponent - 1))
+        double[] cumulative = new double[vertexCount];
+        double total = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            total += Math.pow(i + 1, -1.0 / (exponent - 1));
+            cumulative[i] = total;
+        }
+
+        sink.beginGraph(graphId, vertexCount, VERTEX_IDS, edgeCount);
+        for (int v = 1; v < vertexCount; v++) {
+            int u = random.nextInt(v);
+            sink.addEdge(u, v, weight(graphSeed, u, v));
+        }
+        for (long e = vertexCount - 1L; e < edgeCount; e++) {
+            int u = sample(cumulative, random.nextDouble() * total);
+            int v = sample(cumulative, random.nextDouble() * total);
+            if (u == v) {
+                v = (v + 1) % vertexCount;
+            }
+            sink.addEdge(u, v, weight(graphSeed, u, v));
+        }
+        sink.endGraph();
+    }
+
+    // Deliberately disconnected: several independent random components with no edges between them
+    public void disconnected(int graphId, int components, int verticesPerComponent, long edgesPerComponent,
+                             GraphSink sink) throws IOException {
+        if (components < 2) {
+            throw new IllegalArgumentException("A disconnected graph needs at least 2 components");
+        }
+        requireTreeEdges(verticesPerComponent, edgesPerComponent);
+        long vertexCount = (long) components * verticesPerComponent;
+        if (vertexCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many vertices: " + vertexCount);
+        }
+        long graphSeed = seedFor(graphId);
+        SplittableRandom random = new SplittableRandom(graphSeed);
+        sink.beginGraph(graphId, (int) vertexCount, VERTEX_IDS, components * edgesPerComponent);
+        for (int c = 0; c < components; c++) {
+            writeRandomComponent(random, graphSeed, c * verticesPerComponent, verticesPerComponent, edgesPerComponent, sink);
+        }
+        sink.endGraph();
+    }
+
+    private void writeRandomComponent(SplittableRandom random, long graphSeed, int firstVertex, int vertexCount,
+                                      long edgeCount, GraphSink sink) throws IOException {
+        for (int v = 1; v < vertexCount; v++) {
+            int u = random.nextInt(v);
+            sink.addEdge(firstVertex + u, firstVertex + v, weight(graphSeed, firstVertex + u, firstVertex + v));
+        }
+        for (long e = vertexCount - 1L; e < edgeCount; e++) {
+            int u = random.nextInt(vertexCount);
+            int v = random.nextInt(vertexCount - 1);
+            if (v >= u) v++; // uniform over v != u
+            sink.addEdge(firstVertex + u, firstVertex + v, weight(graphSeed, firstVertex + u, firstVertex + v));
+        }
+    }
+
+    private static int sample(double[] cumulative, double target) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < target) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static void requireTreeEdges(int vertexCount, long edgeCount) {
+        if (vertexCount < 2) {
+            throw new IllegalArgumentException("Need at least 2 vertices, got " + vertexCount);
+        }
+        if (edgeCount < vertexCount - 1L) {
+            throw new IllegalArgumentException("A connected graph on " + vertexCount + " vertices needs at least "
+                    + (vertexCount - 1) + " edges, got " + edgeCount);
+        }
+    }
+
+    // Weight in [1, maxWeight] derived from the unordered pair, so both directions and repeats agree
+    private int weight(long graphSeed, int u, int v) {
+        long x = graphSeed ^ (((long) Math.min(u, v) << 32) | Math.max(u, v));
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        x = (x ^ (x >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return 1 + (int) Long.remainderUnsigned(x, maxWeight);
+    }
+
+    // Each graph gets its own seed, so graph k is identical no matter which other graphs are generated
+    private long seedFor(int graphId) {
+        return seed ^ (graphId * 0x9E3779B97F4A7C15L);
+    }
+}
@@ -0,0 +1,12 @@
+package infrastructure.generation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.function.IntFunction;
+
+// Receives generated graphs edge by edge, so no generated graph is ever materialised in memory
+public interface GraphSink extends Closeable {
+    void beginGraph(int graphId, int vertexCount, IntFunction<String> vertexIds, long edgeCount) throws IOException;
+    void addEdge(int from, int to, int weight) throws IOException;
+    void endGraph() throws IOException;
+}
@@ -0,0 +1,78 @@
+package infrastructure.generation;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntFunction;
+
+// Writes the {"graphs": [...]} input format read by JsonGraphReader
+public class JsonGraphSink implements GraphSink {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer out;
+    private IntFunction<String> vertexIds;
+    private int graphCount;
+    private long edgeCount;
+
+    public JsonGraphSink(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+        out.write("{\n  \"graphs\": [");
+    }
+
+    @Override
+    public void beginGraph(int graphId, int vertexCount, IntFunction<String> vertexIds, long edgeCount) throws IOException {
+        this.vertexIds = vertexIds;
+        this.edgeCount = 0;
+        out.write(graphCount++ > 0 ? ",\n" : "\n");
+        out.write("    {\n      \"id\": ");
+        out.write(String.valueOf(graphId));
+        out.write(",\n      \"nodes\": [");
+        for (int v = 0; v < vertexCount; v++) {
+            if (v > 0) out.write(", ");
+            writeString(vertexIds.apply(v));
+        }
+        out.write("],\n      \"edges\": [");
+    }
+
+    @Override
+    public void addEdge(int from, int to, int weight) throws IOException {
+        out.write(edgeCount++ > 0 ? ",\n        " : "\n        ");
+        out.write("{\"from\": ");
+        writeString(vertexIds.apply(from));
+        out.write(", \"to\": ");
+        writeString(vertexIds.apply(to));
+        out.write(", \"weight\": ");
+        out.write(String.valueOf(weight));
+        out.write('}');
+    }
+
+    @Override
+    public void endGraph() throws IOException {
+        out.write(edgeCount > 0 ? "\n      ]\n    }" : "]\n    }");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.write("\n  ]\n}\n");
+        } finally {
+            out.close();
+        }
+    }
+
+    // Generated ids are plain ASCII; only quotes and backslashes need escaping
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') out.write('\\');
+            out.write(c);
+        }
+        out.write('"');
+    }
+}
@@ -1,48 +1,237 @@
 package infrastructure.logging;
 
+import java.io.PrintStream;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+// Asynchronous logger: callers enqueue into a bounded ring buffer and a single daemon thread formats and prints.
+// A full buffer blocks the caller rather than dropping messages; flush() waits until everything queued is printed.
 public class AnalysisLogger {
-    private static AnalysisLogger instance;
-    private final DateTimeFormatter formatter;
-    private boolean debugEnabled = false;
+    public enum Level { DEBUG, INFO, WARN, ERROR }
+
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+
+    private final BlockingQueue<LogRecord> buffer = new ArrayBlockingQueue<>(BUFFER_CAPACITY);
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Thread writerThread;
+
+    // Lowest enabled level; a single volatile read decides whether a call does anything
+    private volatile int minimumLevel = Level.INFO.ordinal();
+    private volatile boolean closed;
+
+    // Callers only bump the counter; the monitor is taken by the writer and by flush()
+    private final AtomicLong enqueued = new AtomicLong();
+    private final Object progress = new Object();
+    private long written;
+
+    // Writer-thread only: "yyyy-MM-dd HH:mm:ss" is reformatted at most once per second
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedPrefix;
 
     private AnalysisLogger() {
-        this.formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+        this.writerThread = new Thread(this::drain, "analysis-logger");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "analysis-logger-shutdown"));
+    }
+
+    private static class Holder {
+        static final AnalysisLogger INSTANCE = new AnalysisLogger();
     }
 
     public static AnalysisLogger getInstance() {
-        if (instance == null) {
-            instance = new AnalysisLogger();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     public void enableDebug() {
-        this.debugEnabled = true;
+        setLevel(Level.DEBUG);
+    }
+
+    public void setLevel(Level level) {
+        this.minimumLevel = level.ordinal();
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= minimumLevel;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
     }
 
     public void info(String message) {
-        log("INFO", message);
+        log(Level.INFO, message);
     }
 
     public void warning(String message) {
-        log("WARN", message);
+        log(Level.WARN, message);
     }
 
     public void error(String message) {
-        log("ERROR", message);
+        log(Level.ERROR, message);
     }
 
     public void debug(String message) {
-        if (debugEnabled) {
-            log("DEBUG", message);
+        log(Level.DEBUG, message);
+    }
+
+    // Supplier variants build the message only when the level is enabled
+    public void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) log(Level.INFO, message.get());
+    }
+
+    public void warning(Supplier<String> message) {
+        if (isEnabled(Level.WARN)) log(Level.WARN, message.get());
+    }
+
+    public void error(Supplier<String> message) {
+        if (isEnabled(Level.ERROR)) log(Level.ERROR, message.get());
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) log(Level.DEBUG, message.get());
+    }
+
+    // Blocks until every message logged before this call has been printed
+    public void flush() {
+        long target = enqueued.get();
+        synchronized (progress) {
+            while (written < target && !closed) {
+                try {
+                    progress.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Prints what is still queued; later messages are printed synchronously by the calling thread
+    public void close() {
+        flush();
+        closed = true;
+        writerThread.interrupt();
+        try {
+            writerThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainRemaining();
+    }
+
+    private void log(Level level, String message) {
+        if (level.ordinal() < minimumLevel) {
+            return;
+        }
+        LogRecord record = new LogRecord(System.currentTimeMillis(), level, message);
+        if (closed) {
+            synchronized (this) {
+                print(List.of(record));
+            }
+            return;
+        }
+        enqueued.incrementAndGet();
+        try {
+            buffer.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            synchronized (this) {
+                print(List.of(record));
+            }
+            markWritten(1);
+            return;
+        }
+        if (closed) {
+            drainRemaining(); // Raced with close(): the writer thread may already be gone
+        }
+    }
+
+    private synchronized void drainRemaining() {
+        List<LogRecord> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        print(remaining);
+        markWritten(remaining.size());
+    }
+
+    private void drain() {
+        List<LogRecord> batch = new ArrayList<>(BATCH_SIZE);
+        while (!closed) {
+            try {
+                LogRecord first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                if (closed) break;
+                continue;
+            }
+            synchronized (this) {
+                print(batch);
+            }
+            markWritten(batch.size());
+            batch.clear();
         }
     }
 
-    private void log(String level, String message) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        System.out.printf("[%s] %s: %s%n", timestamp, level, message);
+    private void markWritten(int count) {
+        synchronized (progress) {
+            written += count;
+            progress.notifyAll();
+        }
+    }
+
+    private void print(List<LogRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder(records.size() * 64);
+        for (LogRecord record : records) {
+            sb.append('[');
+            appendTimestamp(sb, record.timeMillis);
+            sb.append("] ").append(record.level.name())
+                    .append(": ").append(record.message).append(System.lineSeparator());
+        }
+        PrintStream out = System.out;
+        out.print(sb);
+        out.flush();
+    }
+
+    private void appendTimestamp(StringBuilder sb, long timeMillis) {
+        long second = Math.floorDiv(timeMillis, 1000);
+        if (second != cachedSecond) {
+            cachedPrefix = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), zone).format(formatter);
+            cachedSecond = second;
+        }
+        int millis = Math.floorMod(timeMillis, 1000);
+        sb.append(cachedPrefix).append('.');
+        if (millis < 100) sb.append('0');
+        if (millis < 10) sb.append('0');
+        sb.append(millis);
+    }
+
+    private static class LogRecord {
+        final long timeMillis;
+        final Level level;
+        final String message;
+
+        LogRecord(long timeMillis, Level level, String message) {
+            this.timeMillis = timeMillis;
+            this.level = level;
+            this.message = message;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package presentation.cli;
+
+import application.services.BatchAnalysisPipeline;
+import application.services.GraphAnalysisService;
+import application.services.MSTResultCache;
+import domain.services.AlgorithmSelector;
+import infrastructure.fileio.InputFiles;
+import infrastructure.logging.AnalysisLogger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Analyzes every input file of a directory or glob through the parse -> compute -> write pipeline,
+// one NDJSON result file per input.
+// Usage: BatchAnalysis <dir|glob> <output-dir> [--workers=N] [--in-flight=N] [--gzip]
+//                      [--cache-dir=dir] [--cache-disk-size=entries] [--cache-size=entries] [--auto [--calibration=file]]
+public class BatchAnalysis {
+    private static final String USAGE = "Usage: BatchAnalysis <dir|glob> <output-dir> [--workers=N] [--in-flight=N] [--gzip]"
+            + " [--cache-dir=dir] [--cache-disk-size=entries] [--cache-size=entries] [--auto [--calibration=file]]";
+
+    public static void main(String[] args) {
+        AnalysisLogger logger = AnalysisLogger.getInstance();
+
+        List<String> positional = new ArrayList<>();
+        int workers = Runtime.getRuntime().availableProcessors();
+        int inFlight = -1;
+        boolean gzip = false;
+        Path cacheDirectory = null;
+        int cacheSize = -1;
+        int cacheDiskSize = MSTResultCache.DEFAULT_DISK_CAPACITY;
+        boolean auto = false;
+        Path calibrationFile = null;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--workers=")) {
+                    workers = Integer.parseInt(arg.substring("--workers=".length()));
+                } else if (arg.startsWith("--in-flight=")) {
+                    inFlight = Integer.parseInt(arg.substring("--in-flight=".length()));
+                } else if (arg.equals("--gzip")) {
+                    gzip = true;
+                } else if (arg.startsWith("--cache-dir=")) {
+                    cacheDirectory = Paths.get(arg.substring("--cache-dir=".length()));
+                } else if (arg.startsWith("--cache-size=")) {
+                    cacheSize = Integer.parseInt(arg.substring("--cache-size=".length()));
+                } else if (arg.startsWith("--cache-disk-size=")) {
+                    cacheDiskSize = Integer.parseInt(arg.substring("--cache-disk-size=".length()));
+                } else if (arg.equals("--auto")) {
+                    auto = true;
+                } else if (arg.startsWith("--calibration=")) {
+                    calibrationFile = Paths.get(arg.substring("--calibration=".length()));
+                } else {
+                    positional.add(arg);
+                }
+            }
+        } catch (NumberFormatException e) {
+            positional.clear();
+        }
+        if (positional.size() != 2) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        try {
+            List<Path> inputs = InputFiles.resolve(positional.get(0));
+            if (inputs.isEmpty()) {
+                System.err.println("No input files match " + positional.get(0));
+                System.exit(2);
+            }
+
+            MSTResultCache cache = cacheDirectory == null && cacheSize < 0
+                    ? null : new MSTResultCache(cacheSize >= 0 ? cacheSize : 256, cacheDirectory, cacheDiskSize);
+            // Parallelism comes from the pipeline's workers, so each analysis runs on its worker thread
+            AlgorithmSelector selector = auto ? SelectorCalibration.load(calibrationFile) : null;
+            GraphAnalysisService analysisService = new GraphAnalysisService(null, cache, selector, auto ? 0.01 : 0);
+            // Default: enough graphs in flight to keep every worker busy while the next ones are parsed
+            BatchAnalysisPipeline pipeline = new BatchAnalysisPipeline(analysisService, workers,
+                    inFlight > 0 ? inFlight : 2 * workers + 2, gzip);
+
+            BatchAnalysisPipeline.Report report;
+            try {
+                report = pipeline.run(inputs, Paths.get(positional.get(1)));
+            } finally {
+                if (selector != null) {
+                    selector.close();
+                }
+            }
+            if (report.getFailedFiles() > 0) {
+                logger.flush();
+                System.exit(1);
+            }
+        } catch (Exception e) {
+            logger.flush(); // Keep queued log lines ahead of the error report
+            System.err.println("Batch analysis failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package presentation.cli;
+
+import domain.models.Graph;
+import infrastructure.fileio.BinaryGraphWriter;
+import infrastructure.fileio.JsonGraphReader;
+import infrastructure.logging.AnalysisLogger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Converts a JSON graph input file into the memory-mappable binary graph format
+public class ConvertGraphs {
+    public static void main(String[] args) {
+        AnalysisLogger logger = AnalysisLogger.getInstance();
+
+        if (args.length != 2) {
+            System.err.println("Usage: ConvertGraphs <input.json> <output.mstg>");
+            System.exit(2);
+        }
+
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+
+        try {
+            long startTime = System.nanoTime();
+            int count = 0;
+            try (JsonGraphReader reader = JsonGraphReader.open(input);
+                 BinaryGraphWriter writer = BinaryGraphWriter.open(output)) {
+                while (reader.hasNext()) {
+                    Graph graph = reader.next();
+                    int graphId = reader.getLastGraphId() != 0 ? reader.getLastGraphId() : count + 1;
+                    writer.write(graphId, graph);
+                    count++;
+                }
+            }
+            logger.info(String.format("Converted %d graphs from %s to %s in %.1f ms",
+                    count, input, output, (System.nanoTime() - startTime) / 1_000_000.0));
+        } catch (Exception e) {
+            logger.flush(); // Keep queued log lines ahead of the error report
+            System.err.println("Conversion failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
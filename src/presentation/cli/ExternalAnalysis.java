@@ -0,0 +1,97 @@
+package presentation.cli;
+
+import domain.models.MSTResult;
+import domain.services.ExternalKruskalAlgorithm;
+import domain.services.KruskalAlgorithm;
+import infrastructure.fileio.BinaryGraphFile;
+import infrastructure.logging.AnalysisLogger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+// Runs external-memory Kruskal on .mstg graphs: edges stream from the mapped file through sorted runs on disk,
+// so only the memory budget and O(V) union-find state live on the heap.
+// Usage: ExternalAnalysis <graphs.mstg> [--memory=size[k|m|g]] [--temp-dir=dir] [--verify]
+public class ExternalAnalysis {
+    private static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    public static void main(String[] args) {
+        AnalysisLogger logger = AnalysisLogger.getInstance();
+
+        Path input = null;
+        long memoryBudget = DEFAULT_MEMORY_BUDGET;
+        Path tempDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+        boolean verify = false;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--memory=")) {
+                    memoryBudget = parseSize(arg.substring("--memory=".length()));
+                } else if (arg.startsWith("--temp-dir=")) {
+                    tempDirectory = Paths.get(arg.substring("--temp-dir=".length()));
+                } else if (arg.equals("--verify")) {
+                    // Cross-checks against in-memory Kruskal, which needs the whole edge list on the heap
+                    verify = true;
+                } else {
+                    input = Paths.get(arg);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            input = null;
+        }
+        if (input == null || !BinaryGraphFile.isBinaryGraphFile(input)) {
+            System.err.println("Usage: ExternalAnalysis <graphs.mstg> [--memory=size[k|m|g]] [--temp-dir=dir] [--verify]");
+            System.exit(2);
+        }
+
+        try (BinaryGraphFile file = BinaryGraphFile.open(input)) {
+            ExternalKruskalAlgorithm external = new ExternalKruskalAlgorithm(memoryBudget, tempDirectory);
+            KruskalAlgorithm kruskal = new KruskalAlgorithm(KruskalAlgorithm.SortMode.RADIX);
+            logger.info(String.format("External Kruskal with a %d MB budget, runs in %s",
+                    memoryBudget >> 20, tempDirectory));
+
+            for (int i = 0; i < file.getGraphCount(); i++) {
+                BinaryGraphFile.Section section = file.getGraph(i);
+                logger.info(String.format("Analyzing graph %d: %d vertices, %d edges",
+                        section.getGraphId(), section.getVertexCount(), section.getEdgeCount()));
+                MSTResult result = external.findMST(section);
+                logger.info(String.format("Graph %d: MST Cost %d | %d tree edges | %s ms",
+                        section.getGraphId(), result.getTotalCost(), result.getMstEdges().size(),
+                        result.getFormattedExecutionTime()));
+
+                if (verify) {
+                    MSTResult expected = kruskal.findMST(section.toCompactGraph());
+                    if (expected.getTotalCost() != result.getTotalCost()) {
+                        logger.warning("MST cost mismatch against in-memory Kruskal for graph " + section.getGraphId());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.flush(); // Keep queued log lines ahead of the error report
+            System.err.println("External analysis failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private static long parseSize(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        long multiplier = 1;
+        if (text.endsWith("k")) {
+            multiplier = 1L << 10;
+        } else if (text.endsWith("m")) {
+            multiplier = 1L << 20;
+        } else if (text.endsWith("g")) {
+            multiplier = 1L << 30;
+        }
+        if (multiplier != 1) {
+            text = text.substring(0, text.length() - 1);
+        }
+        try {
+            return Long.parseLong(text) * multiplier;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid memory size: " + value);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package presentation.cli;
+
+import infrastructure.fileio.BinaryGraphFile;
+import infrastructure.generation.BinaryGraphSink;
+import infrastructure.generation.GraphGenerator;
+import infrastructure.generation.GraphSink;
+import infrastructure.generation.JsonGraphSink;
+import infrastructure.logging.AnalysisLogger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+// Usage: GenerateGraphs --output=<file.json|file.mstg> [--topology=random|complete|grid|power_law|disconnected]
+//        [--graphs=1] [--vertices=1000] [--edges=4000] [--rows=..] [--columns=..] [--components=4]
+//        [--exponent=2.5] [--max-weight=1000] [--seed=42]
+public class GenerateGraphs {
+    public static void main(String[] args) {
+        AnalysisLogger logger = AnalysisLogger.getInstance();
+
+        try {
+            Map<String, String> options = parseOptions(args);
+            if (!options.containsKey("output")) {
+                System.err.println("Missing required --output=<file.json|file.mstg>");
+                System.exit(2);
+            }
+
+            Path output = Paths.get(options.get("output"));
+            GraphGenerator.Topology topology = GraphGenerator.Topology.valueOf(
+                    options.getOrDefault("topology", "random").toUpperCase());
+            int graphs = Integer.parseInt(options.getOrDefault("graphs", "1"));
+            int vertices = Integer.parseInt(options.getOrDefault("vertices", "1000"));
+            long edges = Long.parseLong(options.getOrDefault("edges", String.valueOf(4L * vertices)));
+            GraphGenerator generator = new GraphGenerator(
+                    Long.parseLong(options.getOrDefault("seed", "42")),
+                    Integer.parseInt(options.getOrDefault("max-weight", "1000")));
+
+            long startTime = System.nanoTime();
+            try (GraphSink sink = BinaryGraphFile.isBinaryGraphFile(output)
+                    ? new BinaryGraphSink(output) : new JsonGraphSink(output)) {
+                for (int graphId = 1; graphId <= graphs; graphId++) {
+                    switch (topology) {
+                        case RANDOM:
+                            generator.random(graphId, vertices, edges, sink);
+                            break;
+                        case COMPLETE:
+                            generator.complete(graphId, vertices, sink);
+                            break;
+                        case GRID:
+                            int rows = Integer.parseInt(options.getOrDefault("rows", String.valueOf((int) Math.sqrt(vertices))));
+                            int columns = Integer.parseInt(options.getOrDefault("columns", String.valueOf(Math.max(1, vertices / rows))));
+                            generator.grid(graphId, rows, columns, sink);
+                            break;
+                        case POWER_LAW:
+                            generator.powerLaw(graphId, vertices, edges,
+                                    Double.parseDouble(options.getOrDefault("exponent", "2.5")), sink);
+                            break;
+                        case DISCONNECTED:
+                            int components = Integer.parseInt(options.getOrDefault("components", "4"));
+                            generator.disconnected(graphId, components, vertices / components, edges / components, sink);
+                            break;
+                    }
+                }
+            }
+            logger.info(String.format("Generated %d %s graph(s) into %s in %.1f ms",
+                    graphs, topology, output, (System.nanoTime() - startTime) / 1_000_000.0));
+        } catch (Exception e) {
+            logger.flush(); // Keep queued log lines ahead of the error report
+            System.err.println("Generation failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
@@ -1,18 +1,106 @@
 package presentation.cli;
 
+import application.services.AnalysisExecutors;
 import application.services.GraphAnalysisService;
+import application.services.MSTResultCache;
+import application.services.ResidentGraphService;
+import application.services.TimingMode;
+import domain.services.AlgorithmSelector;
+import infrastructure.fileio.ResultWriter;
+import infrastructure.fileio.SelectorCalibrationFile;
 import infrastructure.logging.AnalysisLogger;
+import presentation.http.MSTServer;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 public class Main {
+    private static final int DEFAULT_SERVE_PORT = 8080;
+
     public static void main(String[] args) {
         AnalysisLogger logger = AnalysisLogger.getInstance();
 
         try {
             printBanner();
 
-            String inputFile = "data/input/ass_3_input.json";
-            String outputFile = "data/output/ass_3_output.json";
+            // Usage: Main [input] [output] [--ndjson] [--gzip] [--parallel[=threads] | --virtual-threads]
+            //             [--cache-dir=dir [--cache-disk-size=entries]] [--cache-size=entries]
+            //             [--auto [--verify-rate=fraction] [--calibration=file]]
+            //             [--timing[=runs] [--warmup=iterations]]
+            //        Main [input] --serve[=port] [--cache-dir=dir] [--cache-size=entries] [--auto [--calibration=file]]
+            //        Main --calibrate [--calibration=file]
+            List<String> positional = new ArrayList<>();
+            boolean ndjson = false;
+            boolean gzip = false;
+            ExecutorService executor = null;
+            Path cacheDirectory = null;
+            int cacheSize = -1;
+            int cacheDiskSize = MSTResultCache.DEFAULT_DISK_CAPACITY;
+            boolean auto = false;
+            double verifyRate = 0.01;
+            boolean calibrate = false;
+            Path calibrationFile = null;
+            int servePort = -1;
+            int timingRuns = -1;
+            int warmupIterations = TimingMode.DEFAULT_WARMUP_ITERATIONS;
+            for (String arg : args) {
+                if (arg.equals("--ndjson")) {
+                    ndjson = true;
+                } else if (arg.equals("--gzip")) {
+                    gzip = true;
+                } else if (arg.equals("--parallel")) {
+                    executor = AnalysisExecutors.platformThreads(Runtime.getRuntime().availableProcessors());
+                } else if (arg.startsWith("--parallel=")) {
+                    executor = AnalysisExecutors.platformThreads(Integer.parseInt(arg.substring("--parallel=".length())));
+                } else if (arg.equals("--virtual-threads")) {
+                    executor = AnalysisExecutors.virtualThreads();
+                } else if (arg.equals("--auto")) {
+                    auto = true;
+                } else if (arg.equals("--calibrate")) {
+                    calibrate = true;
+                } else if (arg.startsWith("--calibration=")) {
+                    calibrationFile = Paths.get(arg.substring("--calibration=".length()));
+                } else if (arg.startsWith("--verify-rate=")) {
+                    verifyRate = Double.parseDouble(arg.substring("--verify-rate=".length()));
+                } else if (arg.equals("--serve")) {
+                    servePort = DEFAULT_SERVE_PORT;
+                } else if (arg.startsWith("--serve=")) {
+                    servePort = Integer.parseInt(arg.substring("--serve=".length()));
+                } else if (arg.equals("--timing")) {
+                    timingRuns = TimingMode.DEFAULT_MEASURED_RUNS;
+                } else if (arg.startsWith("--timing=")) {
+                    timingRuns = Integer.parseInt(arg.substring("--timing=".length()));
+                } else if (arg.startsWith("--warmup=")) {
+                    warmupIterations = Integer.parseInt(arg.substring("--warmup=".length()));
+                } else if (arg.startsWith("--cache-dir=")) {
+                    cacheDirectory = Paths.get(arg.substring("--cache-dir=".length()));
+                } else if (arg.startsWith("--cache-size=")) {
+                    cacheSize = Integer.parseInt(arg.substring("--cache-size=".length()));
+                } else if (arg.startsWith("--cache-disk-size=")) {
+                    cacheDiskSize = Integer.parseInt(arg.substring("--cache-disk-size=".length()));
+                } else {
+                    positional.add(arg);
+                }
+            }
+
+            if (calibrate) {
+                SelectorCalibration.calibrate(calibrationFile != null ? calibrationFile : SelectorCalibrationFile.DEFAULT_PATH,
+                        Runtime.getRuntime().availableProcessors());
+                return;
+            }
+            if (servePort >= 0) {
+                serve(servePort, positional.isEmpty() ? null : positional.get(0), cacheDirectory, cacheSize, cacheDiskSize,
+                        auto ? SelectorCalibration.load(calibrationFile) : null);
+                return;
+            }
+
+            String inputFile = positional.size() > 0 ? positional.get(0) : "data/input/ass_3_input.json";
+            String outputFile = positional.size() > 1 ? positional.get(1)
+                    : "data/output/ass_3_output" + (ndjson ? ".ndjson" : ".json") + (gzip ? ".gz" : "");
 
             // Create necessary directories
             createDirectories();
@@ -22,18 +110,65 @@ public class Main {
             logger.info("Output: " + outputFile);
 
             // Perform analysis
-            GraphAnalysisService analysisService = new GraphAnalysisService();
-            analysisService.performCompleteAnalysis(inputFile, outputFile);
+            MSTResultCache cache = createCache(cacheDirectory, cacheSize, cacheDiskSize);
+            TimingMode timing = timingRuns < 0 ? null : new TimingMode(warmupIterations, timingRuns);
+            AlgorithmSelector selector = auto ? SelectorCalibration.load(calibrationFile) : null;
+            GraphAnalysisService analysisService = new GraphAnalysisService(executor, cache,
+                    selector, auto ? verifyRate : 0, timing);
+            try {
+                if (ndjson || gzip) {
+                    ResultWriter.OutputFormat format = ndjson ? ResultWriter.OutputFormat.NDJSON : ResultWriter.OutputFormat.JSON;
+                    analysisService.performStreamingAnalysis(inputFile, outputFile, format, gzip);
+                } else {
+                    analysisService.performCompleteAnalysis(inputFile, outputFile);
+                }
+            } finally {
+                if (executor != null) {
+                    executor.shutdown();
+                }
+                if (selector != null) {
+                    selector.close();
+                }
+            }
 
             logger.info("Analysis completed successfully!");
 
         } catch (Exception e) {
+            logger.flush(); // Keep queued log lines ahead of the error report
             System.err.println("Fatal error: " + e.getMessage());
             e.printStackTrace();
             System.exit(1);
         }
     }
 
+    // Keeps graphs resident and answers requests until the process is stopped
+    private static void serve(int port, String preloadFile, Path cacheDirectory, int cacheSize, int cacheDiskSize,
+                              AlgorithmSelector selector) throws Exception {
+        MSTResultCache cache = createCache(cacheDirectory, cacheSize, cacheDiskSize);
+        // Auto mode in the server never cross-checks: a request should cost one algorithm run
+        GraphAnalysisService analysisService = new GraphAnalysisService(null, cache, selector, 0);
+        ResidentGraphService graphService = new ResidentGraphService(analysisService);
+        if (preloadFile != null) {
+            graphService.loadAll(preloadFile);
+        }
+
+        MSTServer server = new MSTServer(graphService, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(1);
+            if (selector != null) {
+                selector.close();
+            }
+        }, "mst-server-shutdown"));
+        server.start();
+    }
+
+    private static MSTResultCache createCache(Path cacheDirectory, int cacheSize, int cacheDiskSize) throws IOException {
+        if (cacheDirectory == null && cacheSize < 0) {
+            return null;
+        }
+        return new MSTResultCache(cacheSize >= 0 ? cacheSize : 256, cacheDirectory, cacheDiskSize);
+    }
+
     private static void printBanner() {
         System.out.println("\n" + "=".repeat(80));
         System.out.println("      TRANSPORTATION NETWORK OPTIMIZATION ANALYSIS");
@@ -0,0 +1,63 @@
+package presentation.cli;
+
+import domain.models.CompactGraph;
+import domain.services.AlgorithmSelector;
+import infrastructure.fileio.SelectorCalibrationFile;
+import infrastructure.generation.CompactGraphSink;
+import infrastructure.generation.GraphGenerator;
+import infrastructure.logging.AnalysisLogger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Fits the auto-mode cost model on this host (--calibrate) and picks the coefficients an --auto run uses:
+// an explicit --calibration file, else the default file when a previous --calibrate wrote one, else the built-in
+// single-core defaults
+final class SelectorCalibration {
+    private static final int REPETITIONS = 3;
+
+    private SelectorCalibration() {}
+
+    static void calibrate(Path file, int parallelism) throws IOException {
+        AnalysisLogger logger = AnalysisLogger.getInstance();
+        long startTime = System.nanoTime();
+        List<CompactGraph> samples = samples();
+        logger.info("Calibrating " + AlgorithmSelector.Candidate.values().length + " candidates on " + samples.size()
+                + " generated graphs with parallelism " + parallelism);
+        AlgorithmSelector fitted = AlgorithmSelector.calibrate(parallelism, samples, REPETITIONS);
+        SelectorCalibrationFile.write(file, fitted);
+        logger.info(String.format("Wrote selector calibration to %s in %.1f s", file,
+                (System.nanoTime() - startTime) / 1e9));
+    }
+
+    static AlgorithmSelector load(Path file) throws IOException {
+        AnalysisLogger logger = AnalysisLogger.getInstance();
+        Path source = file != null ? file : SelectorCalibrationFile.DEFAULT_PATH;
+        if (file == null && !Files.exists(source)) {
+            logger.warning("No selector calibration at " + source + "; using built-in single-core coefficients"
+                    + " (run with --calibrate to fit them on this host)");
+            return new AlgorithmSelector();
+        }
+        AlgorithmSelector selector = SelectorCalibrationFile.read(source);
+        logger.info("Selector coefficients from " + source + " (parallelism " + selector.getParallelism() + ")");
+        return selector;
+    }
+
+    // Sizes and shapes spread out enough for a least-squares line per candidate; disconnected graphs give the
+    // forest-capable candidates points that Prim cannot take
+    private static List<CompactGraph> samples() throws IOException {
+        GraphGenerator generator = new GraphGenerator(42, 1000);
+        CompactGraphSink sink = new CompactGraphSink();
+        int graphId = 1;
+        for (int vertices = 2_000; vertices <= 128_000; vertices *= 4) {
+            generator.random(graphId++, vertices, 4L * vertices, sink);
+            generator.random(graphId++, vertices, 16L * vertices, sink);
+            generator.disconnected(graphId++, 8, vertices / 8, 4L * vertices / 8, sink);
+        }
+        generator.grid(graphId++, 100, 100, sink);
+        generator.grid(graphId, 300, 300, sink);
+        return sink.getGraphs();
+    }
+}
@@ -0,0 +1,340 @@
+package presentation.http;
+
+import application.services.AnalysisExecutors;
+import application.services.GraphAnalysis;
+import application.services.ResidentGraph;
+import application.services.ResidentGraphService;
+import domain.models.Graph;
+import domain.models.MSTResult;
+import infrastructure.fileio.JsonGraphReader;
+import infrastructure.fileio.ResultWriter;
+import infrastructure.logging.AnalysisLogger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Pattern;
+
+/*
+ * Long-running MST server on localhost, so repeated calls skip JVM startup, JIT warm-up and re-parsing.
+ *   GET    /health                          liveness
+ *   GET    /stats                           handles, computations, coalesced requests, recent latency percentiles
+ *   GET    /graphs                          summaries of all handles
+ *   PUT    /graphs/{name}                   load the first graph of the request body (input JSON format)
+ *   PUT    /graphs/{name}?path=file&index=i load graph i (0-based) of a JSON or .mstg file on this machine
+ *   GET    /graphs/{name}                   summary
+ *   DELETE /graphs/{name}                   drop the handle
+ *   GET    /graphs/{name}/mst               maintained spanning forest
+ *   GET    /graphs/{name}/analysis          batch-style analysis, same record as the NDJSON output
+ *   POST   /graphs/{name}/edges?op=insert|delete|update&from=a&to=b&weight=w
+ */
+public class MSTServer {
+    private static final Pattern HANDLE = Pattern.compile("[A-Za-z0-9_.-]{1,128}");
+    private static final int LATENCY_WINDOW = 1024;
+
+    private final ResidentGraphService service;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AnalysisLogger logger;
+
+    // Ring of the most recent request latencies
+    private final long[] latenciesNs = new long[LATENCY_WINDOW];
+    private long requestCount;
+
+    public MSTServer(ResidentGraphService service, int port) throws IOException {
+        this.service = service;
+        this.logger = AnalysisLogger.getInstance();
+        // Loopback only: the server trusts its callers with file paths on this machine
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = AnalysisExecutors.virtualThreads();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        logger.info("MST server listening on http://localhost:" + getPort()
+                + (AnalysisExecutors.virtualThreadsSupported() ? " (virtual threads)" : " (platform thread pool)"));
+    }
+
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) {
+        long startTime = System.nanoTime();
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        try {
+            route(exchange, method, segments(path), query(exchange));
+        } catch (CompletionException e) {
+            fail(exchange, e.getCause() != null ? e.getCause() : e);
+        } catch (Exception e) {
+            fail(exchange, e);
+        } finally {
+            exchange.close();
+            long elapsed = System.nanoTime() - startTime;
+            recordLatency(elapsed);
+            logger.debug(() -> String.format("%s %s %.3f ms", method, path, elapsed / 1_000_000.0));
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, List<String> segments, Map<String, String> query)
+            throws IOException {
+        if (segments.size() == 1 && segments.get(0).equals("health") && method.equals("GET")) {
+            respond(exchange, 200, "text/plain", "ok\n");
+            return;
+        }
+        if (segments.size() == 1 && segments.get(0).equals("stats") && method.equals("GET")) {
+            respond(exchange, 200, "application/json", stats());
+            return;
+        }
+        if (segments.isEmpty() || !segments.get(0).equals("graphs")) {
+            respond(exchange, 404, "text/plain", "Not found\n");
+            return;
+        }
+
+        if (segments.size() == 1) {
+            requireMethod(method, "GET");
+            StringBuilder json = new StringBuilder("{\"graphs\":[");
+            Iterator<ResidentGraph> residents = service.list().iterator();
+            while (residents.hasNext()) {
+                json.append(summary(residents.next()));
+                if (residents.hasNext()) json.append(',');
+            }
+            respond(exchange, 200, "application/json", json.append("]}\n").toString());
+            return;
+        }
+
+        String name = segments.get(1);
+        if (!HANDLE.matcher(name).matches()) {
+            throw new IllegalArgumentException("Graph handles use letters, digits, '_', '-' and '.' only");
+        }
+
+        if (segments.size() == 2) {
+            switch (method) {
+                case "GET":
+                    respond(exchange, 200, "application/json", summary(service.get(name)) + "\n");
+                    return;
+                case "PUT":
+                    ResidentGraph resident = query.containsKey("path")
+                            ? service.load(name, query.get("path"), intParameter(query, "index", 0))
+                            : service.put(name, readGraph(exchange));
+                    respond(exchange, 201, "application/json", summary(resident) + "\n");
+                    return;
+                case "DELETE":
+                    if (!service.remove(name)) {
+                        throw new NoSuchElementException("Unknown graph handle: " + name);
+                    }
+                    exchange.sendResponseHeaders(204, -1);
+                    return;
+                default:
+                    throw new UnsupportedOperationException(method);
+            }
+        }
+
+        String action = segments.size() == 3 ? segments.get(2) : "";
+        switch (action) {
+            case "mst": {
+                requireMethod(method, "GET");
+                ResidentGraph.Versioned<MSTResult> result = service.minimumSpanningTree(name).join();
+                exchange.getResponseHeaders().set("X-Graph-Version", String.valueOf(result.getVersion()));
+                respond(exchange, 200, "application/json", ndjson(writer -> writer.write(result.getValue())));
+                return;
+            }
+            case "analysis": {
+                requireMethod(method, "GET");
+                ResidentGraph.Versioned<GraphAnalysis> analysis = service.analysis(name).join();
+                exchange.getResponseHeaders().set("X-Graph-Version", String.valueOf(analysis.getVersion()));
+                respond(exchange, 200, "application/json", ndjson(writer -> writer.write(analysis.getValue())));
+                return;
+            }
+            case "edges": {
+                requireMethod(method, "POST");
+                ResidentGraphService.UpdateOperation operation = operation(query.get("op"));
+                String from = requiredParameter(query, "from");
+                String to = requiredParameter(query, "to");
+                int weight = operation == ResidentGraphService.UpdateOperation.DELETE
+                        ? 0 : intParameter(query, "weight", null);
+                boolean treeEdge = service.update(name, operation, from, to, weight);
+                ResidentGraph resident = service.get(name);
+                respond(exchange, 200, "application/json", String.format(
+                        "{\"version\":%d,\"tree_edge\":%b,\"total_cost\":%d}%n",
+                        resident.getVersion(), treeEdge, resident.getTotalCost()));
+                return;
+            }
+            default:
+                respond(exchange, 404, "text/plain", "Not found\n");
+        }
+    }
+
+    private Graph readGraph(HttpExchange exchange) throws IOException {
+        try (JsonGraphReader reader = new JsonGraphReader(Channels.newChannel(exchange.getRequestBody()))) {
+            if (!reader.hasNext()) {
+                throw new IllegalArgumentException("Request body holds no graph");
+            }
+            return reader.next();
+        } catch (UncheckedIOException e) {
+            // Malformed JSON is the caller's mistake
+            throw new IllegalArgumentException(e.getCause().getMessage());
+        }
+    }
+
+    private String summary(ResidentGraph resident) {
+        return String.format("{\"name\":\"%s\",\"version\":%d,\"vertices\":%d,\"edges\":%d,\"tree_edges\":%d,\"total_cost\":%d}",
+                resident.getName(), resident.getVersion(), resident.getVertexCount(), resident.getEdgeCount(),
+                resident.getTreeEdgeCount(), resident.getTotalCost());
+    }
+
+    private String stats() {
+        long[] window;
+        long count;
+        synchronized (latenciesNs) {
+            count = requestCount;
+            window = Arrays.copyOf(latenciesNs, (int) Math.min(count, LATENCY_WINDOW));
+        }
+        Arrays.sort(window);
+        return String.format(Locale.ROOT,
+                "{\"graphs\":%d,\"requests\":%d,\"computations\":%d,\"coalesced_requests\":%d,"
+                        + "\"latency_ms\":{\"window\":%d,\"p50\":%.3f,\"p99\":%.3f}}%n",
+                service.list().size(), count, service.getComputations(), service.getCoalescedRequests(),
+                window.length, percentileMs(window, 0.50), percentileMs(window, 0.99));
+    }
+
+    private void recordLatency(long nanos) {
+        synchronized (latenciesNs) {
+            latenciesNs[(int) (requestCount % LATENCY_WINDOW)] = nanos;
+            requestCount++;
+        }
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private void fail(HttpExchange exchange, Throwable error) {
+        int status;
+        if (error instanceof NoSuchElementException) {
+            status = 404;
+        } else if (error instanceof IllegalArgumentException) {
+            status = 400;
+        } else if (error instanceof UnsupportedOperationException) {
+            status = 405;
+        } else {
+            status = 500;
+            logger.error("Request failed: " + error);
+        }
+        try {
+            respond(exchange, status, "text/plain", error.getMessage() + "\n");
+        } catch (IOException e) {
+            // Client went away; nothing left to report to
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String ndjson(ResultBody body) throws IOException {
+        StringWriter buffer = new StringWriter();
+        ResultWriter writer = new ResultWriter(buffer, ResultWriter.OutputFormat.NDJSON);
+        body.writeTo(writer);
+        writer.close();
+        return buffer.toString();
+    }
+
+    private interface ResultBody {
+        void writeTo(ResultWriter writer) throws IOException;
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new UnsupportedOperationException(method + " not allowed, use " + expected);
+        }
+    }
+
+    private static ResidentGraphService.UpdateOperation operation(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter: op");
+        }
+        try {
+            return ResidentGraphService.UpdateOperation.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown op '" + value + "', use insert, delete or update");
+        }
+    }
+
+    private static String requiredParameter(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static int intParameter(Map<String, String> query, String name, Integer defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException("Missing parameter: " + name);
+            }
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be an integer, got " + value);
+        }
+    }
+
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return parameters;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            parameters.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,167 @@
+package domain.services;
+
+import domain.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks binary-lifting bottleneck queries against a walk along the tree path, and the second-best forest against
+// dropping each tree edge in turn and recomputing with Kruskal. Inputs are small random graphs, possibly
+// disconnected, with duplicate and negative weights, parallel edges and self-loops.
+class BottleneckPathIndexTest {
+    private static final int NO_PATH = Integer.MIN_VALUE;
+
+    @Test
+    void bottleneckWeightsMatchPathWalk() {
+        Random random = new Random(3);
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            RandomGraph input = RandomGraph.create(random);
+            MSTResult mst = new KruskalAlgorithm().findMST(input.graph);
+            BottleneckPathIndex index = new BottleneckPathIndex(input.graph, mst);
+
+            int queries = 50;
+            int[] from = new int[queries];
+            int[] to = new int[queries];
+            String[] fromIds = new String[queries];
+            String[] toIds = new String[queries];
+            for (int q = 0; q < queries; q++) {
+                fromIds[q] = "v" + random.nextInt(input.vertexCount);
+                toIds[q] = "v" + random.nextInt(input.vertexCount);
+                from[q] = index.indexOf(fromIds[q]);
+                to[q] = index.indexOf(toIds[q]);
+            }
+            int[] weights = index.bottleneckWeights(from, to, NO_PATH);
+            Edge[] edges = index.bottleneckEdges(fromIds, toIds);
+            Edge[] pooled = index.bottleneckEdges(fromIds, toIds, ForkJoinPool.commonPool());
+            for (int q = 0; q < queries; q++) {
+                int expected = pathMaximum(mst.getMstEdges(), fromIds[q], toIds[q]);
+                String where = "iteration " + iteration + ", " + fromIds[q] + "-" + toIds[q];
+                assertEquals(expected, weights[q], where);
+                assertEquals(expected == NO_PATH ? null : expected, edges[q] == null ? null : edges[q].getWeight(), where);
+                assertSame(edges[q], pooled[q], where);
+                assertEquals(expected != NO_PATH || fromIds[q].equals(toIds[q]), index.connected(fromIds[q], toIds[q]),
+                        where);
+            }
+        }
+    }
+
+    @Test
+    void secondBestMatchesDroppingEachTreeEdge() {
+        Random random = new Random(5);
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            RandomGraph input = RandomGraph.create(random);
+            MSTResult mst = new KruskalAlgorithm().findMST(input.graph);
+            BottleneckPathIndex.SecondBestTree secondBest = new BottleneckPathIndex(input.graph, mst).secondBest(input.graph);
+
+            Long expected = null;
+            for (Edge treeEdge : mst.getMstEdges()) {
+                List<int[]> remaining = new ArrayList<>(input.edges);
+                remaining.remove(find(remaining, treeEdge));
+                MSTResult without = new KruskalAlgorithm().findMST(RandomGraph.build(input.vertexCount, remaining));
+                // Only forests with the same trees count: dropping a bridge leaves nothing to swap in
+                if (without.getMstEdges().size() == mst.getMstEdges().size()) {
+                    long cost = without.getTotalCost();
+                    expected = expected == null ? cost : Math.min(expected, cost);
+                }
+            }
+
+            String where = "iteration " + iteration;
+            if (expected == null) {
+                assertNull(secondBest, where);
+                continue;
+            }
+            assertNotNull(secondBest, where);
+            assertEquals((long) expected, secondBest.getTotalCost(), where);
+            long listed = 0;
+            for (Edge edge : secondBest.getEdges()) listed += edge.getWeight();
+            assertEquals(secondBest.getTotalCost(), listed, where);
+            assertEquals(mst.getMstEdges().size(), secondBest.getEdges().size(), where);
+        }
+    }
+
+    @Test
+    void cyclicInputIsRejected() {
+        Graph triangle = new Graph(false);
+        for (String id : new String[]{"a", "b", "c"}) triangle.addVertex(id);
+        triangle.addEdge("a", "b", 1);
+        triangle.addEdge("b", "c", 2);
+        triangle.addEdge("c", "a", 3);
+        List<Edge> cycle = new ArrayList<>();
+        for (int i = 0; i < triangle.getEdges().size(); i += 2) cycle.add(triangle.getEdges().get(i));
+        MSTResult notATree = new MSTResult(cycle, 6, 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> new BottleneckPathIndex(notATree));
+    }
+
+    // Heaviest weight on the tree path by depth-first search, or NO_PATH for the same vertex or different trees
+    private static int pathMaximum(List<Edge> tree, String from, String to) {
+        if (from.equals(to)) {
+            return NO_PATH;
+        }
+        Map<String, List<Edge>> adjacent = new HashMap<>();
+        for (Edge edge : tree) {
+            adjacent.computeIfAbsent(edge.getFrom().getId(), k -> new ArrayList<>()).add(edge);
+            adjacent.computeIfAbsent(edge.getTo().getId(), k -> new ArrayList<>()).add(edge);
+        }
+        Map<String, Integer> maximum = new HashMap<>();
+        Deque<String> stack = new ArrayDeque<>();
+        maximum.put(from, NO_PATH);
+        stack.push(from);
+        while (!stack.isEmpty()) {
+            String vertex = stack.pop();
+            for (Edge edge : adjacent.getOrDefault(vertex, List.of())) {
+                String next = edge.getFrom().getId().equals(vertex) ? edge.getTo().getId() : edge.getFrom().getId();
+                if (!maximum.containsKey(next)) {
+                    maximum.put(next, Math.max(maximum.get(vertex), edge.getWeight()));
+                    stack.push(next);
+                }
+            }
+        }
+        return maximum.getOrDefault(to, NO_PATH);
+    }
+
+    private static int[] find(List<int[]> edges, Edge treeEdge) {
+        int u = Integer.parseInt(treeEdge.getFrom().getId().substring(1));
+        int v = Integer.parseInt(treeEdge.getTo().getId().substring(1));
+        for (int[] edge : edges) {
+            boolean samePair = (edge[0] == u && edge[1] == v) || (edge[0] == v && edge[1] == u);
+            if (samePair && edge[2] == treeEdge.getWeight()) {
+                return edge;
+            }
+        }
+        throw new AssertionError("Tree edge not in the input: " + treeEdge);
+    }
+
+    private static final class RandomGraph {
+        final int vertexCount;
+        final List<int[]> edges;
+        final Graph graph;
+
+        private RandomGraph(int vertexCount, List<int[]> edges) {
+            this.vertexCount = vertexCount;
+            this.edges = edges;
+            this.graph = build(vertexCount, edges);
+        }
+
+        static RandomGraph create(Random random) {
+            int vertexCount = 1 + random.nextInt(14);
+            int maxWeight = 1 + random.nextInt(random.nextBoolean() ? 4 : 100);
+            int edgeCount = random.nextInt(vertexCount * 3 + 1);
+            List<int[]> edges = new ArrayList<>();
+            for (int e = 0; e < edgeCount; e++) {
+                edges.add(new int[]{random.nextInt(vertexCount), random.nextInt(vertexCount),
+                        random.nextInt(maxWeight) - maxWeight / 3});
+            }
+            return new RandomGraph(vertexCount, edges);
+        }
+
+        static Graph build(int vertexCount, List<int[]> edges) {
+            Graph graph = new Graph(false);
+            for (int v = 0; v < vertexCount; v++) graph.addVertex("v" + v);
+            for (int[] edge : edges) graph.addEdge("v" + edge[0], "v" + edge[1], edge[2]);
+            return graph;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package domain.services;
+
+import domain.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks the lock-free union-find against IntDisjointSet on random union / query sequences, and concurrent unions of a
+// random graph's edges (one worker and several) against Kruskal's forest size and IntDisjointSet's partition.
+class ConcurrentDisjointSetTest {
+
+    @Test
+    void sequentialOperationsMatchIntDisjointSet() {
+        Random random = new Random(41);
+        for (int iteration = 0; iteration < 500; iteration++) {
+            int elementCount = 1 + random.nextInt(60);
+            ConcurrentDisjointSet concurrent = new ConcurrentDisjointSet(elementCount);
+            IntDisjointSet reference = new IntDisjointSet(elementCount);
+            for (int step = 0; step < 200; step++) {
+                int a = random.nextInt(elementCount);
+                int b = random.nextInt(elementCount);
+                String where = "iteration " + iteration + ", step " + step + ", " + a + "-" + b;
+                if (random.nextBoolean()) {
+                    assertEquals(reference.union(a, b), concurrent.union(a, b), where);
+                } else {
+                    assertEquals(reference.connected(a, b), concurrent.connected(a, b), where);
+                }
+            }
+            assertSamePartition(reference, concurrent, "iteration " + iteration);
+        }
+    }
+
+    @Test
+    void singleWorkerUnionsMatchKruskal() {
+        concurrentUnionsMatchKruskal(1, new Random(43));
+    }
+
+    @Test
+    void multipleWorkersUnionsMatchKruskal() {
+        concurrentUnionsMatchKruskal(4, new Random(47));
+    }
+
+    // Every edge is unioned from a pool task; exactly one union per forest edge may succeed, whatever the interleaving
+    private static void concurrentUnionsMatchKruskal(int parallelism, Random random) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int iteration = 0; iteration < 200; iteration++) {
+                int vertexCount = 1 + random.nextInt(iteration % 10 == 9 ? 20_000 : 200);
+                int edgeCount = random.nextInt(vertexCount * 2 + 1);
+                CompactGraph graph = randomGraph(random, vertexCount, edgeCount);
+
+                ConcurrentDisjointSet concurrent = new ConcurrentDisjointSet(vertexCount);
+                AtomicInteger linked = new AtomicInteger();
+                ParallelLoops.forRange(pool, 0, edgeCount, 64, e -> {
+                    if (concurrent.union(graph.getSource(e), graph.getDestination(e))) {
+                        linked.incrementAndGet();
+                    }
+                });
+
+                IntDisjointSet reference = new IntDisjointSet(vertexCount);
+                for (int e = 0; e < edgeCount; e++) {
+                    reference.union(graph.getSource(e), graph.getDestination(e));
+                }
+                String where = "parallelism " + parallelism + ", iteration " + iteration;
+                assertEquals(new KruskalAlgorithm().findMST(graph).getMstEdges().size(), linked.get(), where);
+                assertSamePartition(reference, concurrent, where);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Same sets: the two structures' roots must map one-to-one
+    private static void assertSamePartition(IntDisjointSet reference, ConcurrentDisjointSet concurrent, String where) {
+        assertEquals(reference.getElementCount(), concurrent.getElementCount(), where);
+        Map<Integer, Integer> rootByReferenceRoot = new HashMap<>();
+        Map<Integer, Integer> referenceRootByRoot = new HashMap<>();
+        for (int v = 0; v < reference.getElementCount(); v++) {
+            int referenceRoot = reference.find(v);
+            int root = concurrent.find(v);
+            assertEquals(root, (int) rootByReferenceRoot.computeIfAbsent(referenceRoot, k -> root), where + ", element " + v);
+            assertEquals(referenceRoot, (int) referenceRootByRoot.computeIfAbsent(root, k -> referenceRoot),
+                    where + ", element " + v);
+        }
+        assertEquals(reference.getSetCount(), rootByReferenceRoot.size(), where);
+    }
+
+    private static CompactGraph randomGraph(Random random, int vertexCount, int edgeCount) {
+        String[] ids = new String[vertexCount];
+        for (int v = 0; v < vertexCount; v++) ids[v] = "v" + v;
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            sources[e] = random.nextInt(vertexCount);
+            destinations[e] = random.nextInt(vertexCount);
+            weights[e] = random.nextInt(10) - 3;
+        }
+        return CompactGraph.of(ids, false, sources, destinations, weights);
+    }
+}
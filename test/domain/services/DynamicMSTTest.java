@@ -0,0 +1,118 @@
+package domain.services;
+
+import domain.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Replays random insert / delete / reweight sequences and compares the maintained forest with a Kruskal recompute of
+// the current edge set after every step: total cost, tree edge count and the cost of the reported edges.
+class DynamicMSTTest {
+
+    @Test
+    void randomSequencesMatchKruskal() {
+        for (long seed = 0; seed < 8000; seed++) {
+            Random random = new Random(seed);
+            int vertexCount = 2 + random.nextInt(random.nextBoolean() ? 8 : 40);
+            int maxWeight = 1 + random.nextInt(random.nextBoolean() ? 5 : 1000);
+            replay(random, vertexCount, maxWeight, 20 + random.nextInt(120), 1, "seed " + seed);
+        }
+    }
+
+    @Test
+    void longSequenceMatchesKruskal() {
+        Random random = new Random(42);
+        replay(random, 400, 50, 20_000, 97, "long sequence");
+    }
+
+    @Test
+    void selfLoopsAndParallelEdgesStayOutOfTheForest() {
+        Graph graph = new Graph(false);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addEdge("a", "a", -5);
+        graph.addEdge("a", "b", 7);
+        graph.addEdge("b", "a", 3);
+        DynamicMST dynamic = new DynamicMST(graph);
+        assertEquals(3, dynamic.getTotalCost());
+        assertEquals(1, dynamic.getTreeEdgeCount());
+
+        dynamic.deleteEdge("a", "b");
+        assertEquals(0, dynamic.getTreeEdgeCount());
+        assertFalse(dynamic.connected("a", "b"));
+    }
+
+    // Checks the forest after every step, or every checkEvery steps for long runs
+    private static void replay(Random random, int vertexCount, int maxWeight, int operations, int checkEvery,
+                               String label) {
+        Graph graph = new Graph(false);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex("v" + v);
+        }
+        Map<Long, int[]> current = new HashMap<>();
+        int initial = random.nextInt(vertexCount * 3);
+        for (int i = 0; i < initial; i++) {
+            int u = random.nextInt(vertexCount);
+            int v = random.nextInt(vertexCount);
+            if (u == v || current.containsKey(pair(u, v))) {
+                continue;
+            }
+            int weight = random.nextInt(maxWeight) - maxWeight / 3;
+            graph.addEdge("v" + u, "v" + v, weight);
+            current.put(pair(u, v), new int[]{u, v, weight});
+        }
+
+        DynamicMST dynamic = new DynamicMST(graph);
+        for (int step = 0; step < operations; step++) {
+            int kind = random.nextInt(4);
+            List<Long> keys = new ArrayList<>(current.keySet());
+            if (kind == 0 || keys.isEmpty()) {
+                int u = random.nextInt(vertexCount);
+                int v = random.nextInt(vertexCount);
+                if (u == v || current.containsKey(pair(u, v))) {
+                    continue;
+                }
+                int weight = random.nextInt(maxWeight) - maxWeight / 3;
+                dynamic.insertEdge("v" + u, "v" + v, weight);
+                current.put(pair(u, v), new int[]{u, v, weight});
+            } else if (kind == 1) {
+                int[] edge = current.remove(keys.get(random.nextInt(keys.size())));
+                dynamic.deleteEdge("v" + edge[0], "v" + edge[1]);
+            } else {
+                int[] edge = current.get(keys.get(random.nextInt(keys.size())));
+                edge[2] = random.nextInt(maxWeight) - maxWeight / 3;
+                dynamic.updateWeight("v" + edge[0], "v" + edge[1], edge[2]);
+            }
+
+            if (step % checkEvery != 0) {
+                continue;
+            }
+            MSTResult expected = new KruskalAlgorithm().findMST(toGraph(vertexCount, current.values()));
+            String where = label + ", step " + step;
+            assertEquals(expected.getTotalCost(), dynamic.getTotalCost(), where);
+            assertEquals(expected.getMstEdges().size(), dynamic.getTreeEdgeCount(), where);
+            long reported = 0;
+            for (Edge edge : dynamic.getResult().getMstEdges()) {
+                reported += edge.getWeight();
+            }
+            assertEquals(expected.getTotalCost(), reported, where);
+        }
+    }
+
+    private static Graph toGraph(int vertexCount, Collection<int[]> edges) {
+        Graph graph = new Graph(false);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex("v" + v);
+        }
+        for (int[] edge : edges) {
+            graph.addEdge("v" + edge[0], "v" + edge[1], edge[2]);
+        }
+        return graph;
+    }
+
+    private static long pair(int u, int v) {
+        return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+    }
+}
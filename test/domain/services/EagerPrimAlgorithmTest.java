@@ -0,0 +1,76 @@
+package domain.services;
+
+import domain.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks eager Prim with every HeapType against Kruskal on random connected graphs with duplicate weights, parallel
+// edges and self-loops. Weights are negative too, except for the radix heap, which only takes non-negative keys.
+class EagerPrimAlgorithmTest {
+
+    @Test
+    void everyHeapMatchesKruskalOnConnectedGraphs() {
+        Random random = new Random(73);
+        for (HeapType heapType : HeapType.values()) {
+            EagerPrimAlgorithm prim = new EagerPrimAlgorithm(heapType);
+            assertEquals(heapType, prim.getHeapType());
+            for (int iteration = 0; iteration < 300; iteration++) {
+                int vertexCount = 1 + random.nextInt(iteration % 20 == 19 ? 5_000 : 40);
+                int maxWeight = 1 + random.nextInt(random.nextBoolean() ? 4 : 100_000);
+                int minWeight = heapType == HeapType.RADIX ? 0 : -maxWeight / 3;
+                CompactGraph graph = connectedGraph(random, vertexCount, random.nextInt(4 * vertexCount), minWeight,
+                        maxWeight);
+
+                MSTResult expected = new KruskalAlgorithm().findMST(graph);
+                MSTResult actual = prim.findMST(graph);
+                String where = heapType + ", iteration " + iteration;
+                assertEquals(expected.getTotalCost(), actual.getTotalCost(), where);
+                assertEquals(vertexCount - 1, actual.getMstEdges().size(), where);
+                long reported = 0;
+                for (Edge edge : actual.getMstEdges()) reported += edge.getWeight();
+                assertEquals(expected.getTotalCost(), reported, where);
+            }
+        }
+    }
+
+    @Test
+    void radixHeapRejectsNegativeWeights() {
+        String[] ids = {"a", "b"};
+        CompactGraph graph = CompactGraph.of(ids, false, new int[]{0}, new int[]{1}, new int[]{-1});
+        assertThrows(IllegalArgumentException.class, () -> new EagerPrimAlgorithm(HeapType.RADIX).findMST(graph));
+    }
+
+    // A random spanning tree over a shuffled vertex order keeps the graph connected; extra edges land anywhere
+    private static CompactGraph connectedGraph(Random random, int vertexCount, int extraEdges, int minWeight,
+                                               int maxWeight) {
+        String[] ids = new String[vertexCount];
+        for (int v = 0; v < vertexCount; v++) ids[v] = "v" + v;
+        int[] order = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) order[v] = v;
+        for (int v = vertexCount - 1; v > 0; v--) {
+            int other = random.nextInt(v + 1);
+            int tmp = order[v];
+            order[v] = order[other];
+            order[other] = tmp;
+        }
+
+        int edgeCount = vertexCount - 1 + extraEdges;
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            if (e < vertexCount - 1) {
+                sources[e] = order[e + 1];
+                destinations[e] = order[random.nextInt(e + 1)];
+            } else {
+                sources[e] = random.nextInt(vertexCount);
+                destinations[e] = random.nextInt(vertexCount);
+            }
+            weights[e] = minWeight + random.nextInt(maxWeight - minWeight + 1);
+        }
+        return CompactGraph.of(ids, false, sources, destinations, weights);
+    }
+}
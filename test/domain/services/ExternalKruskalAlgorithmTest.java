@@ -0,0 +1,114 @@
+package domain.services;
+
+import domain.models.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks external Kruskal against in-memory Kruskal at the minimum memory budget. A 1 MiB budget buffers about
+// 43k edges per run and merges at most 15 runs at once, so a million edges spill over 20 runs: one intermediate merge
+// pass, then the final merge feeding the union-find. Run files must be gone afterwards, also on failure.
+class ExternalKruskalAlgorithmTest {
+    private static final int RUN_EDGES = (int) (ExternalKruskalAlgorithm.MIN_MEMORY_BUDGET / 24);
+    private static final int FAN_IN = (int) (ExternalKruskalAlgorithm.MIN_MEMORY_BUDGET / (1 << 16) - 1);
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void connectedGraphStopsEarlyAfterMultiPassMerge() throws IOException {
+        CompactGraph graph = randomGraph(new Random(53), 3_000, RUN_EDGES * (FAN_IN + 8), 0);
+        MSTResult result = compareWithKruskal(graph);
+        assertEquals(graph.getVertexCount() - 1, result.getMstEdges().size());
+        // The intermediate pass polls every edge once; the early-stopping final merge adds only a prefix
+        long polls = result.getMetrics().get(MSTMetrics.Counter.HEAP_POLLS);
+        assertTrue(polls > graph.getEdgeCount() && polls < 2L * graph.getEdgeCount(), "heap polls " + polls);
+    }
+
+    @Test
+    void disconnectedGraphMergesEveryRun() throws IOException {
+        // Isolated vertices keep the forest short of V - 1 edges, so the final merge reads all runs to the end
+        CompactGraph graph = randomGraph(new Random(59), 3_000, RUN_EDGES * (FAN_IN + 3) + 17, 5);
+        MSTResult result = compareWithKruskal(graph);
+        assertEquals(2L * graph.getEdgeCount(), result.getMetrics().get(MSTMetrics.Counter.HEAP_POLLS));
+    }
+
+    @Test
+    void inputWithinBudgetNeverTouchesDisk() throws IOException {
+        Random random = new Random(61);
+        for (int iteration = 0; iteration < 50; iteration++) {
+            CompactGraph graph = randomGraph(random, 1 + random.nextInt(200), random.nextInt(2_000), random.nextInt(3));
+            compareWithKruskal(graph);
+        }
+    }
+
+    @Test
+    void failingStreamLeavesNoRunFiles() throws IOException {
+        CompactGraph graph = randomGraph(new Random(67), 1_000, RUN_EDGES * 4, 0);
+        EdgeStream failing = new EdgeStream() {
+            @Override
+            public int getVertexCount() { return graph.getVertexCount(); }
+
+            @Override
+            public String getVertexId(int vertex) { return graph.getVertexId(vertex); }
+
+            @Override
+            public void forEachEdge(EdgeVisitor visitor) throws IOException {
+                for (int e = 0; e < graph.getEdgeCount(); e++) {
+                    if (e == RUN_EDGES * 3 + 5) {
+                        throw new IOException("stream broke after three runs");
+                    }
+                    visitor.visit(graph.getSource(e), graph.getDestination(e), graph.getWeight(e));
+                }
+            }
+        };
+        ExternalKruskalAlgorithm external =
+                new ExternalKruskalAlgorithm(ExternalKruskalAlgorithm.MIN_MEMORY_BUDGET, tempDirectory);
+        assertThrows(IOException.class, () -> external.findMST(failing));
+        assertNoRunFiles();
+    }
+
+    private MSTResult compareWithKruskal(CompactGraph graph) throws IOException {
+        ExternalKruskalAlgorithm external =
+                new ExternalKruskalAlgorithm(ExternalKruskalAlgorithm.MIN_MEMORY_BUDGET, tempDirectory);
+        MSTResult expected = new KruskalAlgorithm().findMST(graph);
+        MSTResult actual = external.findMST(EdgeStream.of(graph));
+        String where = graph.getVertexCount() + " vertices, " + graph.getEdgeCount() + " edges";
+        assertEquals(expected.getTotalCost(), actual.getTotalCost(), where);
+        assertEquals(expected.getMstEdges().size(), actual.getMstEdges().size(), where);
+        long reported = 0;
+        for (Edge edge : actual.getMstEdges()) reported += edge.getWeight();
+        assertEquals(expected.getTotalCost(), reported, where);
+        assertNoRunFiles();
+        return actual;
+    }
+
+    private void assertNoRunFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            assertEquals(List.of(), files.toList());
+        }
+    }
+
+    // Duplicate and negative weights, parallel edges and self-loops; the last isolatedVertices vertices get no edges
+    private static CompactGraph randomGraph(Random random, int vertexCount, int edgeCount, int isolatedVertices) {
+        int linked = Math.max(1, vertexCount - isolatedVertices);
+        String[] ids = new String[vertexCount];
+        for (int v = 0; v < vertexCount; v++) ids[v] = "v" + v;
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            sources[e] = random.nextInt(linked);
+            destinations[e] = random.nextInt(linked);
+            weights[e] = random.nextInt(1000) - 300;
+        }
+        return CompactGraph.of(ids, false, sources, destinations, weights);
+    }
+}
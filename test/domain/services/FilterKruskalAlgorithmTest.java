@@ -0,0 +1,93 @@
+package domain.services;
+
+import domain.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks Filter-Kruskal against Kruskal on random graphs, possibly disconnected, with duplicate and negative weights,
+// parallel edges and self-loops, on a single-worker pool and a multi-worker one. Small base cases force deep
+// partition / filter recursion even on small graphs, and the large graphs exceed the parallel loops' grain.
+class FilterKruskalAlgorithmTest {
+    private static final int[] BASE_CASE_SIZES = {1, 4, 64, 1 << 14};
+
+    @Test
+    void singleWorkerMatchesKruskal() {
+        compareWithKruskal(1, new Random(29));
+    }
+
+    @Test
+    void multipleWorkersMatchKruskal() {
+        compareWithKruskal(4, new Random(31));
+    }
+
+    @Test
+    void callerPoolIsLeftRunning() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            CompactGraph graph = RandomGraph.create(new Random(37), 50, 200);
+            try (FilterKruskalAlgorithm filterKruskal = new FilterKruskalAlgorithm(pool, 8)) {
+                assertEquals(new KruskalAlgorithm().findMST(graph).getTotalCost(), filterKruskal.findMST(graph).getTotalCost());
+            }
+            assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void compareWithKruskal(int parallelism, Random random) {
+        for (int baseCaseSize : BASE_CASE_SIZES) {
+            try (FilterKruskalAlgorithm filterKruskal = new FilterKruskalAlgorithm(parallelism, baseCaseSize)) {
+                assertEquals(parallelism, filterKruskal.getParallelism());
+                for (int iteration = 0; iteration < 210; iteration++) {
+                    // Mostly small graphs, every 15th one large enough to split
+                    CompactGraph graph = iteration % 15 == 14
+                            ? RandomGraph.create(random, 2_000 + random.nextInt(8_000), 10_000 + random.nextInt(30_000))
+                            : RandomGraph.create(random, 1 + random.nextInt(30), random.nextInt(90));
+                    assertSameForest(new KruskalAlgorithm().findMST(graph), filterKruskal.findMST(graph),
+                            "parallelism " + parallelism + ", base case " + baseCaseSize + ", iteration " + iteration);
+                }
+            }
+        }
+    }
+
+    private static void assertSameForest(MSTResult expected, MSTResult actual, String where) {
+        assertEquals(expected.getTotalCost(), actual.getTotalCost(), where);
+        assertEquals(expected.getMstEdges().size(), actual.getMstEdges().size(), where);
+        long reported = 0;
+        for (Edge edge : actual.getMstEdges()) {
+            assertNotEquals(edge.getFrom().getId(), edge.getTo().getId(), where);
+            reported += edge.getWeight();
+        }
+        assertEquals(expected.getTotalCost(), reported, where);
+    }
+
+    private static final class RandomGraph {
+        private RandomGraph() {}
+
+        // Narrow weight ranges give many duplicates; a third of the range is negative
+        static CompactGraph create(Random random, int vertexCount, int edgeCount) {
+            int maxWeight = 1 + random.nextInt(random.nextBoolean() ? 4 : 1000);
+            // Edges only within blocks when split, so the graph has several components
+            int blocks = random.nextInt(3) == 0 ? 1 + random.nextInt(Math.min(vertexCount, 5)) : 1;
+            int blockSize = (vertexCount + blocks - 1) / blocks;
+            String[] ids = new String[vertexCount];
+            for (int v = 0; v < vertexCount; v++) ids[v] = "v" + v;
+            int[] sources = new int[edgeCount];
+            int[] destinations = new int[edgeCount];
+            int[] weights = new int[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                int block = random.nextInt(blocks);
+                int first = block * blockSize;
+                int size = Math.max(1, Math.min(blockSize, vertexCount - first));
+                sources[e] = Math.min(vertexCount - 1, first + random.nextInt(size));
+                destinations[e] = Math.min(vertexCount - 1, first + random.nextInt(size));
+                weights[e] = random.nextInt(maxWeight) - maxWeight / 3;
+            }
+            return CompactGraph.of(ids, false, sources, destinations, weights);
+        }
+    }
+}
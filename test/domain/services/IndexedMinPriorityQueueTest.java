@@ -0,0 +1,118 @@
+package domain.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Replays random insert / decrease-key / poll sequences on every HeapType against a java.util.PriorityQueue of
+// (key, index) pairs. Ties may leave in any order, so a poll only has to return some index holding the minimum key.
+// The radix heap gets non-negative keys, and keys below its last minimum exercise the overflow heap.
+class IndexedMinPriorityQueueTest {
+
+    @Test
+    void randomOperationsMatchPriorityQueue() {
+        Random random = new Random(71);
+        for (HeapType heapType : HeapType.values()) {
+            for (int iteration = 0; iteration < 400; iteration++) {
+                int capacity = 1 + random.nextInt(iteration % 10 == 9 ? 2_000 : 40);
+                int maxKey = 1 + random.nextInt(random.nextBoolean() ? 8 : 1 << 20);
+                replay(heapType, random, capacity, maxKey, 20 * capacity, heapType + ", iteration " + iteration);
+            }
+        }
+    }
+
+    @Test
+    void radixOverflowKeepsOrder() {
+        RadixIndexedHeap heap = new RadixIndexedHeap(6);
+        heap.insert(0, 10);
+        heap.insert(1, 20);
+        heap.insert(2, 40);
+        assertEquals(0, heap.pollMin());
+
+        // Below the last minimum (10): parked in the overflow heap, which drains first
+        heap.insert(3, 5);
+        heap.decreaseKey(1, 3);
+        heap.insert(4, 15);
+        heap.decreaseKey(3, 1);
+        heap.decreaseKey(2, 12);
+        assertEquals(4, heap.size());
+        assertEquals(1, heap.keyOf(3));
+        assertEquals(3, heap.pollMin());
+        assertEquals(1, heap.pollMin());
+
+        // Back in the radix buckets once the overflow is empty
+        heap.insert(5, 11);
+        assertEquals(5, heap.pollMin());
+        assertEquals(2, heap.pollMin());
+        assertEquals(4, heap.pollMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void invalidOperationsAreRejected() {
+        for (HeapType heapType : HeapType.values()) {
+            IndexedMinPriorityQueue heap = heapType.create(4);
+            heap.insert(1, 7);
+            assertThrows(IllegalArgumentException.class, () -> heap.insert(1, 3), heapType.toString());
+            assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 8), heapType.toString());
+        }
+        RadixIndexedHeap radix = new RadixIndexedHeap(2);
+        assertThrows(IllegalArgumentException.class, () -> radix.insert(0, -1));
+        radix.insert(0, 4);
+        assertThrows(IllegalArgumentException.class, () -> radix.decreaseKey(0, -1));
+    }
+
+    private static void replay(HeapType heapType, Random random, int capacity, int maxKey, int operations,
+                               String label) {
+        boolean radix = heapType == HeapType.RADIX;
+        int minKey = radix ? 0 : -maxKey / 3;
+        IndexedMinPriorityQueue heap = heapType.create(capacity);
+        PriorityQueue<Long> reference = new PriorityQueue<>();
+        int[] keys = new int[capacity];
+        boolean[] queued = new boolean[capacity];
+
+        for (int step = 0; step < operations; step++) {
+            String where = label + ", step " + step;
+            int index = random.nextInt(capacity);
+            int kind = random.nextInt(3);
+            if (kind == 0 && !queued[index]) {
+                keys[index] = minKey + random.nextInt(maxKey - minKey + 1);
+                heap.insert(index, keys[index]);
+                reference.add(pair(keys[index], index));
+                queued[index] = true;
+            } else if (kind == 1 && queued[index]) {
+                int key = keys[index] - random.nextInt(keys[index] - minKey + 1);
+                heap.decreaseKey(index, key);
+                reference.remove(pair(keys[index], index));
+                reference.add(pair(key, index));
+                keys[index] = key;
+            } else if (!reference.isEmpty()) {
+                int polled = heap.pollMin();
+                assertTrue(queued[polled], where + ": polled " + polled + " was not queued");
+                assertEquals(reference.peek() >> 32, keys[polled], where);
+                reference.remove(pair(keys[polled], polled));
+                queued[polled] = false;
+            }
+
+            assertEquals(reference.size(), heap.size(), where);
+            assertEquals(reference.isEmpty(), heap.isEmpty(), where);
+            assertEquals(queued[index], heap.contains(index), where);
+            if (queued[index]) {
+                assertEquals(keys[index], heap.keyOf(index), where);
+            }
+        }
+        while (!reference.isEmpty()) {
+            int polled = heap.pollMin();
+            assertEquals(reference.peek() >> 32, keys[polled], label + ", drain");
+            assertTrue(reference.remove(pair(keys[polled], polled)), label + ", drain");
+        }
+        assertTrue(heap.isEmpty(), label);
+    }
+
+    // Signed key in the high half, so the natural long order is (key, index)
+    private static long pair(int key, int index) {
+        return ((long) key << 32) | index;
+    }
+}
@@ -0,0 +1,185 @@
+package domain.services;
+
+import domain.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks the arborescence against a naive O(V E) Chu-Liu/Edmonds on small random graphs, with a fixed root and with
+// a free root (minimum branching forest), and undirected input against MinimumSpanningForest.
+class MinimumArborescenceAlgorithmTest {
+    private static final long INFEASIBLE = Long.MIN_VALUE;
+
+    @Test
+    void fixedRootMatchesNaiveEdmonds() {
+        Random random = new Random(7);
+        for (int iteration = 0; iteration < 1500; iteration++) {
+            RandomGraph input = RandomGraph.create(random, true);
+            int root = random.nextInt(input.vertexCount);
+            long expected = naiveArborescence(input.vertexCount, root, input.arcs);
+
+            MinimumArborescenceAlgorithm algorithm = new MinimumArborescenceAlgorithm("v" + root);
+            if (expected == INFEASIBLE) {
+                assertThrows(IllegalArgumentException.class, () -> algorithm.findMST(input.graph), "iteration " + iteration);
+                continue;
+            }
+            MSTResult result = algorithm.findMST(input.graph);
+            assertEquals(expected, result.getTotalCost(), "iteration " + iteration);
+            assertBranching(result, input.vertexCount, 1);
+        }
+    }
+
+    @Test
+    void freeRootUsesFewestRoots() {
+        Random random = new Random(11);
+        for (int iteration = 0; iteration < 1500; iteration++) {
+            RandomGraph input = RandomGraph.create(random, iteration % 5 != 0);
+
+            // Reference: an extra root with an edge heavier than any set of real arcs to every vertex
+            long absoluteSum = 0;
+            for (long[] arc : input.arcs) absoluteSum += Math.abs(arc[2]);
+            long rootArc = 2 * absoluteSum + 1;
+            List<long[]> withRoot = new ArrayList<>(input.arcs);
+            for (int v = 0; v < input.vertexCount; v++) withRoot.add(new long[]{input.vertexCount, v, rootArc});
+            long total = naiveArborescence(input.vertexCount + 1, input.vertexCount, withRoot);
+            long roots = Math.round((double) total / rootArc);
+
+            MSTResult result = new MinimumArborescenceAlgorithm().findMST(input.graph);
+            assertEquals(total - roots * rootArc, result.getTotalCost(), "iteration " + iteration);
+            assertEquals(roots, result.getComponents().size(), "iteration " + iteration);
+            assertBranching(result, input.vertexCount, (int) roots);
+        }
+    }
+
+    @Test
+    void undirectedInputMatchesSpanningForest() {
+        Random random = new Random(13);
+        try (MinimumSpanningForest forest = new MinimumSpanningForest(1)) {
+            for (int iteration = 0; iteration < 500; iteration++) {
+                RandomGraph input = RandomGraph.create(random, false);
+                MSTResult arborescence = new MinimumArborescenceAlgorithm().findMST(input.graph);
+                MSTResult spanning = forest.findMST(input.graph);
+                assertEquals(spanning.getTotalCost(), arborescence.getTotalCost(), "iteration " + iteration);
+                assertEquals(spanning.getComponents().size(), arborescence.getComponents().size(),
+                        "iteration " + iteration);
+            }
+        }
+    }
+
+    @Test
+    void unknownRootIsRejected() {
+        Graph graph = new Graph(true);
+        graph.addVertex("a");
+        assertThrows(IllegalArgumentException.class, () -> new MinimumArborescenceAlgorithm("b").findMST(graph));
+    }
+
+    @Test
+    void longCycleDoesNotOverflowTheStack() {
+        int n = 100_000;
+        Graph ring = new Graph(true);
+        for (int i = 0; i < n; i++) ring.addVertex("c" + i);
+        for (int i = 0; i < n; i++) ring.addEdge("c" + i, "c" + ((i + 1) % n), 1);
+        MSTResult result = new MinimumArborescenceAlgorithm().findMST(ring);
+        assertEquals(n - 1, result.getTotalCost());
+        assertEquals(1, result.getComponents().size());
+    }
+
+    // Every vertex but the roots has exactly one parent and following parents never loops
+    private static void assertBranching(MSTResult result, int vertexCount, int roots) {
+        assertEquals(vertexCount - roots, result.getMstEdges().size());
+        Map<String, String> parent = new HashMap<>();
+        for (Edge edge : result.getMstEdges()) {
+            assertNull(parent.put(edge.getTo().getId(), edge.getFrom().getId()), "two parents");
+        }
+        for (String vertex : parent.keySet()) {
+            String x = vertex;
+            int steps = 0;
+            while (parent.containsKey(x)) {
+                x = parent.get(x);
+                assertTrue(++steps <= vertexCount, "cycle through " + vertex);
+            }
+        }
+    }
+
+    // Repeatedly takes the cheapest incoming arc per vertex and contracts the cycles that form
+    private static long naiveArborescence(int vertexCount, int root, List<long[]> arcs) {
+        long total = 0;
+        List<long[]> current = new ArrayList<>(arcs);
+        while (true) {
+            long[] incoming = new long[vertexCount];
+            Arrays.fill(incoming, Long.MAX_VALUE);
+            int[] from = new int[vertexCount];
+            for (long[] arc : current) {
+                int u = (int) arc[0];
+                int v = (int) arc[1];
+                if (u != v && arc[2] < incoming[v]) {
+                    incoming[v] = arc[2];
+                    from[v] = u;
+                }
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                if (v != root && incoming[v] == Long.MAX_VALUE) return INFEASIBLE;
+            }
+            incoming[root] = 0;
+            int cycles = 0;
+            int[] id = new int[vertexCount];
+            int[] visited = new int[vertexCount];
+            Arrays.fill(id, -1);
+            Arrays.fill(visited, -1);
+            for (int v = 0; v < vertexCount; v++) {
+                total += incoming[v];
+                int x = v;
+                while (visited[x] != v && id[x] == -1 && x != root) {
+                    visited[x] = v;
+                    x = from[x];
+                }
+                if (x != root && id[x] == -1) {
+                    for (int y = from[x]; y != x; y = from[y]) id[y] = cycles;
+                    id[x] = cycles++;
+                }
+            }
+            if (cycles == 0) return total;
+            for (int v = 0; v < vertexCount; v++) {
+                if (id[v] == -1) id[v] = cycles++;
+            }
+            List<long[]> contracted = new ArrayList<>();
+            for (long[] arc : current) {
+                int u = (int) arc[0];
+                int v = (int) arc[1];
+                if (id[u] != id[v]) contracted.add(new long[]{id[u], id[v], arc[2] - incoming[v]});
+            }
+            current = contracted;
+            vertexCount = cycles;
+            root = id[root];
+        }
+    }
+
+    private static final class RandomGraph {
+        final int vertexCount;
+        final Graph graph;
+        // Arcs as {from, to, weight}; both directions for undirected edges
+        final List<long[]> arcs = new ArrayList<>();
+
+        private RandomGraph(int vertexCount, boolean directed) {
+            this.vertexCount = vertexCount;
+            this.graph = new Graph(directed);
+        }
+
+        static RandomGraph create(Random random, boolean directed) {
+            RandomGraph input = new RandomGraph(1 + random.nextInt(9), directed);
+            for (int v = 0; v < input.vertexCount; v++) input.graph.addVertex("v" + v);
+            int edgeCount = random.nextInt(input.vertexCount * 3 + 1);
+            for (int i = 0; i < edgeCount; i++) {
+                int u = random.nextInt(input.vertexCount);
+                int v = random.nextInt(input.vertexCount);
+                int weight = random.nextInt(41) - 10;
+                input.graph.addEdge("v" + u, "v" + v, weight);
+                input.arcs.add(new long[]{u, v, weight});
+                if (!directed) input.arcs.add(new long[]{v, u, weight});
+            }
+            return input;
+        }
+    }
+}